@@ -0,0 +1,39 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Punto de entrada del perfil {@code benchmarks}. Acepta los mismos argumentos que
+ * {@code org.openjdk.jmh.Main} y además repite la corrida para cada número de hilos
+ * de {@code -Djmh.threads} (por defecto "1,4"), guardando un JSON por corrida en
+ * {@code -Djmh.results} para comparar versiones.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        File results = new File(System.getProperty("jmh.results", "target/jmh-results"));
+        if (!results.isDirectory() && !results.mkdirs()) {
+            throw new IllegalStateException("Cannot create results directory " + results);
+        }
+        for (String threads : System.getProperty("jmh.threads", "1,4").split(",")) {
+            int t = Integer.parseInt(threads.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .parent(cli)
+                    .threads(t)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(results, "threads-" + t + ".json").getPath());
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda por (autor, nombre) del esquema anterior, un único mapa con claves
+ * "autor:nombre" construidas en cada consulta, contra el mapa de dos niveles de
+ * {@link InMemoryBlueprintPersistence}. Con {@code -prof gc} se ve la asignación por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BlueprintKeyBenchmark {
+
+    @Param({"1000000"})
+    int entries;
+
+    private static final int NAMES_PER_AUTHOR = 1000;
+
+    private String[] authors;
+    private String[] names;
+    private Map<String, Blueprint> legacy;
+    private InMemoryBlueprintPersistence persistence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws BlueprintPersistenceException {
+        authors = new String[entries / NAMES_PER_AUTHOR];
+        names = new String[NAMES_PER_AUTHOR];
+        for (int a = 0; a < authors.length; a++) authors[a] = "author-" + a;
+        for (int n = 0; n < names.length; n++) names[n] = "blueprint-" + n;
+
+        legacy = new ConcurrentHashMap<>();
+        persistence = new InMemoryBlueprintPersistence();
+        for (String author : authors) {
+            for (String name : names) {
+                Blueprint bp = new Blueprint(author, name, List.of());
+                legacy.put(author + ":" + name, bp);
+                persistence.saveBlueprint(bp);
+            }
+        }
+    }
+
+    @Benchmark
+    public Blueprint legacyStringKey() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return legacy.get(authors[rnd.nextInt(authors.length)] + ":" + names[rnd.nextInt(names.length)]);
+    }
+
+    @Benchmark
+    public Blueprint twoLevelMap() throws BlueprintNotFoundException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return persistence.getBlueprint(authors[rnd.nextInt(authors.length)], names[rnd.nextInt(names.length)]);
+    }
+}
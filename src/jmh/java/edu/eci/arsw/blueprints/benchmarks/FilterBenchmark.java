@@ -0,0 +1,77 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.filters.SimplificationFilter;
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link RedundancyFilter} y {@link UndersamplingFilter} según el número de puntos.
+ * Un 25% de los puntos repite al anterior para que el filtro de redundancia tenga trabajo real.
+ * {@code parallelThreshold} compara la versión secuencial con la paralela por tramos; {@code chained} y
+ * {@code fusedPipeline} comparan redundancia + undersampling encadenados contra el pipeline en una pasada.
+ * {@code douglasPeucker} y {@code visvalingam} miden la simplificación con tolerancia (siempre secuencial).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class FilterBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int points;
+
+    // MAX_VALUE: siempre secuencial; 1: paralelo desde el primer punto
+    @Param({"2147483647", "1"})
+    int parallelThreshold;
+
+    private RedundancyFilter redundancy;
+    private UndersamplingFilter undersampling;
+    private final FilterPipeline pipeline = FilterPipeline.parse("redundancy,undersampling");
+    private final SimplificationFilter douglasPeucker = new SimplificationFilter("douglas-peucker", 2);
+    private final SimplificationFilter visvalingam = new SimplificationFilter("visvalingam", 4);
+    private Blueprint blueprint;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redundancy = new RedundancyFilter(parallelThreshold);
+        undersampling = new UndersamplingFilter(parallelThreshold);
+        blueprint = new Blueprint("bench", "filters", Fixtures.points(points, 0.25));
+    }
+
+    @Benchmark
+    public Blueprint redundancyFilter() {
+        return redundancy.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint undersamplingFilter() {
+        return undersampling.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint chained() {
+        return undersampling.apply(redundancy.apply(blueprint));
+    }
+
+    @Benchmark
+    public Blueprint fusedPipeline() {
+        return pipeline.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint douglasPeucker() {
+        return douglasPeucker.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint visvalingam() {
+        return visvalingam.apply(blueprint);
+    }
+}
@@ -0,0 +1,33 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Datos deterministas compartidos por los benchmarks. */
+final class Fixtures {
+
+    private static final long SEED = 42L;
+
+    private Fixtures() {}
+
+    /**
+     * Genera una polilínea de {@code count} puntos; con probabilidad {@code duplicates}
+     * un punto repite exactamente al anterior.
+     */
+    static List<Point> points(int count, double duplicates) {
+        SplittableRandom rnd = new SplittableRandom(SEED);
+        List<Point> pts = new ArrayList<>(count);
+        int x = 0, y = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || rnd.nextDouble() >= duplicates) {
+                x += rnd.nextInt(-5, 6);
+                y += rnd.nextInt(-5, 6);
+            }
+            pts.add(new Point(x, y));
+        }
+        return pts;
+    }
+}
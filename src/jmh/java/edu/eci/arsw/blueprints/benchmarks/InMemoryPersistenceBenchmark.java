@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lecturas y escrituras de {@link InMemoryBlueprintPersistence} bajo contención.
+ * El número de hilos lo fija {@link BenchmarkRunner} ({@code -Djmh.threads}); el grupo
+ * {@code mixed} combina tres lectores por cada escritor sobre el mismo almacén.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InMemoryPersistenceBenchmark {
+
+    private static final int AUTHORS = 100;
+    private static final int BLUEPRINTS_PER_AUTHOR = 100;
+
+    @Param({"10", "1000"})
+    int points;
+
+    private InMemoryBlueprintPersistence persistence;
+    private List<Point> shape;
+    private String[] authors;
+    private String[] names;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws BlueprintPersistenceException {
+        persistence = new InMemoryBlueprintPersistence();
+        shape = Fixtures.points(points, 0.0);
+        authors = new String[AUTHORS];
+        names = new String[BLUEPRINTS_PER_AUTHOR];
+        for (int a = 0; a < AUTHORS; a++) authors[a] = "author-" + a;
+        for (int n = 0; n < BLUEPRINTS_PER_AUTHOR; n++) names[n] = "blueprint-" + n;
+        for (String author : authors) {
+            for (String name : names) {
+                persistence.saveBlueprint(new Blueprint(author, name, shape));
+            }
+        }
+    }
+
+    @Benchmark
+    public Blueprint getBlueprint() throws BlueprintNotFoundException {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        return persistence.getBlueprint(authors[rnd.nextInt(AUTHORS)], names[rnd.nextInt(BLUEPRINTS_PER_AUTHOR)]);
+    }
+
+    @Benchmark
+    public Set<Blueprint> getBlueprintsByAuthor() throws BlueprintNotFoundException {
+        return persistence.getBlueprintsByAuthor(authors[ThreadLocalRandom.current().nextInt(AUTHORS)]);
+    }
+
+    /** Guarda y elimina un plano nuevo para que el tamaño del almacén no crezca entre iteraciones. */
+    @Benchmark
+    public void saveAndDelete() throws BlueprintPersistenceException, BlueprintNotFoundException {
+        String author = authors[ThreadLocalRandom.current().nextInt(AUTHORS)];
+        String name = "tmp-" + sequence.incrementAndGet();
+        persistence.saveBlueprint(new Blueprint(author, name, shape));
+        persistence.deleteBlueprint(author, name);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Blueprint mixedRead() throws BlueprintNotFoundException {
+        return getBlueprint();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite() throws BlueprintPersistenceException, BlueprintNotFoundException {
+        saveAndDelete();
+    }
+}
@@ -0,0 +1,104 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PostgresBlueprintPersistence;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación de un plano de 100k/1M puntos: {@code persist} es {@link PostgresBlueprintPersistence#saveBlueprint}
+ * (una entidad por punto, INSERT en lotes JDBC) e {@code ingest} es
+ * {@link PostgresBlueprintPersistence#ingestBlueprint}: COPY binario sobre PostgreSQL, INSERT de varias filas
+ * sobre H2. La diferencia que importa se mide con {@code BENCH_JDBC_URL} (y {@code BENCH_JDBC_USER} /
+ * {@code BENCH_JDBC_PASSWORD}) apuntando a un PostgreSQL local.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IngestBenchmark {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Blueprint.class)
+    @Import(PostgresBlueprintPersistence.class)
+    static class JpaOnly {}
+
+    @Param({"100000", "1000000"})
+    int points;
+
+    @Param({"persist", "ingest"})
+    String strategy;
+
+    private ConfigurableApplicationContext context;
+    private BlueprintPersistence persistence;
+    private JdbcTemplate jdbc;
+    private List<Point> shape;
+    private int[] coordinates;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = Objects.requireNonNullElse(System.getenv("BENCH_JDBC_URL"),
+                "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        boolean h2 = url.startsWith("jdbc:h2:");
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                     "--spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_USER"), h2 ? "sa" : "postgres"),
+                     "--spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_PASSWORD"), h2 ? "" : "postgres"),
+                     "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                     "--spring.jpa.properties.hibernate.dialect=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"),
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                     "--logging.level.root=WARN");
+        persistence = context.getBean(BlueprintPersistence.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        shape = Fixtures.points(points, 0.0);
+        coordinates = new int[2 * points];
+        for (int i = 0; i < points; i++) {
+            coordinates[2 * i] = shape.get(i).getX();
+            coordinates[2 * i + 1] = shape.get(i).getY();
+        }
+    }
+
+    // Un plano de 1M puntos por invocación: se borra enseguida para que la base no crezca durante la iteración
+    @TearDown(Level.Invocation)
+    public void clear() {
+        jdbc.update("DELETE FROM point");
+        jdbc.update("DELETE FROM blueprints");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void create() throws BlueprintPersistenceException {
+        String name = "ingest-" + sequence++;
+        if (strategy.equals("ingest")) {
+            persistence.ingestBlueprint("bench", name, coordinates);
+        } else {
+            List<Point> pts = shape.stream().map(p -> new Point(p.getX(), p.getY())).toList();
+            persistence.saveBlueprint(new Blueprint("bench", name, pts));
+        }
+    }
+}
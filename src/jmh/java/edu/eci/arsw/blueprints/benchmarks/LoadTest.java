@@ -0,0 +1,243 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.BlueprintsApplication;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga: levanta la aplicación completa una vez por modo (hilos de plataforma y virtuales), la somete a
+ * {@code clients} clientes concurrentes que leen puntos por {@code /points?since=} (lectura sin caché, siempre va a
+ * la base) y reporta throughput y latencias p50/p99 de cada modo.
+ * <p>
+ * Corre contra H2 en modo PostgreSQL; como H2 en memoria responde sin esperar, cada sentencia JDBC se demora
+ * {@code latencyMs} para simular la ida y vuelta a un PostgreSQL remoto. Con {@code BENCH_JDBC_URL} (y
+ * {@code BENCH_JDBC_USER} / {@code BENCH_JDBC_PASSWORD}) usa otra base y conviene {@code latencyMs=0}.
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec -Dbench.main=edu.eci.arsw.blueprints.benchmarks.LoadTest \
+ *     -Djmh.args="clients=1000 seconds=30 latencyMs=5"
+ * </pre>
+ * Argumentos (clave=valor): clients, seconds, warmup (segundos no medidos), latencyMs, pool (conexiones de Hikari),
+ * blueprints, points, modes (platform,virtual).
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    record Result(String mode, int clients, long requests, long errors, double seconds, long p50, long p99, long max) {
+        double throughput() { return requests / seconds; }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>(Map.of(
+                "clients", "1000", "seconds", "30", "warmup", "5", "latencyMs", "5", "pool", "20",
+                "blueprints", "100", "points", "1000", "modes", "platform,virtual"));
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2 || !opts.containsKey(kv[0])) throw new IllegalArgumentException("Unknown argument: " + arg);
+            opts.put(kv[0], kv[1]);
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (String mode : opts.get("modes").split(",")) {
+            results.add(run(mode.trim(), opts));
+        }
+
+        System.out.printf("%n%-9s %8s %10s %7s %12s %9s %9s %9s%n",
+                "mode", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %10d %7d %12.1f %9.1f %9.1f %9.1f%n", r.mode(), r.clients(), r.requests(),
+                    r.errors(), r.throughput(), r.p50() / 1e6, r.p99() / 1e6, r.max() / 1e6);
+        }
+        write(results);
+    }
+
+    private static Result run(String mode, Map<String, String> opts) throws Exception {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        int clients = Integer.parseInt(opts.get("clients"));
+        int blueprints = Integer.parseInt(opts.get("blueprints"));
+        int points = Integer.parseInt(opts.get("points"));
+        long latencyMs = Long.parseLong(opts.get("latencyMs"));
+
+        String url = Objects.requireNonNullElse(System.getenv("BENCH_JDBC_URL"),
+                "jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        boolean h2 = url.startsWith("jdbc:h2:");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BlueprintsApplication.class)
+                .initializers(ctx -> {
+                    if (latencyMs > 0) ctx.getBeanFactory().addBeanPostProcessor(delayJdbc(latencyMs));
+                })
+                .run("--server.port=0",
+                     "--spring.threads.virtual.enabled=" + virtual,
+                     "--spring.datasource.url=" + url,
+                     "--spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_USER"), h2 ? "sa" : "postgres"),
+                     "--spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_PASSWORD"), h2 ? "" : "postgres"),
+                     "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                     "--spring.datasource.hikari.maximum-pool-size=" + opts.get("pool"),
+                     "--spring.jpa.properties.hibernate.dialect=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"),
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.show-sql=false",
+                     "--logging.level.root=WARN");
+        try {
+            BlueprintsServices services = context.getBean(BlueprintsServices.class);
+            for (int i = 0; i < blueprints; i++) {
+                services.addNewBlueprint(new Blueprint("load", "bp-" + i, Fixtures.points(points, 0.0)));
+            }
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/v1/blueprints/load/bp-";
+            // Últimos 10 puntos de cada plano: dos consultas por petición, respuesta pequeña
+            int since = Math.max(0, points - 10);
+            System.out.printf("%s: %d clients against %s*%n", mode, clients, base);
+            return drive(mode, clients, opts, i -> URI.create(base + (i % blueprints) + "/points?since=" + since));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result drive(String mode, int clients, Map<String, String> opts,
+                                java.util.function.IntFunction<URI> target) {
+        long warmupNanos = Duration.ofSeconds(Long.parseLong(opts.get("warmup"))).toNanos();
+        long measureNanos = Duration.ofSeconds(Long.parseLong(opts.get("seconds"))).toNanos();
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + measureNanos;
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+
+        // Clientes en hilos virtuales para que el generador de carga no sea el cuello de botella.
+        // Al cerrar, 'pool' espera a todos los clientes antes de cerrar el HttpClient.
+        try (ExecutorService httpPool = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                     .executor(httpPool).connectTimeout(Duration.ofSeconds(30)).build();
+             ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                pool.execute(() -> {
+                    long[] samples = new long[1024];
+                    int n = 0;
+                    for (int i = client; System.nanoTime() < end; i += clients) {
+                        HttpRequest request = HttpRequest.newBuilder(target.apply(i)).timeout(Duration.ofSeconds(30)).build();
+                        long t0 = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (IOException e) {
+                            ok = false;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            break;
+                        }
+                        long t1 = System.nanoTime();
+                        if (t0 < measureFrom || t1 > end) continue;
+                        if (!ok) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == samples.length) samples = Arrays.copyOf(samples, n * 2);
+                        samples[n++] = t1 - t0;
+                    }
+                    latencies[client] = samples;
+                    counts[client] = n;
+                });
+            }
+        }
+
+        int total = 0;
+        for (int n : counts) total += n;
+        long[] all = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clients; c++) {
+            if (latencies[c] == null) continue;
+            System.arraycopy(latencies[c], 0, all, pos, counts[c]);
+            pos += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(mode, clients, total, errors.get(), measureNanos / 1e9,
+                percentile(all, 0.50), percentile(all, 0.99), total == 0 ? 0 : all[total - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /**
+     * Envuelve el DataSource para que cada ejecución de sentencia espere {@code latencyMs} con la conexión tomada,
+     * como lo haría la ida y vuelta a una base remota.
+     */
+    private static BeanPostProcessor delayJdbc(long latencyMs) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource ds) || bean instanceof DelegatingDataSource) return bean;
+                return new DelegatingDataSource(ds) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return proxy(Connection.class, super.getConnection(), latencyMs);
+                    }
+                };
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, long latencyMs) {
+        InvocationHandler handler = (p, method, args) -> {
+            if (target instanceof Statement && method.getName().startsWith("execute")) Thread.sleep(latencyMs);
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Las sentencias que crea la conexión también se demoran
+            if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return proxy((Class<Statement>) method.getReturnType(), (Statement) result, latencyMs);
+            }
+            return result;
+        };
+        return (T) Proxy.newProxyInstance(LoadTest.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static void write(List<Result> results) throws IOException {
+        File dir = new File(System.getProperty("jmh.results", "target/jmh-results"));
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("Cannot create results directory " + dir);
+        File csv = new File(dir, "loadtest.csv");
+        try (PrintWriter out = new PrintWriter(new FileWriter(csv))) {
+            out.println("mode,clients,requests,errors,throughput,p50_ms,p99_ms,max_ms");
+            for (Result r : results) {
+                out.printf(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", r.mode(), r.clients(), r.requests(),
+                        r.errors(), r.throughput(), r.p50() / 1e6, r.p99() / 1e6, r.max() / 1e6);
+            }
+        }
+        System.out.println("Results written to " + csv);
+    }
+}
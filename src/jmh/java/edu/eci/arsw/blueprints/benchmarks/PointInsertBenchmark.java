@@ -0,0 +1,93 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PostgresBlueprintPersistence;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo de {@link PostgresBlueprintPersistence#saveBlueprint} para planos de 1k/10k/100k puntos.
+ * Corre contra H2 en modo PostgreSQL; con {@code BENCH_JDBC_URL} (y {@code BENCH_JDBC_USER} /
+ * {@code BENCH_JDBC_PASSWORD}) usa otra base, p. ej. un PostgreSQL local.
+ * {@code batchSize=1} desactiva los lotes JDBC; la línea base con IDs IDENTITY se obtiene
+ * corriendo el mismo benchmark sobre la versión anterior del modelo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class PointInsertBenchmark {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Blueprint.class)
+    @Import(PostgresBlueprintPersistence.class)
+    static class JpaOnly {}
+
+    @Param({"1000", "10000", "100000"})
+    int points;
+
+    @Param({"1", "50"})
+    int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private BlueprintPersistence persistence;
+    private JdbcTemplate jdbc;
+    private List<Point> shape;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = Objects.requireNonNullElse(System.getenv("BENCH_JDBC_URL"),
+                "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        boolean h2 = url.startsWith("jdbc:h2:");
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                     "--spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_USER"), h2 ? "sa" : "postgres"),
+                     "--spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_PASSWORD"), h2 ? "" : "postgres"),
+                     "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                     "--spring.jpa.properties.hibernate.dialect=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"),
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                     "--logging.level.root=WARN");
+        persistence = context.getBean(BlueprintPersistence.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        shape = Fixtures.points(points, 0.0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbc.update("DELETE FROM point");
+        jdbc.update("DELETE FROM blueprints");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void saveBlueprint() throws BlueprintPersistenceException {
+        // Puntos nuevos en cada invocación: las entidades persistidas quedan ligadas a su plano
+        List<Point> pts = shape.stream().map(p -> new Point(p.getX(), p.getY())).toList();
+        persistence.saveBlueprint(new Blueprint("bench", "insert-" + sequence++, pts));
+    }
+}
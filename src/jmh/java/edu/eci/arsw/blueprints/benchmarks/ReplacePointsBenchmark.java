@@ -0,0 +1,135 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.PostgresBlueprintPersistence;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reemplazo de todos los puntos y borrado de un plano de 10k/100k puntos: {@code entity} es el camino anterior
+ * (cargar el plano con sus puntos, {@link Blueprint#replacePoints} u {@code remove} en cascada, un DELETE por punto
+ * vía {@code orphanRemoval}) y {@code bulk} el de {@link PostgresBlueprintPersistence}, con sentencias por conjuntos.
+ * Corre contra H2 en modo PostgreSQL; con {@code BENCH_JDBC_URL} (y {@code BENCH_JDBC_USER} /
+ * {@code BENCH_JDBC_PASSWORD}) usa otra base, p. ej. un PostgreSQL local.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReplacePointsBenchmark {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Blueprint.class)
+    @Import(PostgresBlueprintPersistence.class)
+    static class JpaOnly {}
+
+    @Param({"10000", "100000"})
+    int points;
+
+    @Param({"entity", "bulk"})
+    String strategy;
+
+    private ConfigurableApplicationContext context;
+    private BlueprintPersistence persistence;
+    private EntityManager entityManager;
+    private TransactionTemplate transactions;
+    private List<Point> shape;
+    private int[] coordinates;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws BlueprintPersistenceException {
+        String url = Objects.requireNonNullElse(System.getenv("BENCH_JDBC_URL"),
+                "jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        boolean h2 = url.startsWith("jdbc:h2:");
+        context = new SpringApplicationBuilder(JpaOnly.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                     "--spring.datasource.username=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_USER"), h2 ? "sa" : "postgres"),
+                     "--spring.datasource.password=" + Objects.requireNonNullElse(System.getenv("BENCH_JDBC_PASSWORD"), h2 ? "" : "postgres"),
+                     "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "org.postgresql.Driver"),
+                     "--spring.jpa.properties.hibernate.dialect=" + (h2 ? "org.hibernate.dialect.H2Dialect" : "org.hibernate.dialect.PostgreSQLDialect"),
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                     "--logging.level.root=WARN");
+        persistence = context.getBean(BlueprintPersistence.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        shape = Fixtures.points(points, 0.0);
+        coordinates = new int[2 * points];
+        for (int i = 0; i < points; i++) {
+            coordinates[2 * i] = shape.get(i).getX();
+            coordinates[2 * i + 1] = shape.get(i).getY();
+        }
+        persistence.saveBlueprint(new Blueprint("bench", "replace", copy()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<Point> copy() {
+        return shape.stream().map(p -> new Point(p.getX(), p.getY())).toList();
+    }
+
+    private Blueprint load(String name) {
+        return entityManager.createQuery("SELECT b FROM Blueprint b WHERE b.author = 'bench' AND b.name = :name", Blueprint.class)
+                .setParameter("name", name)
+                .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(Blueprint.POINTS_GRAPH))
+                .getSingleResult();
+    }
+
+    @Benchmark
+    public void replacePoints() throws BlueprintNotFoundException {
+        if (strategy.equals("bulk")) {
+            persistence.replacePoints("bench", "replace", coordinates);
+        } else {
+            transactions.executeWithoutResult(status -> load("replace").replacePoints(shape));
+        }
+    }
+
+    /** Estado por invocación: un plano recién guardado para borrar. */
+    @State(Scope.Thread)
+    public static class Doomed {
+        String name;
+
+        @Setup(Level.Invocation)
+        public void save(ReplacePointsBenchmark bench) throws BlueprintPersistenceException {
+            name = "delete-" + bench.sequence++;
+            bench.persistence.saveBlueprint(new Blueprint("bench", name, bench.copy()));
+        }
+    }
+
+    @Benchmark
+    public void deleteBlueprint(Doomed doomed) throws BlueprintNotFoundException {
+        if (strategy.equals("bulk")) {
+            persistence.deleteBlueprint("bench", doomed.name);
+        } else {
+            transactions.executeWithoutResult(status -> entityManager.remove(load(doomed.name)));
+        }
+    }
+}
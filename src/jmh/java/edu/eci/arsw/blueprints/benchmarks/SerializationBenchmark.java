@@ -0,0 +1,46 @@
+package edu.eci.arsw.blueprints.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import edu.eci.arsw.blueprints.dto.ApiResponseDTO;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de la respuesta de GET /{author}/{bpname}, con el mismo
+ * {@link ObjectMapper} que configura Spring. Se escribe a un stream nulo para medir
+ * solo la serialización y no el crecimiento de un buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SerializationBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    int points;
+
+    private ObjectWriter writer;
+    private ApiResponseDTO<Blueprint> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writerFor(mapper.getTypeFactory()
+                .constructParametricType(ApiResponseDTO.class, Blueprint.class));
+        response = ApiResponseDTO.success("Plano encontrado exitosamente",
+                new Blueprint("bench", "serialization", Fixtures.points(points, 0.0)));
+    }
+
+    @Benchmark
+    public void serializeBlueprintResponse() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), response);
+    }
+}
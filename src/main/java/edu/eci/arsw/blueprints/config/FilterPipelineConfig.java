@@ -0,0 +1,24 @@
+package edu.eci.arsw.blueprints.config;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Con {@code blueprints.filters.pipeline} (p. ej. {@code redundancy,undersampling:3}) el filtro por defecto
+ * es ese pipeline y reemplaza al elegido por perfil.
+ */
+@Configuration
+public class FilterPipelineConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty("blueprints.filters.pipeline")
+    public BlueprintsFilter configuredFilterPipeline(@Value("${blueprints.filters.pipeline}") String spec) {
+        return FilterPipeline.parse(spec);
+    }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.dto.ApiResponseDTO;
+import edu.eci.arsw.blueprints.dto.CacheStatsDTO;
+import edu.eci.arsw.blueprints.dto.StatsRecomputeDTO;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Admin API", description = "Operaciones de diagnóstico y mantenimiento")
+public class AdminController {
+
+    private final BlueprintsServices services;
+
+    public AdminController(BlueprintsServices services) {
+        this.services = services;
+    }
+
+    // GET /api/v1/admin/cache
+    @GetMapping("/cache")
+    @Operation(summary = "Estadísticas de la caché", description = "Aciertos, fallos, expulsiones, invalidaciones y ocupación de la caché de planos filtrados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<CacheStatsDTO>> cacheStats() {
+        return ResponseEntity.ok(ApiResponseDTO.success("Estadísticas de la caché", services.getCacheStats()));
+    }
+
+    // DELETE /api/v1/admin/cache
+    @DeleteMapping("/cache")
+    @Operation(summary = "Vaciar la caché", description = "Elimina todas las entradas; los contadores se conservan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Caché vaciada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<CacheStatsDTO>> clearCache() {
+        services.clearCache();
+        return ResponseEntity.ok(ApiResponseDTO.success("Caché vaciada", services.getCacheStats()));
+    }
+
+    // POST /api/v1/admin/stats/recompute
+    @PostMapping("/stats/recompute")
+    @Operation(summary = "Recalcular estadísticas de los planos",
+            description = "Recalcula a partir de los puntos la cantidad, la caja envolvente y el hash guardados en cada plano " +
+                    "y corrige los que no coinciden, en lotes de una transacción. Las versiones no cambian")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas recalculadas",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<StatsRecomputeDTO>> recomputeStats() {
+        return ResponseEntity.ok(ApiResponseDTO.success("Estadísticas recalculadas", services.recomputeStats()));
+    }
+}
@@ -0,0 +1,68 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import edu.eci.arsw.blueprints.services.BlueprintEventBus;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/blueprints/events")
+@Tag(name = "Blueprint Events", description = "Stream de cambios sobre los planos (Server-Sent Events)")
+public class BlueprintEventsController {
+
+    private final BlueprintEventBus events;
+
+    public BlueprintEventsController(BlueprintEventBus events) {
+        this.events = events;
+    }
+
+    // GET /api/v1/blueprints/events[?author=john]
+    // El autor va como parámetro: /events/{author} chocaría con GET /api/v1/blueprints/{author}/{bpname}
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream de cambios",
+            description = "Envía un evento por cada plano creado, actualizado, eliminado o con puntos agregados; " +
+                    "con 'author', solo los de ese autor. " +
+                    "Si el cliente no consume a tiempo, la conexión se cierra y debe reconectarse y recargar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream abierto",
+                content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                schema = @Schema(implementation = BlueprintEventDTO.class)))
+    })
+    public SseEmitter events(@Parameter(description = "Autor de los planos; sin él llegan los de todos", example = "john")
+                             @RequestParam(required = false) String author) {
+        return subscribe(author);
+    }
+
+    private SseEmitter subscribe(String author) {
+        // Sin timeout explícito: aplica spring.mvc.async.request-timeout y EventSource se reconecta
+        SseEmitter emitter = new SseEmitter();
+        BlueprintEventBus.Subscription subscription = events.subscribe(author, new BlueprintEventBus.Listener() {
+            @Override
+            public void onEvent(BlueprintEventDTO event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name(event.type().eventName())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onClose() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
+    }
+}
@@ -1,12 +1,38 @@
 package edu.eci.arsw.blueprints.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import edu.eci.arsw.blueprints.dto.ApiResponseDTO;
+import edu.eci.arsw.blueprints.dto.AuthorBlueprintSummariesDTO;
 import edu.eci.arsw.blueprints.dto.AuthorBlueprintsDTO;
+import edu.eci.arsw.blueprints.dto.BlueprintPageDTO;
+import edu.eci.arsw.blueprints.dto.BlueprintSummaryDTO;
+import edu.eci.arsw.blueprints.dto.BulkImportResultDTO;
+import edu.eci.arsw.blueprints.dto.LodLevelDTO;
+import edu.eci.arsw.blueprints.dto.PointDeltaDTO;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintCursor;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.LodLevel;
+import edu.eci.arsw.blueprints.persistence.PointDelta;
+import edu.eci.arsw.blueprints.services.BlueprintBulkImporter;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import edu.eci.arsw.blueprints.services.BulkImportItem;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,57 +40,197 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/blueprints")
 @Tag(name = "Blueprints API", description = "API para gestionar planos arquitectónicos")
 public class BlueprintsAPIController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
     private final BlueprintsServices services;
+    private final BlueprintBulkImporter bulkImporter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    // Escritor reutilizable para NDJSON: no cierra ni vacía el stream en cada plano
+    private final ObjectWriter ndjsonWriter;
 
-    public BlueprintsAPIController(BlueprintsServices services) { this.services = services; }
+    public BlueprintsAPIController(BlueprintsServices services, BlueprintBulkImporter bulkImporter,
+                                   ObjectMapper objectMapper, Validator validator) {
+        this.services = services;
+        this.bulkImporter = bulkImporter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ndjsonWriter = objectMapper.writerFor(Blueprint.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
 
-    // GET /api/v1/blueprints
+    // GET /api/v1/blueprints?cursor=...&limit=...
     @GetMapping
-    @Operation(summary = "Obtener todos los planos", description = "Retorna una lista con todos los planos disponibles en el sistema")
+    @Operation(summary = "Obtener planos paginados",
+            description = "Retorna una página de planos ordenada por autor y nombre. Use el cursor 'nextCursor' (o el enlace 'next') para pedir la siguiente página")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Planos encontrados exitosamente",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cursor o tamaño de página inválido",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<BlueprintPageDTO>> getAll(
+            @Parameter(description = "Cursor opaco devuelto por la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-" + MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.badRequest("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        BlueprintCursor after;
+        try {
+            after = cursor == null || cursor.isBlank() ? null : BlueprintCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest(e.getMessage()));
+        }
+        BlueprintPage page = services.getBlueprintsPage(after, limit);
+        String nextCursor = page.hasNext() ? page.next().encode() : null;
+        String next = nextCursor == null ? null : ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("limit", limit)
+                .replaceQueryParam("cursor", nextCursor)
+                .toUriString();
+        BlueprintPageDTO response = new BlueprintPageDTO(page.blueprints(), nextCursor, next);
+        return ResponseEntity.ok(ApiResponseDTO.success("Planos obtenidos exitosamente", response));
+    }
+
+    // GET /api/v1/blueprints/export
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos los planos",
+            description = "Transmite todos los planos en formato NDJSON (un plano JSON por línea) con memoria constante en el servidor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Exportación en curso",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                schema = @Schema(implementation = Blueprint.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> {
+            OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            try {
+                services.exportBlueprints(bp -> writeLine(buffered, bp));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, Blueprint bp) {
+        try {
+            ndjsonWriter.writeValue(out, bp);
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // GET /api/v1/blueprints/search?bbox=minX,minY,maxX,maxY&limit=...
+    @GetMapping("/search")
+    @Operation(summary = "Buscar planos por rectángulo",
+            description = "Retorna los planos cuya caja envolvente corta al rectángulo dado (bordes incluidos), ordenados por autor y nombre y sin sus puntos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Rectángulo o límite inválido",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponseDTO.class)))
     })
-    public ResponseEntity<ApiResponseDTO<Set<Blueprint>>> getAll() {
-        Set<Blueprint> blueprints = services.getAllBlueprints();
-        return ResponseEntity.ok(ApiResponseDTO.success("Planos obtenidos exitosamente", blueprints));
+    public ResponseEntity<ApiResponseDTO<List<BlueprintSummaryDTO>>> search(
+            @Parameter(description = "Rectángulo minX,minY,maxX,maxY", required = true, example = "0,0,100,100")
+            @RequestParam String bbox,
+            @Parameter(description = "Máximo de resultados (1-" + MAX_PAGE_SIZE + ")")
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDTO.badRequest("limit must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        BoundingBox box;
+        try {
+            box = BoundingBox.parse(bbox);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest(e.getMessage()));
+        }
+        List<BlueprintSummaryDTO> found = services.searchByBoundingBox(box, limit).stream()
+                .map(BlueprintSummaryDTO::of)
+                .toList();
+        return ResponseEntity.ok(ApiResponseDTO.success("Búsqueda realizada", found));
     }
 
-    // GET /api/v1/blueprints/{author}
+    // GET /api/v1/blueprints/{author}?include=points
     @GetMapping("/{author}")
-    @Operation(summary = "Obtener planos por autor", description = "Retorna todos los planos creados por un autor específico con el total de puntos")
+    @Operation(summary = "Obtener planos por autor",
+            description = "Retorna el resumen de cada plano del autor (cantidad de puntos, caja envolvente y versión) y el " +
+                    "total de puntos, calculados por la base de datos sin cargar los puntos. Con 'include=points' retorna " +
+                    "los planos completos")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Planos del autor encontrados",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Valor de 'include' inválido",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "Autor no encontrado o no tiene planos",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponseDTO.class)))
     })
-    public ResponseEntity<ApiResponseDTO<AuthorBlueprintsDTO>> byAuthor(
+    public ResponseEntity<ApiResponseDTO<?>> byAuthor(
             @Parameter(description = "Nombre del autor", required = true) 
-            @PathVariable String author) {
+            @PathVariable String author,
+            @Parameter(description = "'points' para incluir los puntos de cada plano")
+            @RequestParam(required = false) String include) {
+        if (include != null && !include.equals("points")) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest("include must be 'points'"));
+        }
         try {
-            Set<Blueprint> blueprints = services.getBlueprintsByAuthor(author);
-            int totalPoints = blueprints.stream()
-                    .mapToInt(bp -> bp.getPoints().size())
-                    .sum();
-            AuthorBlueprintsDTO response = new AuthorBlueprintsDTO(
-                    java.util.List.copyOf(blueprints), totalPoints);
+            if (include != null) {
+                Set<Blueprint> blueprints = services.getBlueprintsByAuthor(author);
+                int totalPoints = blueprints.stream()
+                        .mapToInt(Blueprint::pointCount)
+                        .sum();
+                AuthorBlueprintsDTO response = new AuthorBlueprintsDTO(List.copyOf(blueprints), totalPoints);
+                return ResponseEntity.ok(ApiResponseDTO.success("Planos del autor encontrados", response));
+            }
+            List<BlueprintSummary> summaries = services.getBlueprintSummariesByAuthor(author);
+            AuthorBlueprintSummariesDTO response = new AuthorBlueprintSummariesDTO(
+                    summaries.stream().map(BlueprintSummaryDTO::of).toList(),
+                    summaries.stream().mapToLong(BlueprintSummary::pointCount).sum());
             return ResponseEntity.ok(ApiResponseDTO.success("Planos del autor encontrados", response));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -74,22 +240,57 @@ public class BlueprintsAPIController {
 
     // GET /api/v1/blueprints/{author}/{bpname}
     @GetMapping("/{author}/{bpname}")
-    @Operation(summary = "Obtener plano específico", description = "Retorna un plano específico dado su autor y nombre")
+    @Operation(summary = "Obtener plano específico",
+            description = "Retorna un plano específico dado su autor y nombre. Con 'filters' aplica un pipeline de filtros " +
+                    "en lugar del configurado. Con 'lod' o 'maxPoints' retorna un nivel precalculado de la pirámide de " +
+                    "detalle (cabeceras X-Lod-Level y X-Lod-Levels). Soporta If-None-Match / If-Modified-Since: " +
+                    "si el plano no cambió responde 304 sin cargar sus puntos")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Plano encontrado exitosamente",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "304", description = "El plano no cambió desde el ETag o la fecha indicada"),
+        @ApiResponse(responseCode = "400", description = "Filtro desconocido o parámetro inválido",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
         @ApiResponse(responseCode = "404", description = "Plano no encontrado",
                 content = @Content(mediaType = "application/json",
                 schema = @Schema(implementation = ApiResponseDTO.class)))
     })
-    public ResponseEntity<ApiResponseDTO<Blueprint>> byAuthorAndName(
+    public ResponseEntity<? extends ApiResponseDTO<?>> byAuthorAndName(
             @Parameter(description = "Nombre del autor", required = true) 
             @PathVariable String author, 
             @Parameter(description = "Nombre del plano", required = true) 
-            @PathVariable String bpname) {
+            @PathVariable String bpname,
+            @Parameter(description = "Etapas separadas por coma, aplicadas en orden en una sola pasada", example = "redundancy,undersampling:3")
+            @RequestParam(required = false) String filters,
+            @Parameter(description = "Nivel de detalle: 0 es el plano completo y cada nivel tiene menos puntos", example = "2")
+            @RequestParam(required = false) Integer lod,
+            @Parameter(description = "Nivel más detallado con a lo sumo esta cantidad de puntos", example = "5000")
+            @RequestParam(required = false) Integer maxPoints,
+            WebRequest request, HttpServletResponse response) {
+        if (lod != null || maxPoints != null) {
+            return byLevelOfDetail(author, bpname, filters, lod, maxPoints, request);
+        }
+        BlueprintsFilter filter;
         try {
-            Blueprint blueprint = services.getBlueprint(author, bpname);
+            filter = services.resolveFilter(filters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest(e.getMessage()));
+        }
+        try {
+            String spec = services.filterSpec(filter);
+            BlueprintVersion version = services.getBlueprintVersion(author, bpname);
+            long lastModified = version.updatedAt() == null ? -1 : version.updatedAt().toEpochMilli();
+            // Si coincide, Spring ya dejó la respuesta en 304 con ETag y Last-Modified
+            if (request.checkNotModified(eTag(version, spec), lastModified)) return null;
+
+            // Una escritura pudo llegar entre las dos lecturas: las cabeceras salen del plano que se envía y
+            // reemplazan las que dejó checkNotModified
+            Blueprint blueprint = services.getBlueprint(author, bpname, filter);
+            BlueprintVersion served = new BlueprintVersion(blueprint.getVersion(), blueprint.getUpdatedAt());
+            response.setHeader(HttpHeaders.ETAG, eTag(served, spec));
+            if (served.updatedAt() != null) response.setDateHeader(HttpHeaders.LAST_MODIFIED, served.updatedAt().toEpochMilli());
             return ResponseEntity.ok(ApiResponseDTO.success("Plano encontrado exitosamente", blueprint));
         } catch (BlueprintNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -97,6 +298,85 @@ public class BlueprintsAPIController {
         }
     }
 
+    private ResponseEntity<ApiResponseDTO<LodLevelDTO>> byLevelOfDetail(String author, String bpname, String filters,
+                                                                        Integer lod, Integer maxPoints, WebRequest request) {
+        // La pirámide se precalcula sobre el filtro configurado; un pipeline por petición no tiene niveles guardados
+        if (filters != null && !filters.isBlank()) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest("lod and maxPoints cannot be combined with filters"));
+        }
+        if (lod != null && maxPoints != null) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest("use either lod or maxPoints, not both"));
+        }
+        if ((lod != null && lod < 0) || (maxPoints != null && maxPoints < 1)) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest("lod must not be negative and maxPoints must be positive"));
+        }
+        try {
+            BlueprintVersion version = services.getBlueprintVersion(author, bpname);
+            String eTag = eTag(version, services.getFilterSpec() + (lod != null ? "|lod=" + lod : "|maxPoints=" + maxPoints));
+            long lastModified = version.updatedAt() == null ? -1 : version.updatedAt().toEpochMilli();
+            if (request.checkNotModified(eTag, lastModified)) return null;
+
+            LodLevel level = lod != null
+                    ? services.getLodLevel(author, bpname, lod)
+                    : services.getLodLevelWithin(author, bpname, maxPoints);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(eTag)
+                    .header("X-Lod-Level", Integer.toString(level.level()))
+                    .header("X-Lod-Levels", Integer.toString(level.levels()));
+            if (lastModified >= 0) ok.lastModified(lastModified);
+            // Versión y fecha de las que sale el ETag; sin ordinales, que no aplican a un nivel
+            return ok.body(ApiResponseDTO.success("Plano encontrado exitosamente",
+                    LodLevelDTO.of(author, bpname, version, level)));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDTO.notFound(e.getMessage()));
+        }
+    }
+
+    // GET /api/v1/blueprints/{author}/{bpname}/points?since=...
+    @GetMapping("/{author}/{bpname}/points")
+    @Operation(summary = "Sincronización incremental de puntos",
+            description = "Retorna solo los puntos agregados desde el ordinal 'since' (el 'nextOrdinal' de la última respuesta). " +
+                    "Si la lista se reemplazó, 'fullReload' es true y se envía la lista completa. Los puntos no pasan por el filtro")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Puntos nuevos",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "'since' negativo",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Plano no encontrado",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<PointDeltaDTO>> pointsSince(
+            @Parameter(description = "Nombre del autor", required = true)
+            @PathVariable String author,
+            @Parameter(description = "Nombre del plano", required = true)
+            @PathVariable String bpname,
+            @Parameter(description = "Ordinal desde el cual se quieren los puntos (0 para todos)")
+            @RequestParam(defaultValue = "0") int since) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest("since must not be negative"));
+        }
+        try {
+            PointDelta delta = services.getPointsSince(author, bpname, since);
+            return ResponseEntity.ok(ApiResponseDTO.success("Puntos obtenidos exitosamente", PointDeltaDTO.of(delta)));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDTO.notFound(e.getMessage()));
+        }
+    }
+
+    /**
+     * ETag fuerte: versión y fecha de modificación (distingue un plano borrado y recreado)
+     * más el filtro activo, porque la misma versión produce puntos distintos según el filtro.
+     */
+    static String eTag(BlueprintVersion version, String filterSpec) {
+        long updated = version.updatedAt() == null ? 0 : version.updatedAt().toEpochMilli();
+        return "\"" + version.version() + "-" + Long.toString(updated, 36) + "-"
+                + Integer.toHexString(filterSpec.hashCode()) + "\"";
+    }
+
     // POST /api/v1/blueprints
     @PostMapping
     @Operation(summary = "Crear nuevo plano", description = "Crea un nuevo plano con el autor, nombre y puntos especificados")
@@ -124,6 +404,123 @@ public class BlueprintsAPIController {
         }
     }
 
+    // POST /api/v1/blueprints/bulk
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar planos en bloque",
+            description = "Recibe un arreglo JSON o NDJSON de planos, lo procesa a medida que llega y confirma en lotes. " +
+                    "Retorna cuántos se crearon y el detalle de los duplicados o inválidos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación completada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Cuerpo mal formado; los lotes anteriores al error quedan guardados",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<BulkImportResultDTO>> bulkImport(InputStream body) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            BulkImportResultDTO result = bulkImporter.importAll(new BulkItemIterator(parser));
+            if (result.error() != null) {
+                return ResponseEntity.badRequest().body(new ApiResponseDTO<>(400, result.error(), result));
+            }
+            return ResponseEntity.ok(ApiResponseDTO.success("Importación completada", result));
+        }
+    }
+
+    /**
+     * Lee los planos uno a uno de un arreglo JSON o de valores raíz consecutivos (NDJSON).
+     * Solo el elemento actual está en memoria; los errores de lectura salen como {@link UncheckedIOException}.
+     */
+    private final class BulkItemIterator implements Iterator<BulkImportItem> {
+        private final JsonParser parser;
+        private final boolean array;
+        private JsonToken current;
+        private long index;
+
+        BulkItemIterator(JsonParser parser) throws IOException {
+            this.parser = parser;
+            this.current = parser.nextToken();
+            this.array = current == JsonToken.START_ARRAY;
+            if (array) current = parser.nextToken();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null && current != JsonToken.END_ARRAY;
+        }
+
+        @Override
+        public BulkImportItem next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                JsonNode node = objectMapper.readTree(parser);
+                current = parser.nextToken();
+                return toItem(index++, node);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private BulkImportItem toItem(long i, JsonNode node) {
+            String author = node.path("author").asText(null);
+            String name = node.path("name").asText(null);
+            NewBlueprintRequest req;
+            try {
+                req = objectMapper.treeToValue(node, NewBlueprintRequest.class);
+            } catch (JsonProcessingException e) {
+                return BulkImportItem.invalid(i, author, name, e.getOriginalMessage());
+            }
+            Set<ConstraintViolation<NewBlueprintRequest>> violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return BulkImportItem.invalid(i, author, name, message);
+            }
+            return BulkImportItem.valid(i, new Blueprint(req.author(), req.name(), req.points()));
+        }
+    }
+
+    // POST /api/v1/blueprints/bulk/{author}/{bpname}/points
+    @PostMapping(value = "/bulk/{author}/{bpname}/points",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Crear un plano masivo",
+            description = "Recibe un arreglo JSON o NDJSON de puntos y crea el plano cargándolos de forma directa " +
+                    "(COPY en PostgreSQL), sin una entidad por punto. Retorna los metadatos del plano creado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Plano creado exitosamente",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Puntos mal formados",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "403", description = "El plano ya existe",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<BlueprintSummaryDTO>> ingest(
+            @Parameter(description = "Nombre del autor", required = true)
+            @PathVariable String author,
+            @Parameter(description = "Nombre del plano", required = true)
+            @PathVariable String bpname,
+            InputStream body) throws IOException {
+        int[] xy;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            xy = readPoints(parser);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest(e.getOriginalMessage()));
+        }
+        try {
+            BlueprintSummary summary = services.ingestBlueprint(author, bpname, xy);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponseDTO.success(201, "Plano creado exitosamente", BlueprintSummaryDTO.of(summary)));
+        } catch (BlueprintPersistenceException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ApiResponseDTO.forbidden(e.getMessage()));
+        }
+    }
+
     // PUT /api/v1/blueprints/{author}/{bpname}/points
     @PutMapping("/{author}/{bpname}/points")
     @Operation(summary = "Agregar punto a plano", description = "Agrega un nuevo punto a un plano existente")
@@ -155,6 +552,74 @@ public class BlueprintsAPIController {
         }
     }
 
+    // POST /api/v1/blueprints/{author}/{bpname}/points
+    @PostMapping(value = "/{author}/{bpname}/points",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Agregar varios puntos a un plano",
+            description = "Recibe un arreglo JSON o NDJSON de puntos y los agrega al final del plano en una sola transacción")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Puntos agregados exitosamente; 'data' es la cantidad agregada",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Plano no encontrado",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Puntos mal formados",
+                content = @Content(mediaType = "application/json",
+                schema = @Schema(implementation = ApiResponseDTO.class)))
+    })
+    public ResponseEntity<ApiResponseDTO<Integer>> addPoints(
+            @Parameter(description = "Nombre del autor", required = true)
+            @PathVariable String author,
+            @Parameter(description = "Nombre del plano", required = true)
+            @PathVariable String bpname,
+            InputStream body) throws IOException {
+        int[] xy;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            xy = readPoints(parser);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDTO.badRequest(e.getOriginalMessage()));
+        }
+        try {
+            services.addPoints(author, bpname, xy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponseDTO.success(202, "Puntos agregados exitosamente", xy.length / 2));
+        } catch (BlueprintNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDTO.notFound(e.getMessage()));
+        }
+    }
+
+    /**
+     * Lee objetos {x, y} de un arreglo JSON o NDJSON directamente a coordenadas intercaladas,
+     * sin crear un {@link Point} por elemento.
+     */
+    private static int[] readPoints(JsonParser parser) throws IOException {
+        PackedPoints points = new PackedPoints();
+        JsonToken token = parser.nextToken();
+        boolean array = token == JsonToken.START_ARRAY;
+        if (array) token = parser.nextToken();
+        while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a point object {\"x\": .., \"y\": ..}");
+            }
+            Integer x = null, y = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "x" -> x = parser.getIntValue();
+                    case "y" -> y = parser.getIntValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (x == null || y == null) throw new JsonParseException(parser, "Point requires both x and y");
+            points.append(x, y);
+            token = parser.nextToken();
+        }
+        return points.toArray();
+    }
+
     // PUT /api/v1/blueprints/{author}/{bpname}
     @PutMapping("/{author}/{bpname}")
     @Operation(summary = "Actualizar plano", description = "Actualiza completamente un plano existente")
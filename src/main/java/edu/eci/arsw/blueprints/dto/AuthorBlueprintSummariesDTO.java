@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resumen de los planos de un autor, sin sus puntos, y el total de puntos")
+public record AuthorBlueprintSummariesDTO(
+        @Schema(description = "Resumen de cada plano del autor, ordenado por nombre")
+        List<BlueprintSummaryDTO> blueprints,
+
+        @Schema(description = "Total de puntos en todos los planos del autor", example = "15")
+        long totalPoints
+) {
+}
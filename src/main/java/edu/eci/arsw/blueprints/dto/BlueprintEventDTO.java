@@ -0,0 +1,41 @@
+package edu.eci.arsw.blueprints.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Cambio sobre un plano, enviado por el stream de eventos")
+public record BlueprintEventDTO(
+        @Schema(description = "Número de secuencia del evento; también es el 'id' del mensaje SSE", example = "42")
+        long id,
+
+        @Schema(description = "Tipo de cambio", example = "POINTS_APPENDED")
+        Type type,
+
+        @Schema(description = "Autor del plano", example = "john")
+        String author,
+
+        @Schema(description = "Nombre del plano", example = "house")
+        String name,
+
+        @Schema(description = "Puntos agregados (POINTS_APPENDED) o total de puntos del plano (CREATED, UPDATED); 0 en DELETED", example = "2")
+        int pointCount,
+
+        @Schema(description = "Momento en que se publicó el evento")
+        Instant at
+) {
+
+    public enum Type {
+        CREATED("created"),
+        UPDATED("updated"),
+        DELETED("deleted"),
+        POINTS_APPENDED("points-appended");
+
+        private final String eventName;
+
+        Type(String eventName) { this.eventName = eventName; }
+
+        /** Nombre del campo 'event' en SSE; permite suscribirse a un solo tipo con addEventListener. */
+        public String eventName() { return eventName; }
+    }
+}
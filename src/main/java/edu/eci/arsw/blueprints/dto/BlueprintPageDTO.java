@@ -0,0 +1,20 @@
+package edu.eci.arsw.blueprints.dto;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Página de planos ordenada por autor y nombre")
+public record BlueprintPageDTO(
+        @Schema(description = "Planos de la página")
+        List<Blueprint> blueprints,
+
+        @Schema(description = "Cursor opaco para pedir la siguiente página (null si no hay más)", example = "NDpqb2huaG91c2U")
+        String nextCursor,
+
+        @Schema(description = "Enlace a la siguiente página (null si no hay más)",
+                example = "http://localhost:8080/api/v1/blueprints?limit=50&cursor=NDpqb2huaG91c2U")
+        String next
+) {
+}
@@ -0,0 +1,28 @@
+package edu.eci.arsw.blueprints.dto;
+
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Metadatos de un plano sin sus puntos")
+public record BlueprintSummaryDTO(
+        @Schema(description = "Autor del plano", example = "john")
+        String author,
+
+        @Schema(description = "Nombre del plano", example = "house")
+        String name,
+
+        @Schema(description = "Cantidad de puntos", example = "4")
+        int pointCount,
+
+        @Schema(description = "Caja envolvente de los puntos (null si el plano está vacío)")
+        BoundingBox bbox,
+
+        @Schema(description = "Versión actual del plano", example = "3")
+        long version
+) {
+
+    public static BlueprintSummaryDTO of(BlueprintSummary summary) {
+        return new BlueprintSummaryDTO(summary.author(), summary.name(), summary.pointCount(), summary.bbox(), summary.version());
+    }
+}
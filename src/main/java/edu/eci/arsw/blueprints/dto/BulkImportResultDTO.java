@@ -0,0 +1,43 @@
+package edu.eci.arsw.blueprints.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resumen de una importación masiva de planos")
+public record BulkImportResultDTO(
+        @Schema(description = "Elementos leídos del cuerpo", example = "1000")
+        long received,
+
+        @Schema(description = "Planos creados", example = "990")
+        long created,
+
+        @Schema(description = "Planos omitidos porque ya existían", example = "8")
+        long duplicates,
+
+        @Schema(description = "Elementos rechazados por validación", example = "2")
+        long invalid,
+
+        @Schema(description = "Detalle de los elementos no creados (limitado; ver 'rejectedTruncated')")
+        List<Item> rejected,
+
+        @Schema(description = "true si hubo más elementos no creados de los listados en 'rejected'")
+        boolean rejectedTruncated,
+
+        @Schema(description = "Error que detuvo la importación (null si terminó); los lotes anteriores quedan confirmados")
+        String error
+) {
+
+    public enum Status { DUPLICATE, INVALID }
+
+    @Schema(description = "Elemento no creado")
+    public record Item(
+            @Schema(description = "Posición del elemento en el cuerpo, desde 0", example = "17")
+            long index,
+            String author,
+            String name,
+            Status status,
+            @Schema(description = "Motivo", example = "El autor es obligatorio")
+            String message
+    ) { }
+}
@@ -0,0 +1,36 @@
+package edu.eci.arsw.blueprints.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Estadísticas de la caché de planos filtrados")
+public record CacheStatsDTO(
+        @Schema(description = "Lecturas servidas desde la caché", example = "950")
+        long hits,
+
+        @Schema(description = "Lecturas que tuvieron que ir a la persistencia", example = "50")
+        long misses,
+
+        @Schema(description = "Entradas expulsadas por falta de espacio", example = "3")
+        long evictions,
+
+        @Schema(description = "Entradas eliminadas por escrituras sobre el plano", example = "12")
+        long invalidations,
+
+        @Schema(description = "Entradas actuales", example = "40")
+        int entries,
+
+        @Schema(description = "Peso actual (puntos almacenados)", example = "120000")
+        long weight,
+
+        @Schema(description = "Peso máximo configurado (blueprints.cache.max-points)", example = "1000000")
+        long maxWeight
+) {
+
+    @JsonProperty
+    @Schema(description = "Proporción de aciertos (0-1)", example = "0.95")
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
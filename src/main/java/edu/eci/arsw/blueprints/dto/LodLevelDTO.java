@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import edu.eci.arsw.blueprints.model.PointSequenceSerializer;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.LodLevel;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+/**
+ * Un nivel de detalle de un plano. No lleva ordinales: los puntos de un nivel no se corresponden con los del
+ * plano, así que no sirven para la sincronización incremental.
+ */
+@Schema(description = "Nivel precalculado de la pirámide de detalle de un plano")
+public record LodLevelDTO(
+        @Schema(description = "Autor del plano", example = "john")
+        String author,
+
+        @Schema(description = "Nombre del plano", example = "house")
+        String name,
+
+        @Schema(description = "Versión del plano de la que sale el ETag", example = "3")
+        long version,
+
+        @Schema(description = "Fecha de la última modificación del plano", example = "2025-01-01T12:00:00Z")
+        Instant updatedAt,
+
+        @Schema(description = "Nivel entregado; 0 es el plano completo", example = "1")
+        int level,
+
+        @Schema(description = "Cantidad de niveles de la pirámide", example = "4")
+        int levels,
+
+        @JsonSerialize(using = PointSequenceSerializer.class)
+        @ArraySchema(arraySchema = @Schema(description = "Puntos del nivel"),
+                schema = @Schema(implementation = Point.class))
+        PointSequence points
+) {
+
+    public static LodLevelDTO of(String author, String name, BlueprintVersion version, LodLevel level) {
+        return new LodLevelDTO(author, name, version.version(), version.updatedAt(), level.level(), level.levels(), level.points());
+    }
+}
@@ -0,0 +1,34 @@
+package edu.eci.arsw.blueprints.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import edu.eci.arsw.blueprints.model.PointSequenceSerializer;
+import edu.eci.arsw.blueprints.persistence.PointDelta;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Puntos agregados a un plano desde un ordinal conocido")
+public record PointDeltaDTO(
+        @Schema(description = "Versión actual del plano", example = "12")
+        long version,
+
+        @Schema(description = "Ordinal del primer punto de la lista actual", example = "0")
+        int baseOrdinal,
+
+        @Schema(description = "Ordinal del próximo punto; enviarlo como 'since' en la siguiente sincronización", example = "204")
+        int nextOrdinal,
+
+        @Schema(description = "true si la lista se reemplazó: 'points' es la lista completa y debe descartarse la local")
+        boolean fullReload,
+
+        @JsonSerialize(using = PointSequenceSerializer.class)
+        @ArraySchema(arraySchema = @Schema(description = "Puntos nuevos (o todos, si fullReload)"),
+                schema = @Schema(implementation = Point.class))
+        PointSequence points
+) {
+
+    public static PointDeltaDTO of(PointDelta delta) {
+        return new PointDeltaDTO(delta.version(), delta.baseOrdinal(), delta.nextOrdinal(), delta.fullReload(), delta.points());
+    }
+}
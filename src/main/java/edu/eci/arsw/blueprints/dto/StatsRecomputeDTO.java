@@ -0,0 +1,13 @@
+package edu.eci.arsw.blueprints.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado de recalcular las estadísticas guardadas de los planos")
+public record StatsRecomputeDTO(
+        @Schema(description = "Planos revisados", example = "1200")
+        long scanned,
+
+        @Schema(description = "Planos cuya cantidad de puntos, caja o hash no coincidía y se corrigió", example = "3")
+        long corrected
+) {
+}
@@ -0,0 +1,80 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Ejecuta un filtro de puntos secuencialmente o, desde {@code threshold} puntos, por tramos en un
+ * {@link ForkJoinPool}. Cada tramo escribe en su propio buffer y los buffers se concatenan en orden,
+ * así que el resultado es idéntico al secuencial siempre que el filtro decida cada índice mirando solo
+ * la entrada (puede leer fuera de su tramo, p. ej. el punto anterior). La entrada solo se lee y debe estar
+ * completamente cargada: los tramos la recorren desde varios hilos.
+ */
+final class ChunkedFilterExecutor {
+
+    /** Filtro que procesa el tramo {@code [from, to)} de la entrada agregando a {@code out} los puntos que conserva. */
+    @FunctionalInterface
+    interface ChunkFilter {
+        void filter(PointSequence in, int from, int to, PackedPoints out);
+
+        /** Cota de los puntos que conserva el tramo; dimensiona su buffer. */
+        default int maxOutput(int from, int to) {
+            return to - from;
+        }
+    }
+
+    static final int DEFAULT_THRESHOLD = 1_000_000;
+    // Tramos más chicos no compensan el costo de la tarea y la concatenación
+    static final int DEFAULT_MIN_CHUNK = 1 << 16;
+
+    private final int threshold;
+    private final int minChunk;
+    private final ForkJoinPool pool;
+
+    ChunkedFilterExecutor(int threshold) {
+        this(threshold, DEFAULT_MIN_CHUNK, ForkJoinPool.commonPool());
+    }
+
+    ChunkedFilterExecutor(int threshold, int minChunk, ForkJoinPool pool) {
+        if (threshold < 1) throw new IllegalArgumentException("threshold must be positive: " + threshold);
+        if (minChunk < 1) throw new IllegalArgumentException("chunk size must be positive: " + minChunk);
+        this.threshold = threshold;
+        this.minChunk = minChunk;
+        this.pool = pool;
+    }
+
+    PackedPoints run(PointSequence in, ChunkFilter filter) {
+        int n = in.size();
+        if (n < threshold) {
+            PackedPoints out = new PackedPoints(filter.maxOutput(0, n));
+            filter.filter(in, 0, n, out);
+            return out;
+        }
+        // Unos cuatro tramos por hilo equilibran la carga sin crear tareas diminutas
+        int chunk = Math.max(minChunk, n / (4 * pool.getParallelism()));
+        List<ForkJoinTask<PackedPoints>> tasks = new ArrayList<>(n / chunk + 1);
+        for (int from = 0; from < n; from += chunk) {
+            int start = from, end = (int) Math.min((long) from + chunk, n);
+            tasks.add(pool.submit(() -> {
+                PackedPoints out = new PackedPoints(filter.maxOutput(start, end));
+                filter.filter(in, start, end, out);
+                return out;
+            }));
+        }
+        List<PackedPoints> parts = new ArrayList<>(tasks.size());
+        int total = 0;
+        for (ForkJoinTask<PackedPoints> task : tasks) {
+            PackedPoints part = task.join();
+            parts.add(part);
+            total += part.size();
+        }
+        PackedPoints out = new PackedPoints(total);
+        for (PackedPoints part : parts) out.appendAll(part);
+        return out;
+    }
+}
@@ -0,0 +1,91 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Cadena de etapas, p. ej. {@code redundancy,undersampling:3}. Las etapas {@link FilterStage.Streaming}
+ * consecutivas se ejecutan fusionadas: una sola pasada sobre los puntos en la que cada punto atraviesa las
+ * etapas en orden y, si ninguna lo descarta, se escribe en el único buffer de salida. Solo una etapa
+ * {@link FilterStage.Whole} obliga a materializar un resultado intermedio.
+ */
+public final class FilterPipeline implements BlueprintsFilter {
+
+    static final int MAX_STAGES = 16;
+
+    private final List<FilterStage> stages;
+    private final String spec;
+
+    public FilterPipeline(List<FilterStage> stages) {
+        if (stages.size() > MAX_STAGES) throw new IllegalArgumentException("At most " + MAX_STAGES + " filters");
+        this.stages = List.copyOf(stages);
+        this.spec = stages.stream().map(FilterStage::spec).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Construye el pipeline a partir de etapas separadas por coma.
+     *
+     * @throws IllegalArgumentException si alguna etapa no es válida
+     */
+    public static FilterPipeline parse(String spec) {
+        List<FilterStage> stages = new ArrayList<>();
+        for (String token : spec.split(",")) {
+            if (!token.isBlank()) stages.add(FilterStages.parse(token));
+        }
+        return new FilterPipeline(stages);
+    }
+
+    /** Forma canónica, con los parámetros por defecto explícitos. */
+    public String spec() {
+        return spec;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        if (stages.isEmpty()) return bp;
+        return bp.withFilteredPoints(apply(bp.getPointSequence()));
+    }
+
+    public PackedPoints apply(PointSequence in) {
+        PointSequence current = in;
+        int i = 0;
+        while (i < stages.size()) {
+            if (stages.get(i) instanceof FilterStage.Whole whole) {
+                current = whole.apply(current);
+                i++;
+                continue;
+            }
+            List<FilterStage.PointPredicate> fused = new ArrayList<>();
+            while (i < stages.size() && stages.get(i) instanceof FilterStage.Streaming streaming) {
+                fused.add(streaming.start());
+                i++;
+            }
+            current = fuse(current, fused.toArray(FilterStage.PointPredicate[]::new));
+        }
+        return current instanceof PackedPoints packed ? packed : PackedPoints.copyOf(current);
+    }
+
+    private static PackedPoints fuse(PointSequence in, FilterStage.PointPredicate[] predicates) {
+        int n = in.size();
+        PackedPoints out = new PackedPoints(n);
+        next:
+        for (int i = 0; i < n; i++) {
+            int x = in.x(i), y = in.y(i);
+            for (FilterStage.PointPredicate p : predicates) {
+                if (!p.keep(x, y)) continue next;
+            }
+            out.append(x, y);
+        }
+        return out;
+    }
+
+    @Override
+    public String toString() {
+        return "FilterPipeline[" + spec + "]";
+    }
+}
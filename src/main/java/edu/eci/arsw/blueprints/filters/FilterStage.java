@@ -0,0 +1,31 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+/**
+ * Etapa de un {@link FilterPipeline}. Las etapas {@link Streaming} deciden punto a punto y el pipeline
+ * las fusiona en una sola pasada; las {@link Whole} necesitan ver todos los puntos de su entrada.
+ */
+public interface FilterStage {
+
+    /** Forma canónica de la etapa, p. ej. {@code undersampling:3}; forma parte de la clave de caché. */
+    String spec();
+
+    /** Etapa por punto: recibe los puntos que dejaron pasar las etapas anteriores, en orden. */
+    interface Streaming extends FilterStage {
+
+        /** Estado nuevo para una pasada; no se comparte entre pasadas ni hilos. */
+        PointPredicate start();
+    }
+
+    /** Etapa que transforma la secuencia completa. */
+    interface Whole extends FilterStage {
+
+        PointSequence apply(PointSequence in);
+    }
+
+    @FunctionalInterface
+    interface PointPredicate {
+        boolean keep(int x, int y);
+    }
+}
@@ -0,0 +1,111 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+/**
+ * Etapas disponibles para {@link FilterPipeline}, por nombre. Formato {@code nombre[:parámetro]}.
+ */
+public final class FilterStages {
+
+    private FilterStages() {}
+
+    /** Elimina puntos iguales al anterior que llegó a la etapa. */
+    public static final FilterStage.Streaming REDUNDANCY = new FilterStage.Streaming() {
+        @Override
+        public String spec() { return "redundancy"; }
+
+        @Override
+        public FilterStage.PointPredicate start() {
+            return new FilterStage.PointPredicate() {
+                private boolean first = true;
+                private int px, py;
+
+                @Override
+                public boolean keep(int x, int y) {
+                    if (!first && x == px && y == py) return false;
+                    first = false;
+                    px = x;
+                    py = y;
+                    return true;
+                }
+            };
+        }
+    };
+
+    /** Conserva 1 de cada {@code step} puntos que llegan a la etapa, empezando por el primero. */
+    public static FilterStage.Streaming undersampling(int step) {
+        if (step < 1) throw new IllegalArgumentException("undersampling step must be positive: " + step);
+        return new FilterStage.Streaming() {
+            @Override
+            public String spec() { return "undersampling:" + step; }
+
+            @Override
+            public FilterStage.PointPredicate start() {
+                int[] index = {0};
+                return (x, y) -> index[0]++ % step == 0;
+            }
+        };
+    }
+
+    /** Douglas–Peucker: descarta puntos a menos de {@code tolerance} unidades del segmento simplificado. */
+    public static FilterStage.Whole douglasPeucker(double tolerance) {
+        PolylineSimplifier.checkTolerance(tolerance);
+        return new FilterStage.Whole() {
+            @Override
+            public String spec() { return "douglas-peucker:" + tolerance; }
+
+            @Override
+            public PointSequence apply(PointSequence in) { return PolylineSimplifier.douglasPeucker(in, tolerance); }
+        };
+    }
+
+    /** Visvalingam–Whyatt: descarta puntos cuyo triángulo efectivo tiene área menor que {@code minArea}. */
+    public static FilterStage.Whole visvalingam(double minArea) {
+        PolylineSimplifier.checkTolerance(minArea);
+        return new FilterStage.Whole() {
+            @Override
+            public String spec() { return "visvalingam:" + minArea; }
+
+            @Override
+            public PointSequence apply(PointSequence in) { return PolylineSimplifier.visvalingamWhyatt(in, minArea); }
+        };
+    }
+
+    /**
+     * Interpreta una etapa como {@code redundancy}, {@code undersampling:3} o {@code douglas-peucker:2.5}.
+     *
+     * @throws IllegalArgumentException si la etapa no existe o el parámetro no es válido
+     */
+    public static FilterStage parse(String token) {
+        String t = token.trim();
+        int colon = t.indexOf(':');
+        String name = colon < 0 ? t : t.substring(0, colon);
+        String arg = colon < 0 ? null : t.substring(colon + 1);
+        return switch (name) {
+            case "redundancy" -> {
+                if (arg != null) throw new IllegalArgumentException("redundancy takes no parameter: " + t);
+                yield REDUNDANCY;
+            }
+            case "undersampling" -> undersampling(arg == null ? 2 : parseInt(t, arg));
+            case "douglas-peucker" -> douglasPeucker(arg == null ? 1 : parseDouble(t, arg));
+            case "visvalingam" -> visvalingam(arg == null ? 1 : parseDouble(t, arg));
+            default -> throw new IllegalArgumentException("Unknown filter: " + name);
+        };
+    }
+
+    private static double parseDouble(String token, String arg) {
+        try {
+            return Double.parseDouble(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid parameter in filter " + token);
+        }
+    }
+
+    private static int parseInt(String token, String arg) {
+        try {
+            return Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid parameter in filter " + token);
+        }
+    }
+}
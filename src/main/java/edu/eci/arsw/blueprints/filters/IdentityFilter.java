@@ -10,7 +10,7 @@ import org.springframework.stereotype.Component;
  * Activated when no specific filter profile is set.
  */
 @Component
-@Profile("!redundancy & !undersampling")
+@Profile("!redundancy & !undersampling & !simplify")
 public class IdentityFilter implements BlueprintsFilter {
     @Override
     public Blueprint apply(Blueprint bp) { return bp; }
@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pirámide de niveles de detalle: el nivel 0 es la salida del {@link BlueprintsFilter} configurado y cada nivel
+ * siguiente conserva {@code 1/factor} de los puntos del anterior, hasta quedar con {@code minPoints} o menos.
+ * Los puntos se eligen por su área efectiva de Visvalingam–Whyatt, calculada una sola vez: cada nivel es un
+ * subconjunto del anterior y conserva siempre los vértices más significativos y los extremos.
+ */
+@Component
+public class LodPyramid {
+
+    /** Tope de niveles; con factor 2 alcanza para más de dos mil millones de puntos. */
+    public static final int MAX_LEVELS = 32;
+
+    private final int factor;
+    private final int minPoints;
+
+    public LodPyramid() {
+        this(4, 256);
+    }
+
+    @Autowired
+    public LodPyramid(@Value("${blueprints.lod.factor:4}") int factor,
+                      @Value("${blueprints.lod.min-points:256}") int minPoints) {
+        if (factor < 2) throw new IllegalArgumentException("lod factor must be at least 2: " + factor);
+        if (minPoints < 2) throw new IllegalArgumentException("lod min-points must be at least 2: " + minPoints);
+        this.factor = factor;
+        this.minPoints = minPoints;
+    }
+
+    public int getFactor() { return factor; }
+    public int getMinPoints() { return minPoints; }
+
+    /** Niveles de {@code base}, del más detallado (una copia de {@code base}) al menos detallado. */
+    public List<PackedPoints> build(PointSequence base) {
+        int n = base.size();
+        List<PackedPoints> levels = new ArrayList<>();
+        levels.add(PackedPoints.copyOf(base));
+        if (n <= minPoints) return levels;
+
+        int[] xy = PolylineSimplifier.coordinates(base);
+        double[] area = PolylineSimplifier.effectiveAreas(xy, n);
+        double[] sorted = area.clone();
+        Arrays.sort(sorted);
+
+        int size = n;
+        while (size > minPoints && levels.size() < MAX_LEVELS) {
+            int target = Math.max(2, (size + factor - 1) / factor);
+            if (target >= size) break;
+            levels.add(top(xy, area, sorted, target));
+            size = target;
+        }
+        return levels;
+    }
+
+    /** Los {@code m} puntos de mayor área, en su orden original; los empates se resuelven por posición. */
+    private static PackedPoints top(int[] xy, double[] area, double[] sorted, int m) {
+        int n = area.length;
+        double threshold = sorted[n - m];
+        int above = n - upperBound(sorted, threshold);
+        int ties = m - above;
+        boolean[] keep = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            if (area[i] > threshold || (area[i] == threshold && ties-- > 0)) keep[i] = true;
+        }
+        return PolylineSimplifier.collect(xy, keep);
+    }
+
+    /** Primera posición de {@code sorted} con un valor mayor que {@code value}. */
+    private static int upperBound(double[] sorted, double value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,239 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+import java.util.Arrays;
+
+/**
+ * Simplificación de polilíneas sobre coordenadas intercaladas {@code int[]} (x0, y0, x1, y1, ...).
+ * Ambos algoritmos son iterativos (pila y montículo explícitos) para no desbordar la pila con millones
+ * de puntos, y siempre conservan el primer y el último punto.
+ */
+public final class PolylineSimplifier {
+
+    private PolylineSimplifier() {}
+
+    /**
+     * Douglas–Peucker: ningún punto descartado queda a más de {@code tolerance} del segmento que lo reemplaza.
+     */
+    public static PackedPoints douglasPeucker(PointSequence in, double tolerance) {
+        checkTolerance(tolerance);
+        int n = in.size();
+        if (n <= 2) return PackedPoints.copyOf(in);
+        int[] xy = coordinates(in);
+        boolean[] keep = new boolean[n];
+        keep[0] = keep[n - 1] = true;
+        double tol2 = tolerance * tolerance;
+
+        // Pila de tramos (inicio, fin) pendientes; a lo sumo crece con el número de puntos conservados
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        while (top > 0) {
+            int end = stack[--top];
+            int start = stack[--top];
+            int farthest = -1;
+            double max = tol2;
+            for (int i = start + 1; i < end; i++) {
+                double d = segmentDistance2(xy, i, start, end);
+                if (d > max) {
+                    max = d;
+                    farthest = i;
+                }
+            }
+            if (farthest < 0) continue;
+            keep[farthest] = true;
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (farthest - start > 1) {
+                stack[top++] = start;
+                stack[top++] = farthest;
+            }
+            if (end - farthest > 1) {
+                stack[top++] = farthest;
+                stack[top++] = end;
+            }
+        }
+        return collect(xy, keep);
+    }
+
+    /**
+     * Visvalingam–Whyatt: elimina repetidamente el punto cuyo triángulo con sus vecinos tiene menor área,
+     * mientras esa área sea menor que {@code minArea} (en unidades de coordenada al cuadrado).
+     */
+    public static PackedPoints visvalingamWhyatt(PointSequence in, double minArea) {
+        checkTolerance(minArea);
+        int n = in.size();
+        if (n <= 2) return PackedPoints.copyOf(in);
+        int[] xy = coordinates(in);
+        double[] area = eliminate(xy, n, minArea);
+        boolean[] keep = new boolean[n];
+        for (int i = 0; i < n; i++) keep[i] = area[i] >= minArea;
+        return collect(xy, keep);
+    }
+
+    /**
+     * Área efectiva de cada punto según Visvalingam–Whyatt: el punto sobrevive a cualquier {@code minArea}
+     * menor o igual que ella. Los extremos valen infinito. Sirve para ordenar los puntos por importancia.
+     */
+    static double[] effectiveAreas(int[] xy, int n) {
+        return eliminate(xy, n, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Elimina puntos en orden de área hasta que la menor alcance {@code stopAt}. Los eliminados quedan con su
+     * área efectiva (menor que {@code stopAt}) y los que sobreviven con un área mayor o igual.
+     */
+    private static double[] eliminate(int[] xy, int n, double stopAt) {
+        double[] area = new double[n];
+        if (n == 0) return area;
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        for (int i = 0; i < n; i++) {
+            prev[i] = i - 1;
+            next[i] = i + 1;
+        }
+        area[0] = area[n - 1] = Double.POSITIVE_INFINITY;
+        for (int i = 1; i < n - 1; i++) area[i] = triangleArea(xy, i - 1, i, i + 1);
+
+        MinHeap heap = new MinHeap(area, n);
+        for (int i = 1; i < n - 1; i++) heap.add(i);
+
+        while (!heap.isEmpty() && area[heap.peek()] < stopAt) {
+            int i = heap.poll();
+            double removed = area[i];
+            int p = prev[i], q = next[i];
+            next[p] = q;
+            prev[q] = p;
+            // Un vecino nunca queda con menos área que el punto recién eliminado: así el orden de
+            // eliminación no depende de qué vecino se recalculó primero y las áreas efectivas son monótonas
+            if (p > 0) heap.update(p, Math.max(removed, triangleArea(xy, prev[p], p, q)));
+            if (q < n - 1) heap.update(q, Math.max(removed, triangleArea(xy, p, q, next[q])));
+        }
+        return area;
+    }
+
+    static void checkTolerance(double tolerance) {
+        if (!(tolerance >= 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("tolerance must be a finite non-negative number: " + tolerance);
+        }
+    }
+
+    static int[] coordinates(PointSequence in) {
+        if (in instanceof PackedPoints packed) return packed.toArray();
+        int[] xy = new int[2 * in.size()];
+        for (int i = 0; i < in.size(); i++) {
+            xy[2 * i] = in.x(i);
+            xy[2 * i + 1] = in.y(i);
+        }
+        return xy;
+    }
+
+    static PackedPoints collect(int[] xy, boolean[] keep) {
+        int kept = 0;
+        for (boolean k : keep) if (k) kept++;
+        PackedPoints out = new PackedPoints(kept);
+        for (int i = 0; i < keep.length; i++) {
+            if (keep[i]) out.append(xy[2 * i], xy[2 * i + 1]);
+        }
+        return out;
+    }
+
+    /** Distancia al cuadrado del punto {@code i} al segmento {@code a-b} (no a la recta: sirve para polígonos cerrados). */
+    static double segmentDistance2(int[] xy, int i, int a, int b) {
+        double px = xy[2 * i], py = xy[2 * i + 1];
+        double ax = xy[2 * a], ay = xy[2 * a + 1];
+        double dx = xy[2 * b] - ax, dy = xy[2 * b + 1] - ay;
+        double ex = px - ax, ey = py - ay;
+        double dot = ex * dx + ey * dy;
+        double len2 = dx * dx + dy * dy;
+        if (dot <= 0) return ex * ex + ey * ey;
+        if (dot >= len2) {
+            double fx = px - xy[2 * b], fy = py - xy[2 * b + 1];
+            return fx * fx + fy * fy;
+        }
+        // Producto cruz exacto con coordenadas enteras: un punto colineal da 0 sin error de redondeo
+        double cross = ex * dy - ey * dx;
+        return cross * cross / len2;
+    }
+
+    private static double triangleArea(int[] xy, int a, int b, int c) {
+        double ax = xy[2 * a], ay = xy[2 * a + 1];
+        double cross = (xy[2 * b] - ax) * (xy[2 * c + 1] - ay) - (xy[2 * c] - ax) * (xy[2 * b + 1] - ay);
+        return Math.abs(cross) / 2;
+    }
+
+    /** Montículo binario de índices ordenado por {@code key[i]}, con posición de cada índice para actualizarlo. */
+    private static final class MinHeap {
+        private final double[] key;
+        private final int[] heap;
+        private final int[] pos;
+        private int size;
+
+        MinHeap(double[] key, int capacity) {
+            this.key = key;
+            this.heap = new int[capacity];
+            this.pos = new int[capacity];
+            Arrays.fill(pos, -1);
+        }
+
+        boolean isEmpty() { return size == 0; }
+
+        int peek() { return heap[0]; }
+
+        void add(int i) {
+            heap[size] = i;
+            pos[i] = size;
+            siftUp(size++);
+        }
+
+        int poll() {
+            int top = heap[0];
+            pos[top] = -1;
+            if (--size > 0) {
+                heap[0] = heap[size];
+                pos[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        void update(int i, double value) {
+            double old = key[i];
+            key[i] = value;
+            if (pos[i] < 0) return;
+            if (value < old) siftUp(pos[i]);
+            else siftDown(pos[i]);
+        }
+
+        private void siftUp(int k) {
+            int i = heap[k];
+            while (k > 0) {
+                int parent = (k - 1) >>> 1;
+                if (key[heap[parent]] <= key[i]) break;
+                move(heap[parent], k);
+                k = parent;
+            }
+            move(i, k);
+        }
+
+        private void siftDown(int k) {
+            int i = heap[k];
+            int half = size >>> 1;
+            while (k < half) {
+                int child = 2 * k + 1;
+                if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) child++;
+                if (key[i] <= key[heap[child]]) break;
+                move(heap[child], k);
+                k = child;
+            }
+            move(i, k);
+        }
+
+        private void move(int i, int k) {
+            heap[k] = i;
+            pos[i] = k;
+        }
+    }
+}
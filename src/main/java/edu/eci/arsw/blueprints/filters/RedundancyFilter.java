@@ -1,32 +1,67 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Elimina puntos consecutivos duplicados (x,y) para reducir redundancia.
+ * Desde {@code blueprints.filters.parallel-threshold} puntos filtra por tramos en paralelo.
  * Perfil: "redundancy"
  */
 @Component
 @Profile("redundancy")
 public class RedundancyFilter implements BlueprintsFilter {
+
+    private final ChunkedFilterExecutor executor;
+
+    public RedundancyFilter() {
+        this(ChunkedFilterExecutor.DEFAULT_THRESHOLD);
+    }
+
+    @Autowired
+    public RedundancyFilter(@Value("${blueprints.filters.parallel-threshold:1000000}") int parallelThreshold) {
+        this(new ChunkedFilterExecutor(parallelThreshold));
+    }
+
+    RedundancyFilter(ChunkedFilterExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
+        PointSequence in = bp.getPointSequence();
         if (in.isEmpty()) return bp;
-        List<Point> out = new ArrayList<>();
-        Point prev = null;
-        for (Point p : in) {
-            if (prev == null || !(prev.getX()==p.getX() && prev.getY()==p.getY())) {
-                out.add(p);
-                prev = p;
+        PackedPoints out = executor.run(in, RedundancyFilter::filter);
+        return bp.withFilteredPoints(out);
+    }
+
+    /**
+     * Un punto se conserva si difiere del anterior de la entrada (que siempre es igual al último conservado);
+     * por eso un tramo solo necesita leer el punto previo a su inicio para unirse bien con el anterior.
+     */
+    private static void filter(PointSequence in, int from, int to, PackedPoints out) {
+        int px, py;
+        if (from == 0) {
+            px = in.x(0);
+            py = in.y(0);
+            out.append(px, py);
+            from = 1;
+        } else {
+            px = in.x(from - 1);
+            py = in.y(from - 1);
+        }
+        for (int i = from; i < to; i++) {
+            int x = in.x(i), y = in.y(i);
+            if (x != px || y != py) {
+                out.append(x, y);
+                px = x;
+                py = y;
             }
         }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
     }
 }
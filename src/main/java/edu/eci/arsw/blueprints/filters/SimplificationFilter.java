@@ -0,0 +1,49 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simplificación geométrica con tolerancia: a diferencia de {@link UndersamplingFilter} conserva los vértices
+ * que definen la forma. Algoritmo ({@code douglas-peucker} o {@code visvalingam}) y tolerancia se configuran en
+ * {@code blueprints.filters.simplify}; por petición se usa {@code ?filters=douglas-peucker:2.5}.
+ * Perfil: "simplify"
+ */
+@Component
+@Profile("simplify")
+public class SimplificationFilter implements BlueprintsFilter {
+
+    private final boolean visvalingam;
+    private final double tolerance;
+
+    public SimplificationFilter() {
+        this("douglas-peucker", 1.0);
+    }
+
+    @Autowired
+    public SimplificationFilter(@Value("${blueprints.filters.simplify.algorithm:douglas-peucker}") String algorithm,
+                                @Value("${blueprints.filters.simplify.tolerance:1.0}") double tolerance) {
+        this.visvalingam = switch (algorithm) {
+            case "douglas-peucker" -> false;
+            case "visvalingam" -> true;
+            default -> throw new IllegalArgumentException("Unknown simplification algorithm: " + algorithm);
+        };
+        PolylineSimplifier.checkTolerance(tolerance);
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PointSequence in = bp.getPointSequence();
+        if (in.size() <= 2) return bp;
+        PackedPoints out = visvalingam
+                ? PolylineSimplifier.visvalingamWhyatt(in, tolerance)
+                : PolylineSimplifier.douglasPeucker(in, tolerance);
+        return bp.withFilteredPoints(out);
+    }
+}
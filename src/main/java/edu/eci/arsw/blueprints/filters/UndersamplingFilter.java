@@ -1,28 +1,56 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Undersampling: conserva 1 de cada 2 puntos (índices pares), reduciendo la densidad.
+ * Desde {@code blueprints.filters.parallel-threshold} puntos filtra por tramos en paralelo.
  * Perfil: "undersampling"
  */
 @Component
 @Profile("undersampling")
 public class UndersamplingFilter implements BlueprintsFilter {
+
+    private final ChunkedFilterExecutor executor;
+
+    public UndersamplingFilter() {
+        this(ChunkedFilterExecutor.DEFAULT_THRESHOLD);
+    }
+
+    @Autowired
+    public UndersamplingFilter(@Value("${blueprints.filters.parallel-threshold:1000000}") int parallelThreshold) {
+        this(new ChunkedFilterExecutor(parallelThreshold));
+    }
+
+    UndersamplingFilter(ChunkedFilterExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
+        PointSequence in = bp.getPointSequence();
         if (in.size() <= 2) return bp;
-        List<Point> out = new ArrayList<>();
-        for (int i = 0; i < in.size(); i++) {
-            if (i % 2 == 0) out.add(in.get(i));
-        }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        return bp.withFilteredPoints(executor.run(in, EVEN_INDICES));
     }
+
+    /** Índices pares globales: cada tramo empieza en el primer par de su rango. */
+    private static final ChunkedFilterExecutor.ChunkFilter EVEN_INDICES = new ChunkedFilterExecutor.ChunkFilter() {
+        @Override
+        public void filter(PointSequence in, int from, int to, PackedPoints out) {
+            for (int i = from + (from & 1); i < to; i += 2) {
+                out.append(in.x(i), in.y(i));
+            }
+        }
+
+        @Override
+        public int maxOutput(int from, int to) {
+            return (to - from + 1) / 2;
+        }
+    };
 }
@@ -1,17 +1,34 @@
 package edu.eci.arsw.blueprints.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
 import java.util.*;
 
 @Entity
-@Table(name = "blueprints")
+@Table(name = "blueprints", indexes = {
+        @Index(name = "idx_blueprints_author_name", columnList = "author, name"),
+        // Búsqueda por rectángulo: cada índice acota un eje; el resto del filtro se evalúa sobre esas filas
+        @Index(name = "idx_blueprints_bbox_x", columnList = "min_x, max_x"),
+        @Index(name = "idx_blueprints_bbox_y", columnList = "min_y, max_y")
+})
+// Los puntos son LAZY: cada consulta elige su plan. Sin grafo solo se leen las columnas del plano; con este
+// grafo los puntos llegan en la misma consulta (o en una sola más para una página de planos)
+@NamedEntityGraph(name = Blueprint.POINTS_GRAPH, attributeNodes = @NamedAttributeNode("points"))
 @Schema(description = "Representa un plano arquitectónico con sus puntos")
 public class Blueprint {
 
+    public static final String POINTS_GRAPH = "Blueprint.points";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "blueprints_seq")
+    @SequenceGenerator(name = "blueprints_seq", sequenceName = "blueprints_seq", allocationSize = 50)
     @Schema(description = "ID único del plano", example = "1")
     private Long id;
     
@@ -23,10 +40,66 @@ public class Blueprint {
     @Schema(description = "Nombre del plano", example = "Edificio A")
     private String name;
     
-    @OneToMany(mappedBy = "blueprint", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Default 0 para que ddl-auto pueda agregar la columna a tablas con filas existentes
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Schema(description = "Versión del plano; aumenta con cada modificación", example = "3")
+    private long version;
+
+    @Column(name = "updated_at")
+    @Schema(description = "Fecha de la última modificación", example = "2025-01-01T12:00:00Z")
+    private Instant updatedAt;
+
+    // Ordinal del primer punto de la lista actual y del siguiente que se agregue. Los puntos solo se agregan
+    // al final o se reemplazan todos, así que next - base es la cantidad. Un reemplazo deja un ordinal libre
+    // (base = next + 1) para que un cliente que pide desde el next anterior siempre reciba fullReload
+    @ColumnDefault("0")
+    @Column(name = "base_ordinal", nullable = false)
+    @Schema(description = "Ordinal del primer punto; cambia cuando la lista se reemplaza completa", example = "0")
+    private int baseOrdinal;
+
+    @ColumnDefault("0")
+    @Column(name = "next_ordinal", nullable = false)
+    @Schema(description = "Ordinal que recibirá el próximo punto; úselo como 'since' en la sincronización incremental", example = "4")
+    private int nextOrdinal;
+
+    // Estadísticas desnormalizadas (ver PointStats), mantenidas al agregar o reemplazar puntos para no tener
+    // que cargarlos. La caja es null en un plano vacío. En una base existente se calculan con el endpoint de admin
+    @ColumnDefault("0")
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @ColumnDefault("0")
+    @Column(name = "content_hash", nullable = false)
+    private long contentHash;
+
+    @Column(name = "min_x")
+    private Integer minX;
+
+    @Column(name = "min_y")
+    private Integer minY;
+
+    @Column(name = "max_x")
+    private Integer maxX;
+
+    @Column(name = "max_y")
+    private Integer maxY;
+
+    @OneToMany(mappedBy = "blueprint", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("ordinal")
     @Schema(description = "Lista de puntos que conforman el plano")
     private List<Point> points = new ArrayList<>();
 
+    // Representación compacta alternativa. Si no es null es la fuente de verdad: la lista de
+    // entidades Point solo se construye cuando alguien la pide y nunca desde una lectura
+    @Transient
+    private PackedPoints packed;
+
+    // El arreglo de packed puede ser compartido con otra instantánea (ver withAppended): se copia antes de escribir
+    @Transient
+    private boolean packedShared;
+
     public Blueprint() {}
 
     public Blueprint(String author, String name, List<Point> pts) {
@@ -39,17 +112,176 @@ public class Blueprint {
         }
     }
 
+    /**
+     * Crea un plano respaldado por puntos empaquetados; no crea ninguna entidad {@link Point}.
+     */
+    public static Blueprint ofPacked(String author, String name, PackedPoints pts) {
+        return ofPacked(author, name, pts, 0);
+    }
+
+    /** Como {@link #ofPacked(String, String, PackedPoints)}, con el primer punto en el ordinal indicado. */
+    public static Blueprint ofPacked(String author, String name, PackedPoints pts, int baseOrdinal) {
+        Blueprint bp = new Blueprint(author, name, null);
+        bp.packed = Objects.requireNonNull(pts, "pts");
+        bp.baseOrdinal = baseOrdinal;
+        bp.nextOrdinal = baseOrdinal + pts.size();
+        PointStats stats = PointStats.of(pts);
+        bp.pointCount = stats.count();
+        bp.contentHash = stats.hash();
+        bp.setBounds(stats.bbox());
+        return bp;
+    }
+
+    /**
+     * Plano empaquetado con los puntos de éste más {@code xy} al final, sin recorrer los existentes: los puntos
+     * salen de {@link PackedPoints#extendedWith} y las estadísticas se extienden con cada punto nuevo. Conserva la
+     * clave y los ordinales; la versión y la fecha quedan a cargo de quien lo guarda. Los dos planos pueden
+     * compartir el arreglo: {@link #addPoint(int, int)} sobre cualquiera de ellos trabaja sobre una copia.
+     */
+    public Blueprint withAppended(int[] xy) {
+        if (packed == null) throw new IllegalStateException("Only packed blueprints can be extended");
+        Blueprint next = new Blueprint(author, name, null);
+        next.packed = packed.extendedWith(xy);
+        next.packedShared = true;
+        packedShared = true;
+        next.baseOrdinal = baseOrdinal;
+        next.nextOrdinal = nextOrdinal + xy.length / 2;
+        next.pointCount = pointCount;
+        next.contentHash = contentHash;
+        next.minX = minX;
+        next.minY = minY;
+        next.maxX = maxX;
+        next.maxY = maxY;
+        for (int i = 0; i < xy.length; i += 2) next.track(xy[i], xy[i + 1]);
+        return next;
+    }
+
+    /**
+     * Vista de este plano con otros puntos, p. ej. el resultado de un filtro. Conserva la clave, la versión, la
+     * fecha y los ordinales del original, que son los que valen para el ETag y la sincronización incremental;
+     * la cantidad, la caja y el hash son los de {@code pts}.
+     */
+    public Blueprint withFilteredPoints(PackedPoints pts) {
+        Blueprint view = ofPacked(author, name, pts, baseOrdinal);
+        view.nextOrdinal = nextOrdinal;
+        view.version = version;
+        view.updatedAt = updatedAt;
+        return view;
+    }
+
     public Long getId() { return id; }
     public String getAuthor() { return author; }
     public String getName() { return name; }
-    public List<Point> getPoints() { return Collections.unmodifiableList(points); }
+    public long getVersion() { return version; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public int getBaseOrdinal() { return baseOrdinal; }
+    public int getNextOrdinal() { return nextOrdinal; }
+
+    /**
+     * Vista JPA de los puntos. En planos empaquetados crea entidades nuevas en cada llamada,
+     * sin modificar el plano, por lo que es segura para lectores concurrentes.
+     */
+    @JsonIgnore
+    public List<Point> getPoints() {
+        return Collections.unmodifiableList(packed != null ? packed.toPoints() : points);
+    }
+
+    /** Acceso a las coordenadas sin crear objetos {@link Point}. */
+    @JsonProperty("points")
+    @JsonSerialize(using = PointSequenceSerializer.class)
+    @ArraySchema(arraySchema = @Schema(description = "Lista de puntos que conforman el plano"),
+            schema = @Schema(implementation = Point.class))
+    public PointSequence getPointSequence() {
+        return packed != null ? packed : PointSequence.of(Collections.unmodifiableList(points));
+    }
+
+    /** Caja envolvente de los puntos, o {@code null} si no tiene. */
+    @JsonIgnore
+    public BoundingBox getBoundingBox() {
+        return BoundingBox.ofNullable(minX, minY, maxX, maxY);
+    }
+
+    /** Hash del contenido (ver {@link PointStats}): igual para dos planos con los mismos puntos en el mismo orden. */
+    @JsonIgnore
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    private void resetStats() {
+        pointCount = 0;
+        contentHash = PointStats.EMPTY_HASH;
+        setBounds(null);
+    }
+
+    private void setBounds(BoundingBox box) {
+        minX = box == null ? null : box.minX();
+        minY = box == null ? null : box.minY();
+        maxX = box == null ? null : box.maxX();
+        maxY = box == null ? null : box.maxY();
+    }
+
+    /** Actualiza las estadísticas con un punto agregado al final. */
+    private void track(int x, int y) {
+        pointCount++;
+        contentHash = PointStats.extendHash(contentHash, x, y);
+        if (minX == null) {
+            minX = maxX = x;
+            minY = maxY = y;
+            return;
+        }
+        if (x < minX) minX = x;
+        if (x > maxX) maxX = x;
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+    }
+
+    /** Cantidad de puntos cargados en este plano. */
+    public int pointCount() {
+        return packed != null ? packed.size() : points.size();
+    }
+
+    /**
+     * Cantidad guardada en la columna desnormalizada: no carga la lista, pero vale 0 en una base existente hasta
+     * recalcular las estadísticas. Solo para listados y búsquedas.
+     */
+    public int storedPointCount() {
+        return pointCount;
+    }
 
     public void setAuthor(String author) { this.author = author; }
     public void setName(String name) { this.name = name; }
+    /** Solo para backends sin JPA, que llevan la versión a mano. */
+    public void setVersion(long version) { this.version = version; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
 
+    /** Agrega un punto. En planos empaquetados solo se copian sus coordenadas. */
     public void addPoint(Point p) {
+        if (packed != null) {
+            addPoint(p.getX(), p.getY());
+            return;
+        }
+        p.setOrdinal(nextOrdinal++);
         points.add(p);
         p.setBlueprint(this);
+        track(p.getX(), p.getY());
+    }
+
+    /**
+     * Agrega un punto; en planos empaquetados no crea ninguna entidad. Si el arreglo se comparte con otra
+     * instantánea (ver {@link #withAppended}), primero lo copia para no pisar sus puntos.
+     */
+    public void addPoint(int x, int y) {
+        if (packed != null) {
+            if (packedShared) {
+                packed = PackedPoints.copyOf(packed);
+                packedShared = false;
+            }
+            packed.append(x, y);
+            nextOrdinal++;
+            track(x, y);
+        } else {
+            addPoint(new Point(x, y));
+        }
     }
 
     @Override
@@ -60,8 +292,14 @@ public class Blueprint {
     }
 
     public void replacePoints(List<Point> newPoints) {
+        packed = null;
+        // Modifica una columna propia para que el cambio de la colección siempre incremente la versión
+        updatedAt = Instant.now();
+        baseOrdinal = nextOrdinal + 1;
+        nextOrdinal = baseOrdinal;
         // Clear all existing points - orphanRemoval will handle database cleanup
         points.clear();
+        resetStats();
         
         if (newPoints != null) {
             for (Point p : newPoints) {
@@ -71,6 +309,29 @@ public class Blueprint {
         }
     }
 
+    /** Fija {@code updatedAt} en cada UPDATE de la fila. */
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    /**
+     * Pasa de la representación empaquetada a la lista de entidades antes de persistir,
+     * para que un plano creado con {@link #ofPacked} guarde sus puntos. También fija {@code updatedAt}.
+     */
+    @PrePersist
+    void materializePoints() {
+        updatedAt = Instant.now();
+        if (packed == null) return;
+        PackedPoints pts = packed;
+        packed = null;
+        nextOrdinal = baseOrdinal;
+        resetStats();
+        for (int i = 0; i < pts.size(); i++) {
+            addPoint(new Point(pts.x(i), pts.y(i)));
+        }
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(author, name);
@@ -0,0 +1,76 @@
+package edu.eci.arsw.blueprints.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Un nivel de la pirámide de detalle de un plano, con los puntos codificados con {@link PackedPointsCodec}.
+ * Las filas de un plano se reemplazan juntas y solo valen para la versión y el filtro con que se construyeron:
+ * si el plano cambió se reconstruyen en la siguiente lectura.
+ */
+@Entity
+@Table(name = "blueprint_lods",
+        uniqueConstraints = @UniqueConstraint(name = "ux_blueprint_lods_author_name_level",
+                columnNames = {"author", "name", "lod_level"}))
+public class BlueprintLod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String author;
+
+    @Column(nullable = false)
+    private String name;
+
+    // "level" y "filter" son palabras reservadas en algunas bases
+    @Column(name = "lod_level", nullable = false)
+    private int level;
+
+    @Column(name = "level_count", nullable = false)
+    private int levels;
+
+    // Versión y fecha de modificación (epoch ms) del plano del que salió: distinguen un plano borrado y recreado
+    @Column(name = "source_version", nullable = false)
+    private long sourceVersion;
+
+    @Column(name = "source_updated", nullable = false)
+    private long sourceUpdated;
+
+    @Column(name = "filter_spec", nullable = false, length = 1024)
+    private String filter;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] points;
+
+    protected BlueprintLod() {}
+
+    public BlueprintLod(String author, String name, int level, int levels, long sourceVersion, long sourceUpdated,
+                        String filter, PointSequence pts) {
+        this.author = author;
+        this.name = name;
+        this.level = level;
+        this.levels = levels;
+        this.sourceVersion = sourceVersion;
+        this.sourceUpdated = sourceUpdated;
+        this.filter = filter;
+        this.points = PackedPointsCodec.encode(pts);
+        this.pointCount = pts.size();
+    }
+
+    public String getAuthor() { return author; }
+    public String getName() { return name; }
+    public int getLevel() { return level; }
+    public int getLevels() { return levels; }
+    public long getSourceVersion() { return sourceVersion; }
+    public long getSourceUpdated() { return sourceUpdated; }
+    public String getFilter() { return filter; }
+    public int getPointCount() { return pointCount; }
+
+    public PackedPoints getPoints() {
+        return PackedPointsCodec.decode(points);
+    }
+}
@@ -0,0 +1,63 @@
+package edu.eci.arsw.blueprints.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Rectángulo alineado a los ejes, con bordes incluidos. Un plano sin puntos no tiene caja ({@code null}).
+ */
+@Schema(description = "Caja envolvente de los puntos de un plano (bordes incluidos)")
+public record BoundingBox(
+        @Schema(example = "0") int minX,
+        @Schema(example = "0") int minY,
+        @Schema(example = "10") int maxX,
+        @Schema(example = "10") int maxY) {
+
+    public BoundingBox {
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("bbox min must not exceed max: " + minX + "," + minY + "," + maxX + "," + maxY);
+        }
+    }
+
+    /** Caja de {@code points}, o {@code null} si no hay puntos. */
+    public static BoundingBox of(PointSequence points) {
+        int n = points.size();
+        if (n == 0) return null;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            int x = points.x(i), y = points.y(i);
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /** Caja a partir de columnas que pueden ser null (plano vacío). */
+    public static BoundingBox ofNullable(Integer minX, Integer minY, Integer maxX, Integer maxY) {
+        return minX == null || minY == null || maxX == null || maxY == null ? null : new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Interpreta {@code minX,minY,maxX,maxY}.
+     *
+     * @throws IllegalArgumentException si no son cuatro enteros o el mínimo supera al máximo
+     */
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) throw new IllegalArgumentException("bbox must be minX,minY,maxX,maxY: " + bbox);
+        int[] v = new int[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                v[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bbox must be minX,minY,maxX,maxY: " + bbox);
+            }
+        }
+        return new BoundingBox(v[0], v[1], v[2], v[3]);
+    }
+
+    public boolean intersects(BoundingBox other) {
+        return minX <= other.maxX && maxX >= other.minX && minY <= other.maxY && maxY >= other.minY;
+    }
+}
@@ -0,0 +1,146 @@
+package edu.eci.arsw.blueprints.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+
+/**
+ * Plano almacenado en una sola fila: los puntos van codificados con {@link PackedPointsCodec}
+ * en una columna binaria (bytea en PostgreSQL) en lugar de una fila por punto.
+ * Lo usa el perfil {@code packed-points}.
+ */
+@Entity
+@Table(name = "blueprints_packed",
+        uniqueConstraints = @UniqueConstraint(name = "ux_blueprints_packed_author_name", columnNames = {"author", "name"}),
+        indexes = {
+                @Index(name = "idx_blueprints_packed_bbox_x", columnList = "min_x, max_x"),
+                @Index(name = "idx_blueprints_packed_bbox_y", columnList = "min_y, max_y")
+        })
+public class PackedBlueprint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String author;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Ordinal del primer punto; avanza cuando la lista se reemplaza completa
+    @ColumnDefault("0")
+    @Column(name = "base_ordinal", nullable = false)
+    private int baseOrdinal;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] points;
+
+    @ColumnDefault("0")
+    @Column(name = "content_hash", nullable = false)
+    private long contentHash;
+
+    // Caja envolvente de los puntos, mantenida junto con la columna binaria; null en un plano vacío
+    @Column(name = "min_x")
+    private Integer minX;
+
+    @Column(name = "min_y")
+    private Integer minY;
+
+    @Column(name = "max_x")
+    private Integer maxX;
+
+    @Column(name = "max_y")
+    private Integer maxY;
+
+    protected PackedBlueprint() {}
+
+    public PackedBlueprint(String author, String name, PointSequence pts) {
+        this.author = author;
+        this.name = name;
+        setPoints(pts);
+    }
+
+    public Long getId() { return id; }
+    public String getAuthor() { return author; }
+    public String getName() { return name; }
+    public int getPointCount() { return pointCount; }
+    public long getVersion() { return version; }
+    public int getBaseOrdinal() { return baseOrdinal; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public long getContentHash() { return contentHash; }
+    public BoundingBox getBoundingBox() { return BoundingBox.ofNullable(minX, minY, maxX, maxY); }
+
+    public void setAuthor(String author) { this.author = author; }
+    public void setName(String name) { this.name = name; }
+
+    public PackedPoints getPoints() {
+        return PackedPointsCodec.decode(points);
+    }
+
+    public void setPoints(PointSequence pts) {
+        this.points = PackedPointsCodec.encode(pts);
+        setStats(PointStats.of(pts));
+    }
+
+    /**
+     * Agrega puntos al final. La columna binaria se reescribe, pero la cantidad, la caja y el hash
+     * se extienden con los puntos nuevos sin recorrer los existentes.
+     */
+    public void appendPoints(int[] xy) {
+        PackedPoints pts = getPoints();
+        pts.appendAll(xy);
+        this.points = PackedPointsCodec.encode(pts);
+        PointStats added = PointStats.ofCoordinates(xy);
+        if (added.count() == 0) return;
+        BoundingBox box = added.bbox();
+        contentHash = PointStats.concatHash(contentHash, added.hash(), added.count());
+        pointCount += added.count();
+        minX = minX == null ? box.minX() : Math.min(minX, box.minX());
+        minY = minY == null ? box.minY() : Math.min(minY, box.minY());
+        maxX = maxX == null ? box.maxX() : Math.max(maxX, box.maxX());
+        maxY = maxY == null ? box.maxY() : Math.max(maxY, box.maxY());
+    }
+
+    private void setStats(PointStats stats) {
+        BoundingBox box = stats.bbox();
+        pointCount = stats.count();
+        contentHash = stats.hash();
+        minX = box == null ? null : box.minX();
+        minY = box == null ? null : box.minY();
+        maxX = box == null ? null : box.maxX();
+        maxY = box == null ? null : box.maxY();
+    }
+
+    /** Reemplaza la lista completa; deja libre un ordinal tras la anterior, como {@link Blueprint#replacePoints}. */
+    public void replacePoints(PointSequence pts) {
+        baseOrdinal += pointCount + 1;
+        setPoints(pts);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    /** Vista de dominio del plano, sin entidades Point. */
+    public Blueprint toBlueprint() {
+        Blueprint bp = Blueprint.ofPacked(author, name, getPoints(), baseOrdinal);
+        bp.setVersion(version);
+        bp.setUpdatedAt(updatedAt);
+        return bp;
+    }
+}
@@ -0,0 +1,134 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Puntos almacenados en un único {@code int[]} intercalado (x0, y0, x1, y1, ...).
+ * Un millón de puntos ocupa 8 MB en lugar de un objeto {@link Point} con cabecera, id y
+ * referencia al plano por cada uno. No es seguro para escrituras concurrentes.
+ */
+public final class PackedPoints implements PointSequence {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] xy;
+    private int size;
+
+    public PackedPoints() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PackedPoints(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        this.xy = new int[2 * capacity];
+    }
+
+    /** Crea la secuencia a partir de coordenadas intercaladas; el arreglo se copia. */
+    public static PackedPoints of(int... xy) {
+        if (xy.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        PackedPoints p = new PackedPoints(0);
+        p.xy = xy.clone();
+        p.size = xy.length / 2;
+        return p;
+    }
+
+    public static PackedPoints copyOf(PointSequence points) {
+        PackedPoints p = new PackedPoints(points.size());
+        p.appendAll(points);
+        return p;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int x(int i) {
+        return xy[2 * Objects.checkIndex(i, size)];
+    }
+
+    @Override
+    public int y(int i) {
+        return xy[2 * Objects.checkIndex(i, size) + 1];
+    }
+
+    public void append(int x, int y) {
+        ensureCapacity(size + 1);
+        xy[2 * size] = x;
+        xy[2 * size + 1] = y;
+        size++;
+    }
+
+    public void appendAll(PointSequence points) {
+        int n = points.size();
+        ensureCapacity(size + n);
+        if (points instanceof PackedPoints packed) {
+            System.arraycopy(packed.xy, 0, xy, 2 * size, 2 * n);
+        } else {
+            for (int i = 0; i < n; i++) {
+                xy[2 * (size + i)] = points.x(i);
+                xy[2 * (size + i) + 1] = points.y(i);
+            }
+        }
+        size += n;
+    }
+
+    /** Agrega coordenadas intercaladas (x0, y0, x1, y1, ...). */
+    public void appendAll(int[] pairs) {
+        if (pairs.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        ensureCapacity(size + pairs.length / 2);
+        System.arraycopy(pairs, 0, xy, 2 * size, pairs.length);
+        size += pairs.length / 2;
+    }
+
+    /**
+     * Nueva secuencia con los puntos de ésta seguidos de {@code pairs}, sin copiar los existentes: comparte el
+     * arreglo mientras tenga capacidad y si no lo hace crecer geométricamente, así que agregar k puntos cuesta
+     * O(k) amortizado. Solo escribe después de {@link #size()}, por lo que quien siga leyendo esta secuencia ve
+     * exactamente sus puntos. Con un único escritor y siempre sobre la última secuencia derivada; ninguna de las
+     * dos debe modificarse con {@code append} después.
+     */
+    public PackedPoints extendedWith(int[] pairs) {
+        if (pairs.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        int points = size + pairs.length / 2;
+        PackedPoints next = new PackedPoints(0);
+        next.xy = 2 * points <= xy.length ? xy : Arrays.copyOf(xy, grownLength(points));
+        System.arraycopy(pairs, 0, next.xy, 2 * size, pairs.length);
+        next.size = points;
+        return next;
+    }
+
+    /** Copia de las coordenadas intercaladas, del tamaño exacto. */
+    public int[] toArray() {
+        return Arrays.copyOf(xy, 2 * size);
+    }
+
+    private void ensureCapacity(int points) {
+        if (2 * points > xy.length) xy = Arrays.copyOf(xy, grownLength(points));
+    }
+
+    private int grownLength(int points) {
+        return Math.max(2 * points, Math.max(2 * DEFAULT_CAPACITY, xy.length + (xy.length >> 1)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PackedPoints other)) return false;
+        return Arrays.equals(xy, 0, 2 * size, other.xy, 0, 2 * other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < 2 * size; i++) h = 31 * h + xy[i];
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedPoints[size=" + size + "]";
+    }
+}
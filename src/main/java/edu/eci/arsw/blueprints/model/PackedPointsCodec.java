@@ -0,0 +1,73 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.Arrays;
+
+/**
+ * Codificación binaria compacta de {@link PointSequence}: la cantidad de puntos y luego,
+ * por cada punto, la diferencia con el anterior (x, y) en zigzag + varint.
+ * Trazos con pasos pequeños ocupan ~2 bytes por punto en lugar de una fila por punto.
+ */
+public final class PackedPointsCodec {
+
+    private PackedPointsCodec() {}
+
+    public static byte[] encode(PointSequence points) {
+        int n = points.size();
+        byte[] out = new byte[5 + 4 * n];
+        int pos = writeVarint(out, 0, n);
+        int px = 0, py = 0;
+        for (int i = 0; i < n; i++) {
+            int x = points.x(i), y = points.y(i);
+            if (out.length - pos < 10) out = Arrays.copyOf(out, out.length * 2);
+            // La resta puede desbordar; al decodificar la suma desborda igual y recupera el valor
+            pos = writeVarint(out, pos, zigzag(x - px));
+            pos = writeVarint(out, pos, zigzag(y - py));
+            px = x;
+            py = y;
+        }
+        return Arrays.copyOf(out, pos);
+    }
+
+    public static PackedPoints decode(byte[] data) {
+        if (data == null || data.length == 0) return new PackedPoints(0);
+        int[] cursor = {0};
+        int n = readVarint(data, cursor);
+        if (n < 0) throw new IllegalArgumentException("Corrupt point data: negative count");
+        PackedPoints points = new PackedPoints(n);
+        int x = 0, y = 0;
+        for (int i = 0; i < n; i++) {
+            x += unzigzag(readVarint(data, cursor));
+            y += unzigzag(readVarint(data, cursor));
+            points.append(x, y);
+        }
+        return points;
+    }
+
+    private static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unzigzag(int v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static int writeVarint(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    private static int readVarint(byte[] in, int[] cursor) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (cursor[0] >= in.length) throw new IllegalArgumentException("Corrupt point data: truncated varint");
+            byte b = in[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IllegalArgumentException("Corrupt point data: varint too long");
+    }
+}
@@ -3,15 +3,20 @@ package edu.eci.arsw.blueprints.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.Objects;
 
 @Entity
+// PostgreSQL no indexa las claves foráneas: sin este índice leer o borrar los puntos de un plano recorre toda la tabla
+@Table(indexes = @Index(name = "idx_point_blueprint_ordinal", columnList = "blueprint_id, ordinal"))
 @Schema(description = "Representa un punto en el plano 2D")
 public class Point {
     
+    // Secuencia con asignación en bloques: con IDENTITY Hibernate no puede agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "point_seq")
+    @SequenceGenerator(name = "point_seq", sequenceName = "point_seq", allocationSize = 50)
     @Schema(description = "ID único del punto", example = "1")
     private Long id;
     
@@ -21,6 +26,12 @@ public class Point {
     @Schema(description = "Coordenada Y del punto", example = "20")
     private int y;
     
+    // Posición estable dentro del plano; el orden de la lista y la sincronización incremental dependen de él
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonIgnore
+    private int ordinal;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "blueprint_id")
     @JsonBackReference
@@ -38,20 +49,23 @@ public class Point {
     public int getX() { return x; }
     public int getY() { return y; }
     public Blueprint getBlueprint() { return blueprint; }
+    public int getOrdinal() { return ordinal; }
     
     public void setX(int x) { this.x = x; }
     public void setY(int y) { this.y = y; }
     public void setBlueprint(Blueprint blueprint) { this.blueprint = blueprint; }
+    public void setOrdinal(int ordinal) { this.ordinal = ordinal; }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Point point)) return false;
-        return id != null && id.equals(point.id);
+        // Igualdad por coordenadas: los filtros devuelven vistas nuevas de los mismos puntos
+        return x == point.x && y == point.y;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(x, y);
     }
 }
@@ -0,0 +1,37 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Secuencia ordenada de coordenadas enteras accesible por índice sin crear objetos {@link Point}.
+ * Es la vista que usan los filtros y la serialización JSON.
+ */
+public interface PointSequence {
+
+    int size();
+
+    int x(int i);
+
+    int y(int i);
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Construye entidades {@link Point} nuevas (sin id ni plano) para cada coordenada. */
+    default List<Point> toPoints() {
+        List<Point> out = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) out.add(new Point(x(i), y(i)));
+        return out;
+    }
+
+    /** Vista de solo lectura sobre una lista de puntos existente, sin copiarla. */
+    static PointSequence of(List<Point> points) {
+        return new PointSequence() {
+            @Override public int size() { return points.size(); }
+            @Override public int x(int i) { return points.get(i).getX(); }
+            @Override public int y(int i) { return points.get(i).getY(); }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Escribe una {@link PointSequence} como arreglo JSON de objetos {"x":..,"y":..}
+ * leyendo las coordenadas directamente, sin construir entidades {@link Point}.
+ */
+public class PointSequenceSerializer extends StdSerializer<PointSequence> {
+
+    public PointSequenceSerializer() {
+        super(PointSequence.class);
+    }
+
+    @Override
+    public void serialize(PointSequence points, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int n = points.size();
+        gen.writeStartArray(points, n);
+        for (int i = 0; i < n; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("x", points.x(i));
+            gen.writeNumberField("y", points.y(i));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,72 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Estadísticas de una secuencia de puntos que se guardan desnormalizadas en la fila del plano: cantidad, caja
+ * envolvente y hash del contenido. Las tres se actualizan en O(1) por punto agregado, sin releer los anteriores.
+ * <p>
+ * El hash es polinomial sobre 64 bits, {@code h(p0..pn) = h(p0..pn-1) * PRIME + mix(pn)}, así que depende del orden
+ * y el de una concatenación se obtiene de los hashes de las partes ({@link #concatHash}). No es criptográfico:
+ * sirve para detectar cambios y duplicados, no para resistir colisiones buscadas.
+ */
+public final class PointStats {
+
+    public static final long EMPTY_HASH = 0L;
+    private static final long PRIME = 0x100000001B3L;
+
+    private int count;
+    private int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+    private long hash = EMPTY_HASH;
+
+    public static PointStats of(PointSequence points) {
+        PointStats stats = new PointStats();
+        for (int i = 0; i < points.size(); i++) stats.add(points.x(i), points.y(i));
+        return stats;
+    }
+
+    /** Estadísticas de coordenadas intercaladas (x0, y0, x1, y1, ...). */
+    public static PointStats ofCoordinates(int[] xy) {
+        PointStats stats = new PointStats();
+        for (int i = 0; i + 1 < xy.length; i += 2) stats.add(xy[i], xy[i + 1]);
+        return stats;
+    }
+
+    public void add(int x, int y) {
+        count++;
+        if (x < minX) minX = x;
+        if (x > maxX) maxX = x;
+        if (y < minY) minY = y;
+        if (y > maxY) maxY = y;
+        hash = extendHash(hash, x, y);
+    }
+
+    public int count() { return count; }
+    public long hash() { return hash; }
+
+    /** Caja envolvente, o {@code null} si no hay puntos. */
+    public BoundingBox bbox() {
+        return count == 0 ? null : new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /** Hash de la secuencia de {@code hash} seguida del punto (x, y). */
+    public static long extendHash(long hash, int x, int y) {
+        return hash * PRIME + mix(((long) x << 32) | (y & 0xffffffffL));
+    }
+
+    /** Hash de la concatenación de una secuencia con hash {@code head} y otra de {@code tailCount} puntos con hash {@code tail}. */
+    public static long concatHash(long head, long tail, int tailCount) {
+        long pow = 1, base = PRIME;
+        for (int e = tailCount; e > 0; e >>>= 1) {
+            if ((e & 1) != 0) pow *= base;
+            base *= base;
+        }
+        return head * pow + tail;
+    }
+
+    // Finalizador de MurmurHash3: cada bit de la coordenada afecta a todos los del resultado
+    private static long mix(long v) {
+        v ^= 0x9E3779B97F4A7C15L;
+        v = (v ^ (v >>> 33)) * 0xff51afd7ed558ccdL;
+        v = (v ^ (v >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return v ^ (v >>> 33);
+    }
+}
@@ -0,0 +1,62 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Posición de paginación por keyset: el último (autor, nombre) entregado en una página.
+ * Se expone a los clientes como un token opaco codificado en Base64 URL-safe.
+ */
+public record BlueprintCursor(String author, String name) implements Comparable<BlueprintCursor> {
+
+    private static final Comparator<BlueprintCursor> ORDER =
+            Comparator.comparing(BlueprintCursor::author).thenComparing(BlueprintCursor::name);
+
+    public BlueprintCursor {
+        Objects.requireNonNull(author, "author");
+        Objects.requireNonNull(name, "name");
+    }
+
+    /**
+     * Codifica el cursor como "longitudAutor:autor+nombre" en Base64 URL-safe,
+     * de modo que ningún carácter del autor o del nombre pueda romper el token.
+     */
+    public String encode() {
+        String raw = author.length() + ":" + author + name;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un token generado por {@link #encode()}.
+     * @throws IllegalArgumentException si el token no es válido
+     */
+    public static BlueprintCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        int sep = raw.indexOf(':');
+        if (sep <= 0) throw new IllegalArgumentException("Invalid cursor: " + token);
+        int authorLength;
+        try {
+            authorLength = Integer.parseInt(raw, 0, sep, 10);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        int nameStart = sep + 1 + authorLength;
+        if (authorLength < 0 || nameStart > raw.length()) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return new BlueprintCursor(raw.substring(sep + 1, nameStart), raw.substring(nameStart));
+    }
+
+    @Override
+    public int compareTo(BlueprintCursor other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.util.Objects;
+
+/**
+ * Clave compuesta (autor, nombre) de un plano.
+ * A diferencia de concatenar "autor:nombre", no colisiona cuando el autor contiene ':'
+ * y el hash se calcula una sola vez, por lo que es barata como clave de mapas y conjuntos.
+ */
+public final class BlueprintKey implements Comparable<BlueprintKey> {
+
+    private final String author;
+    private final String name;
+    private final int hash;
+
+    public BlueprintKey(String author, String name) {
+        this.author = Objects.requireNonNull(author, "author");
+        this.name = Objects.requireNonNull(name, "name");
+        this.hash = 31 * author.hashCode() + name.hashCode();
+    }
+
+    public String author() { return author; }
+    public String name() { return name; }
+
+    @Override
+    public int compareTo(BlueprintKey other) {
+        int c = author.compareTo(other.author);
+        return c != 0 ? c : name.compareTo(other.name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BlueprintKey key)) return false;
+        return hash == key.hash && author.equals(key.author) && name.equals(key.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return author + "/" + name;
+    }
+}
@@ -0,0 +1,28 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+import java.util.List;
+
+/**
+ * Una página de planos ordenada por (autor, nombre).
+ * @param blueprints planos de la página
+ * @param next cursor para pedir la siguiente página, o {@code null} si no hay más
+ */
+public record BlueprintPage(List<Blueprint> blueprints, BlueprintCursor next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Construye la página a partir de hasta {@code limit + 1} resultados ordenados:
+     * el elemento extra solo indica que existe una página siguiente.
+     */
+    static BlueprintPage of(List<Blueprint> fetched, int limit) {
+        if (fetched.size() <= limit) return new BlueprintPage(List.copyOf(fetched), null);
+        List<Blueprint> page = List.copyOf(fetched.subList(0, limit));
+        Blueprint last = page.get(limit - 1);
+        return new BlueprintPage(page, new BlueprintCursor(last.getAuthor(), last.getName()));
+    }
+}
@@ -1,21 +1,119 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface BlueprintPersistence {
 
     void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException;
 
+    /**
+     * Guarda varios planos de una vez. Falla sin guardar ninguno si alguno ya existe
+     * en backends sin transacción; en los transaccionales el llamador controla la transacción.
+     */
+    void saveAll(Collection<Blueprint> bps) throws BlueprintPersistenceException;
+
+    /** Retorna cuáles de las claves dadas ya corresponden a un plano guardado. */
+    Set<BlueprintKey> findExistingKeys(Collection<BlueprintKey> keys);
+
     Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException;
 
+    /** Versión actual del plano sin cargar sus puntos. */
+    BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException;
+
+    /**
+     * Puntos agregados desde el ordinal {@code since}, sin filtrar. Si la lista se reemplazó después
+     * de ese ordinal retorna la lista completa con {@code fullReload = true}.
+     */
+    PointDelta getPointsSince(String author, String name, int since) throws BlueprintNotFoundException;
+
     Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException;
 
+    /** Resumen de cada plano del autor, ordenado por nombre, sin cargar los puntos. */
+    List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException;
+
     Set<Blueprint> getAllBlueprints();
 
-    void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+    /**
+     * Retorna hasta {@code limit} planos ordenados por (autor, nombre), posteriores a {@code after}.
+     * @param after cursor de la última posición entregada, o {@code null} para la primera página
+     */
+    BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit);
+
+    /**
+     * Recorre todos los planos sin materializarlos juntos en memoria.
+     * El llamador debe cerrar el stream y, en backends transaccionales, consumirlo dentro de una transacción.
+     */
+    Stream<Blueprint> streamAllBlueprints();
+
+    /**
+     * Hasta {@code limit} planos cuya caja envolvente corta a {@code box} (bordes incluidos), ordenados por
+     * (autor, nombre) y sin cargar sus puntos. Los planos vacíos no tienen caja y nunca aparecen.
+     */
+    List<BlueprintSummary> findIntersecting(BoundingBox box, int limit);
+
+    /**
+     * Recalcula a partir de los puntos la cantidad, la caja envolvente y el hash guardados de hasta {@code limit}
+     * planos posteriores a {@code after} en orden (autor, nombre), y corrige los que no coinciden sin cambiar su versión.
+     * Sirve para llenar las columnas en bases creadas antes de que existieran o repararlas tras cambios externos.
+     */
+    StatsRecomputation recomputeStats(BlueprintCursor after, int limit);
+
+    default void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
+        addPoints(author, name, new int[] {x, y});
+    }
+
+    /**
+     * Agrega puntos al final del plano en una sola operación, sin reescribir los existentes. Sin puntos no
+     * cambia nada, tampoco la versión; solo comprueba que el plano exista.
+     * @param xy coordenadas intercaladas (x0, y0, x1, y1, ...); debe tener longitud par
+     */
+    void addPoints(String author, String name, int[] xy) throws BlueprintNotFoundException;
+
+    /**
+     * Reemplaza todos los puntos del plano en una sola operación. Como {@link Blueprint#replacePoints}, la versión
+     * aumenta una vez y queda libre un ordinal tras la lista anterior; la pirámide de detalle guardada se descarta.
+     * @param xy coordenadas intercaladas (x0, y0, x1, y1, ...); debe tener longitud par
+     */
+    void replacePoints(String author, String name, int[] xy) throws BlueprintNotFoundException;
+
+    /**
+     * Crea un plano con muchos puntos por la vía de carga masiva del backend, sin una entidad por punto.
+     * Por defecto equivale a {@link #saveBlueprint} de un plano empaquetado.
+     * @param xy coordenadas intercaladas (x0, y0, x1, y1, ...); debe tener longitud par
+     * @throws BlueprintPersistenceException si ya existe un plano con esa clave
+     */
+    default void ingestBlueprint(String author, String name, int[] xy) throws BlueprintPersistenceException {
+        if (xy.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        PackedPoints pts = new PackedPoints(xy.length / 2);
+        pts.appendAll(xy);
+        saveBlueprint(Blueprint.ofPacked(author, name, pts));
+    }
 
     void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException;
 
     void deleteBlueprint(String author, String name) throws BlueprintNotFoundException;
+
+    /**
+     * Nivel {@code level} de la pirámide de detalle guardada (o el último si tiene menos), leyendo solo ese nivel.
+     * Retorna {@code null} si no hay pirámide construida para esa versión del plano con ese filtro.
+     */
+    LodLevel getLodLevel(String author, String name, BlueprintVersion source, String filter, int level);
+
+    /**
+     * Nivel más detallado con a lo sumo {@code maxPoints} puntos (o el último si ninguno cabe), leyendo solo ese nivel.
+     * Retorna {@code null} si no hay pirámide construida para esa versión del plano con ese filtro.
+     */
+    LodLevel getLodLevelWithin(String author, String name, BlueprintVersion source, String filter, int maxPoints);
+
+    /**
+     * Reemplaza la pirámide guardada del plano por {@code levels}, del más al menos detallado, construida a partir
+     * de la versión {@code source}. No guarda nada si el plano ya no existe o cambió de versión.
+     */
+    void saveLodPyramid(String author, String name, BlueprintVersion source, String filter, List<PackedPoints> levels);
 }
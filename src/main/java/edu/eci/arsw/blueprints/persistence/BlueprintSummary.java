@@ -0,0 +1,16 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+/**
+ * Metadatos de un plano sin sus puntos: lo que devuelven las búsquedas y listados que no necesitan la geometría.
+ * @param bbox caja envolvente, o {@code null} si el plano no tiene puntos
+ */
+public record BlueprintSummary(String author, String name, int pointCount, BoundingBox bbox, long version) {
+
+    /** Para proyecciones JPQL: la caja llega como cuatro columnas que pueden ser null. */
+    public BlueprintSummary(String author, String name, int pointCount,
+                            Integer minX, Integer minY, Integer maxX, Integer maxY, long version) {
+        this(author, name, pointCount, BoundingBox.ofNullable(minX, minY, maxX, maxY), version);
+    }
+}
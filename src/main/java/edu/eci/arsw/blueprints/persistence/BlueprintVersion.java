@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.time.Instant;
+
+/**
+ * Versión de un plano sin sus puntos, para validar cachés de clientes (ETag / Last-Modified).
+ * @param updatedAt fecha de la última modificación; null en filas anteriores a la columna
+ */
+public record BlueprintVersion(long version, Instant updatedAt) {
+
+    /** {@code updatedAt} en milisegundos desde epoch, o 0 si no se conoce. */
+    public long updatedAtMillis() {
+        return updatedAt == null ? 0 : updatedAt.toEpochMilli();
+    }
+}
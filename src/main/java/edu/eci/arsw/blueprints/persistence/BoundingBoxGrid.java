@@ -0,0 +1,127 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Índice espacial en memoria: una jerarquía de cuadrículas uniformes. El nivel {@code l} tiene celdas de
+ * {@code 2^(CELL_SHIFT + l)} unidades, y cada caja se registra en el primer nivel donde cubre a lo sumo
+ * {@link #MAX_CELLS_PER_BOX} celdas. Así una caja de cualquier tamaño queda indexada en pocas celdas, y una
+ * consulta solo revisa las celdas que cubre en cada nivel ocupado. El último nivel tiene celdas de 2^32:
+ * ahí cabe cualquier caja.
+ * Las escrituras deben serializarse (el llamador sostiene su lock); las consultas no bloquean y ven
+ * un estado débilmente consistente.
+ */
+final class BoundingBoxGrid {
+
+    static final int CELL_SHIFT = 10;
+    // Celdas por caja como máximo; si cubre más, la caja sube a un nivel de celdas más grandes
+    static final int MAX_CELLS_PER_BOX = 16;
+    // En un nivel donde la consulta cubre más celdas que esto se recorren las cajas del nivel en lugar de las celdas
+    static final int MAX_CELLS_PER_QUERY = 4096;
+    static final int LEVELS = 32 - CELL_SHIFT + 1;
+
+    private record Entry(BoundingBox box, int level) { }
+
+    private static final class Level {
+        final int shift;
+        final ConcurrentMap<Long, Set<BlueprintKey>> cells = new ConcurrentHashMap<>();
+        final Set<BlueprintKey> keys = ConcurrentHashMap.newKeySet();
+
+        Level(int shift) {
+            this.shift = shift;
+        }
+
+        // En long: con shift = 32 toda coordenada int cae en la celda -1 o 0
+        int cellOf(int v) {
+            return (int) ((long) v >> shift);
+        }
+
+        long cellCount(BoundingBox b) {
+            return ((long) cellOf(b.maxX()) - cellOf(b.minX()) + 1) * ((long) cellOf(b.maxY()) - cellOf(b.minY()) + 1);
+        }
+    }
+
+    private final ConcurrentMap<BlueprintKey, Entry> boxes = new ConcurrentHashMap<>();
+    private final Level[] levels = new Level[LEVELS];
+
+    BoundingBoxGrid() {
+        for (int l = 0; l < LEVELS; l++) levels[l] = new Level(CELL_SHIFT + l);
+    }
+
+    private static long cell(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+
+    /** Registra o reemplaza la caja de {@code key}; con {@code box == null} solo la quita. */
+    void put(BlueprintKey key, BoundingBox box) {
+        remove(key);
+        if (box == null) return;
+        int l = 0;
+        while (levels[l].cellCount(box) > MAX_CELLS_PER_BOX) l++;
+        Level level = levels[l];
+        boxes.put(key, new Entry(box, l));
+        level.keys.add(key);
+        for (int cx = level.cellOf(box.minX()); cx <= level.cellOf(box.maxX()); cx++) {
+            for (int cy = level.cellOf(box.minY()); cy <= level.cellOf(box.maxY()); cy++) {
+                level.cells.computeIfAbsent(cell(cx, cy), c -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+        }
+    }
+
+    void remove(BlueprintKey key) {
+        Entry entry = boxes.remove(key);
+        if (entry == null) return;
+        BoundingBox box = entry.box();
+        Level level = levels[entry.level()];
+        level.keys.remove(key);
+        for (int cx = level.cellOf(box.minX()); cx <= level.cellOf(box.maxX()); cx++) {
+            for (int cy = level.cellOf(box.minY()); cy <= level.cellOf(box.maxY()); cy++) {
+                level.cells.computeIfPresent(cell(cx, cy), (c, keys) -> keys.remove(key) && keys.isEmpty() ? null : keys);
+            }
+        }
+    }
+
+    /** Claves cuya caja corta a {@code query}, sin orden. */
+    List<BlueprintKey> intersecting(BoundingBox query) {
+        List<BlueprintKey> result = new ArrayList<>();
+        // Cada caja está en un solo nivel, pero dentro de él puede aparecer en varias celdas: se deduplica
+        Set<BlueprintKey> seen = new HashSet<>();
+        for (Level level : levels) {
+            if (level.keys.isEmpty()) continue;
+            if (level.cellCount(query) > MAX_CELLS_PER_QUERY) {
+                for (BlueprintKey k : level.keys) collect(k, query, seen, result);
+                continue;
+            }
+            for (int cx = level.cellOf(query.minX()); cx <= level.cellOf(query.maxX()); cx++) {
+                for (int cy = level.cellOf(query.minY()); cy <= level.cellOf(query.maxY()); cy++) {
+                    Set<BlueprintKey> keys = level.cells.get(cell(cx, cy));
+                    if (keys == null) continue;
+                    for (BlueprintKey k : keys) collect(k, query, seen, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void collect(BlueprintKey k, BoundingBox query, Set<BlueprintKey> seen, List<BlueprintKey> result) {
+        Entry entry = boxes.get(k);
+        if (entry != null && entry.box().intersects(query) && seen.add(k)) result.add(k);
+    }
+
+    /** Nivel donde quedó registrada la caja de {@code key}, o -1 si no está. */
+    int levelOf(BlueprintKey key) {
+        Entry entry = boxes.get(key);
+        return entry == null ? -1 : entry.level();
+    }
+
+    int size() {
+        return boxes.size();
+    }
+}
@@ -1,17 +1,42 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 @Repository
 public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
-    private final Map<String, Blueprint> blueprints = new ConcurrentHashMap<>();
+    // Mapa de dos niveles autor -> (nombre -> plano): las lecturas no construyen claves
+    // y el primer nivel sirve a la vez como índice por autor (O(resultado))
+    private final ConcurrentMap<String, ConcurrentMap<String, Blueprint>> blueprints = new ConcurrentHashMap<>();
+    // Orden (autor, nombre) para paginar por keyset sin recorrer ni ordenar todo el mapa
+    private final NavigableSet<BlueprintKey> order = new ConcurrentSkipListSet<>();
+    // Pirámides de detalle por plano; se descartan al borrar o renombrar y se ignoran si el plano cambió
+    private final ConcurrentMap<BlueprintKey, StoredPyramid> pyramids = new ConcurrentHashMap<>();
+    // Cajas envolventes en una cuadrícula, para buscar por rectángulo sin recorrer todos los planos
+    private final BoundingBoxGrid grid = new BoundingBoxGrid();
+    // Las escrituras tocan varias estructuras; se serializan para que nunca diverjan. Las lecturas no bloquean.
+    // Perfil virtual-threads: un lock explícito no fija el hilo portador mientras se espera
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private record StoredPyramid(BlueprintVersion source, String filter, List<PackedPoints> levels) {
+
+        boolean matches(BlueprintVersion v, String f) {
+            return source.version() == v.version() && source.updatedAtMillis() == v.updatedAtMillis() && filter.equals(f);
+        }
+    }
 
     public InMemoryBlueprintPersistence() {
         // Sample data 1:1 style (author/name key)
@@ -21,73 +46,299 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
                 List.of(new Point(5,5), new Point(15,5), new Point(15,15)));
         Blueprint bp3 = new Blueprint("jane", "garden",
                 List.of(new Point(2,2), new Point(3,4), new Point(6,7)));
-        blueprints.put(keyOf(bp1), bp1);
-        blueprints.put(keyOf(bp2), bp2);
-        blueprints.put(keyOf(bp3), bp3);
+        for (Blueprint bp : List.of(bp1, bp2, bp3)) {
+            index(packed(bp));
+        }
+    }
+
+    private static BlueprintKey keyOf(Blueprint bp) { return new BlueprintKey(bp.getAuthor(), bp.getName()); }
+
+    /** Búsqueda sin asignaciones: dos accesos a mapas con las cadenas recibidas. */
+    private Blueprint find(String author, String name) {
+        ConcurrentMap<String, Blueprint> names = blueprints.get(author);
+        return names == null ? null : names.get(name);
+    }
+
+    /** Registra el plano en todas las estructuras. Debe invocarse con {@code writeLock} tomado. */
+    private void index(Blueprint bp) {
+        blueprints.computeIfAbsent(bp.getAuthor(), a -> new ConcurrentHashMap<>()).put(bp.getName(), bp);
+        order.add(keyOf(bp));
+        grid.put(keyOf(bp), bp.getBoundingBox());
     }
 
-    private String keyOf(Blueprint bp) { return bp.getAuthor() + ":" + bp.getName(); }
-    private String keyOf(String author, String name) { return author + ":" + name; }
+    /** Elimina el plano de todas las estructuras. Debe invocarse con {@code writeLock} tomado. */
+    private Blueprint unindex(String author, String name) {
+        ConcurrentMap<String, Blueprint> names = blueprints.get(author);
+        Blueprint removed = names == null ? null : names.remove(name);
+        if (removed == null) return null;
+        if (names.isEmpty()) blueprints.remove(author);
+        BlueprintKey key = new BlueprintKey(author, name);
+        order.remove(key);
+        grid.remove(key);
+        pyramids.remove(key);
+        return removed;
+    }
+
+    /** Copia empaquetada del plano: en memoria no se guardan entidades Point. */
+    private static Blueprint packed(Blueprint bp) {
+        return packed(bp, 0, 0);
+    }
+
+    private static Blueprint packed(Blueprint bp, int baseOrdinal, long version) {
+        PackedPoints pts = PackedPoints.copyOf(bp.getPointSequence());
+        return versioned(Blueprint.ofPacked(bp.getAuthor(), bp.getName(), pts, baseOrdinal), version);
+    }
+
+    /** Sin JPA la versión se lleva a mano: cada escritura guarda un plano nuevo con la siguiente. */
+    private static Blueprint versioned(Blueprint bp, long version) {
+        bp.setVersion(version);
+        bp.setUpdatedAt(Instant.now());
+        return bp;
+    }
 
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        String k = keyOf(bp);
-        if (blueprints.containsKey(k)) throw new BlueprintPersistenceException("Blueprint already exists: " + k);
-        blueprints.put(k, bp);
+        writeLock.lock();
+        try {
+            if (find(bp.getAuthor(), bp.getName()) != null) {
+                throw new BlueprintPersistenceException("Blueprint already exists: " + keyOf(bp));
+            }
+            index(packed(bp));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void saveAll(Collection<Blueprint> bps) throws BlueprintPersistenceException {
+        writeLock.lock();
+        try {
+            Set<BlueprintKey> seen = new HashSet<>();
+            for (Blueprint bp : bps) {
+                if (find(bp.getAuthor(), bp.getName()) != null || !seen.add(keyOf(bp))) {
+                    throw new BlueprintPersistenceException("Blueprint already exists: " + keyOf(bp));
+                }
+            }
+            for (Blueprint bp : bps) index(packed(bp));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<BlueprintKey> findExistingKeys(Collection<BlueprintKey> keys) {
+        Set<BlueprintKey> existing = new HashSet<>();
+        for (BlueprintKey k : keys) {
+            if (find(k.author(), k.name()) != null) existing.add(k);
+        }
+        return existing;
     }
 
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        Blueprint bp = blueprints.get(keyOf(author, name));
+        Blueprint bp = find(author, name);
         if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
         return bp;
     }
 
+    @Override
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        return new BlueprintVersion(bp.getVersion(), bp.getUpdatedAt());
+    }
+
+    @Override
+    public PointDelta getPointsSince(String author, String name, int since) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        return PointDelta.slice(bp.getVersion(), bp.getBaseOrdinal(), bp.getPointSequence(), since);
+    }
+
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        Set<Blueprint> set = blueprints.values().stream()
-                .filter(bp -> bp.getAuthor().equals(author))
-                .collect(Collectors.toSet());
+        ConcurrentMap<String, Blueprint> names = blueprints.get(author);
+        Set<Blueprint> set = names == null ? Set.of() : new HashSet<>(names.values());
         if (set.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
         return set;
     }
 
+    @Override
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        ConcurrentMap<String, Blueprint> names = blueprints.get(author);
+        List<BlueprintSummary> summaries = new ArrayList<>();
+        if (names != null) {
+            for (Blueprint bp : names.values()) {
+                summaries.add(new BlueprintSummary(author, bp.getName(), bp.storedPointCount(), bp.getBoundingBox(), bp.getVersion()));
+            }
+        }
+        if (summaries.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        summaries.sort(Comparator.comparing(BlueprintSummary::name));
+        return summaries;
+    }
+
     @Override
     public Set<Blueprint> getAllBlueprints() {
-        return new HashSet<>(blueprints.values());
+        Set<Blueprint> all = new HashSet<>();
+        blueprints.values().forEach(names -> all.addAll(names.values()));
+        return all;
     }
 
     @Override
-    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        Blueprint bp = getBlueprint(author, name);
-        bp.addPoint(new Point(x, y));
+    public BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        List<Blueprint> fetched = new ArrayList<>(limit + 1);
+        Set<BlueprintKey> keys = after == null ? order : order.tailSet(new BlueprintKey(after.author(), after.name()), false);
+        for (BlueprintKey k : keys) {
+            Blueprint bp = find(k.author(), k.name());
+            if (bp == null) continue; // eliminado de forma concurrente
+            fetched.add(bp);
+            if (fetched.size() > limit) break;
+        }
+        return BlueprintPage.of(fetched, limit);
     }
 
     @Override
-    public void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
-        String k = keyOf(author, name);
-        if (!blueprints.containsKey(k)) {
-            throw new BlueprintNotFoundException("Blueprint not found: " + k);
+    public Stream<Blueprint> streamAllBlueprints() {
+        // Iteración débilmente consistente: no copia el mapa ni bloquea escrituras concurrentes
+        return blueprints.values().stream().flatMap(names -> names.values().stream());
+    }
+
+    @Override
+    public List<BlueprintSummary> findIntersecting(BoundingBox box, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        List<BlueprintKey> keys = grid.intersecting(box);
+        Collections.sort(keys);
+        List<BlueprintSummary> found = new ArrayList<>(Math.min(limit, keys.size()));
+        for (BlueprintKey k : keys) {
+            Blueprint bp = find(k.author(), k.name());
+            // La cuadrícula se lee sin lock: se confirma con la caja del plano vigente
+            BoundingBox bbox = bp == null ? null : bp.getBoundingBox();
+            if (bbox == null || !bbox.intersects(box)) continue;
+            found.add(new BlueprintSummary(k.author(), k.name(), bp.storedPointCount(), bbox, bp.getVersion()));
+            if (found.size() == limit) break;
+        }
+        return found;
+    }
+
+    @Override
+    public StatsRecomputation recomputeStats(BlueprintCursor after, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        writeLock.lock();
+        try {
+            int scanned = 0, corrected = 0;
+            BlueprintKey last = null;
+            Set<BlueprintKey> keys = after == null ? order : order.tailSet(new BlueprintKey(after.author(), after.name()), false);
+            for (BlueprintKey k : keys) {
+                if (scanned == limit) break;
+                Blueprint bp = find(k.author(), k.name());
+                scanned++;
+                last = k;
+                PointStats stats = PointStats.of(bp.getPointSequence());
+                if (stats.count() == bp.storedPointCount() && stats.hash() == bp.getContentHash()
+                        && Objects.equals(stats.bbox(), bp.getBoundingBox())) {
+                    continue;
+                }
+                // ofPacked recalcula las estadísticas; la versión y la fecha se conservan
+                Blueprint fixed = Blueprint.ofPacked(k.author(), k.name(), PackedPoints.copyOf(bp.getPointSequence()), bp.getBaseOrdinal());
+                fixed.setVersion(bp.getVersion());
+                fixed.setUpdatedAt(bp.getUpdatedAt());
+                index(fixed);
+                corrected++;
+            }
+            BlueprintCursor next = scanned < limit || last == null ? null : new BlueprintCursor(last.author(), last.name());
+            return new StatsRecomputation(scanned, corrected, next);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void addPoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        writeLock.lock();
+        try {
+            Blueprint bp = getBlueprint(author, name);
+            if (xy.length == 0) return;
+            // Instantánea nueva sobre el mismo arreglo (crece geométricamente): los lectores de la anterior siguen
+            // viendo solo sus puntos, nunca un arreglo a medio crecer, y agregar k puntos cuesta O(k) amortizado
+            index(versioned(bp.withAppended(xy), bp.getVersion() + 1));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void replacePoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        PackedPoints pts = new PackedPoints(xy.length / 2);
+        pts.appendAll(xy);
+        writeLock.lock();
+        try {
+            Blueprint existing = getBlueprint(author, name);
+            index(versioned(Blueprint.ofPacked(author, name, pts, existing.getNextOrdinal() + 1), existing.getVersion() + 1));
+        } finally {
+            writeLock.unlock();
         }
-        
-        if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(name)) {
-            String newKey = keyOf(blueprint);
-            if (blueprints.containsKey(newKey)) {
-                throw new BlueprintPersistenceException("Blueprint with new author/name already exists: " + newKey);
+    }
+
+    @Override
+    public void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
+        writeLock.lock();
+        try {
+            Blueprint existing = find(author, name);
+            if (existing == null) {
+                throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
             }
-            blueprints.remove(k);
-            blueprints.put(newKey, blueprint);
-        } else {
-            blueprints.put(k, blueprint);
+
+            if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(name)) {
+                if (find(blueprint.getAuthor(), blueprint.getName()) != null) {
+                    throw new BlueprintPersistenceException("Blueprint with new author/name already exists: " + keyOf(blueprint));
+                }
+                unindex(author, name);
+            }
+            // Reemplazo completo: igual que Blueprint.replacePoints, deja libre un ordinal tras la lista anterior
+            index(packed(blueprint, existing.getNextOrdinal() + 1, existing.getVersion() + 1));
+        } finally {
+            writeLock.unlock();
         }
     }
 
     @Override
     public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
-        String k = keyOf(author, name);
-        Blueprint removed = blueprints.remove(k);
-        if (removed == null) {
-            throw new BlueprintNotFoundException("Blueprint not found: " + k);
+        writeLock.lock();
+        try {
+            if (unindex(author, name) == null) {
+                throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private StoredPyramid pyramid(String author, String name, BlueprintVersion source, String filter) {
+        StoredPyramid stored = pyramids.get(new BlueprintKey(author, name));
+        return stored != null && stored.matches(source, filter) ? stored : null;
+    }
+
+    @Override
+    public LodLevel getLodLevel(String author, String name, BlueprintVersion source, String filter, int level) {
+        StoredPyramid stored = pyramid(author, name, source, filter);
+        return stored == null ? null : LodLevel.atLevel(stored.levels(), level);
+    }
+
+    @Override
+    public LodLevel getLodLevelWithin(String author, String name, BlueprintVersion source, String filter, int maxPoints) {
+        StoredPyramid stored = pyramid(author, name, source, filter);
+        return stored == null ? null : LodLevel.within(stored.levels(), maxPoints);
+    }
+
+    @Override
+    public void saveLodPyramid(String author, String name, BlueprintVersion source, String filter, List<PackedPoints> levels) {
+        writeLock.lock();
+        try {
+            // Bajo el lock de escritura: el plano no puede cambiar ni borrarse entre la comprobación y el guardado
+            Blueprint bp = find(author, name);
+            if (bp == null || !new BlueprintVersion(bp.getVersion(), bp.getUpdatedAt()).equals(source)) return;
+            pyramids.put(new BlueprintKey(author, name), new StoredPyramid(source, filter, List.copyOf(levels)));
+        } finally {
+            writeLock.unlock();
         }
     }
 }
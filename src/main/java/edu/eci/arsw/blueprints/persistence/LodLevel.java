@@ -0,0 +1,27 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+
+import java.util.List;
+
+/**
+ * Un nivel de la pirámide de detalle de un plano.
+ * @param level  0 es el más detallado
+ * @param levels cantidad de niveles de la pirámide; el último es {@code levels - 1}
+ */
+public record LodLevel(int level, int levels, PackedPoints points) {
+
+    /** Nivel {@code level} o, si la pirámide tiene menos, el último. */
+    public static LodLevel atLevel(List<PackedPoints> pyramid, int level) {
+        int l = Math.min(level, pyramid.size() - 1);
+        return new LodLevel(l, pyramid.size(), pyramid.get(l));
+    }
+
+    /** Nivel más detallado con a lo sumo {@code maxPoints} puntos o, si ninguno cabe, el último. */
+    public static LodLevel within(List<PackedPoints> pyramid, int maxPoints) {
+        for (int l = 0; l < pyramid.size(); l++) {
+            if (pyramid.get(l).size() <= maxPoints) return new LodLevel(l, pyramid.size(), pyramid.get(l));
+        }
+        return atLevel(pyramid, pyramid.size() - 1);
+    }
+}
@@ -0,0 +1,274 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedBlueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistencia con los puntos empaquetados en una sola columna binaria (tabla {@code blueprints_packed}).
+ * Guardar, leer o reemplazar un plano es una única fila sin importar cuántos puntos tenga.
+ * Se activa con el perfil {@code packed-points}; ver {@link PackedPointsMigration} para traer los datos existentes.
+ */
+@Repository
+@Primary
+@Profile("packed-points")
+public class PackedBlueprintPersistence implements BlueprintPersistence {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final Logger logger = Logger.getLogger(PackedBlueprintPersistence.class.getName());
+
+    static final int EXPORT_BATCH_SIZE = PostgresBlueprintPersistence.EXPORT_BATCH_SIZE;
+
+    private PackedBlueprint find(String author, String name) {
+        List<PackedBlueprint> rows = entityManager.createQuery(
+                "SELECT b FROM PackedBlueprint b WHERE b.author = :author AND b.name = :name", PackedBlueprint.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private PackedBlueprint require(String author, String name) throws BlueprintNotFoundException {
+        PackedBlueprint row = find(author, name);
+        if (row == null) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        return row;
+    }
+
+    @Override
+    @Transactional
+    public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
+        if (find(bp.getAuthor(), bp.getName()) != null) {
+            throw new BlueprintPersistenceException("Blueprint already exists: " + bp.getAuthor() + "/" + bp.getName());
+        }
+        entityManager.persist(new PackedBlueprint(bp.getAuthor(), bp.getName(), bp.getPointSequence()));
+        logger.info("Blueprint saved: " + bp.getAuthor() + "/" + bp.getName());
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(Collection<Blueprint> bps) {
+        for (Blueprint bp : bps) {
+            entityManager.persist(new PackedBlueprint(bp.getAuthor(), bp.getName(), bp.getPointSequence()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<BlueprintKey> findExistingKeys(Collection<BlueprintKey> keys) {
+        return PostgresBlueprintPersistence.existingKeys(entityManager, "PackedBlueprint", keys);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
+        return require(author, name).toBlueprint();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        List<BlueprintVersion> rows = entityManager.createQuery(
+                "SELECT new edu.eci.arsw.blueprints.persistence.BlueprintVersion(b.version, b.updatedAt) " +
+                "FROM PackedBlueprint b WHERE b.author = :author AND b.name = :name", BlueprintVersion.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        if (rows.isEmpty()) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        return rows.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PointDelta getPointsSince(String author, String name, int since) throws BlueprintNotFoundException {
+        PackedBlueprint row = require(author, name);
+        return PointDelta.slice(row.getVersion(), row.getBaseOrdinal(), row.getPoints(), since);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
+        List<PackedBlueprint> rows = entityManager.createQuery(
+                "SELECT b FROM PackedBlueprint b WHERE b.author = :author", PackedBlueprint.class)
+                .setParameter("author", author)
+                .getResultList();
+        if (rows.isEmpty()) throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+        return rows.stream().map(PackedBlueprint::toBlueprint).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return PostgresBlueprintPersistence.summariesByAuthor(entityManager, "PackedBlueprint", author);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<Blueprint> getAllBlueprints() {
+        return entityManager.createQuery("SELECT b FROM PackedBlueprint b", PackedBlueprint.class)
+                .getResultStream()
+                .map(PackedBlueprint::toBlueprint)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        TypedQuery<PackedBlueprint> query;
+        if (after == null) {
+            query = entityManager.createQuery(
+                "SELECT b FROM PackedBlueprint b ORDER BY b.author, b.name", PackedBlueprint.class);
+        } else {
+            query = entityManager.createQuery(
+                "SELECT b FROM PackedBlueprint b WHERE b.author > :author OR (b.author = :author AND b.name > :name) " +
+                "ORDER BY b.author, b.name", PackedBlueprint.class);
+            query.setParameter("author", after.author());
+            query.setParameter("name", after.name());
+        }
+        query.setMaxResults(limit + 1);
+        return BlueprintPage.of(query.getResultList().stream().map(PackedBlueprint::toBlueprint).toList(), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Blueprint> streamAllBlueprints() {
+        Session session = entityManager.unwrap(Session.class);
+        ScrollableResults<PackedBlueprint> results = session
+                .createSelectionQuery("SELECT b FROM PackedBlueprint b ORDER BY b.author, b.name", PackedBlueprint.class)
+                .setReadOnly(true)
+                .setFetchSize(EXPORT_BATCH_SIZE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+        Spliterator<Blueprint> rows = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private long read;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Blueprint> action) {
+                if (!results.next()) return false;
+                action.accept(results.get().toBlueprint());
+                if (++read % EXPORT_BATCH_SIZE == 0) session.clear();
+                return true;
+            }
+        };
+        return StreamSupport.stream(rows, false).onClose(results::close);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlueprintSummary> findIntersecting(BoundingBox box, int limit) {
+        return PostgresBlueprintPersistence.intersecting(entityManager, "PackedBlueprint", box, limit);
+    }
+
+    @Override
+    @Transactional
+    public StatsRecomputation recomputeStats(BlueprintCursor after, int limit) {
+        List<PackedBlueprint> rows = PostgresBlueprintPersistence.keysetQuery(entityManager,
+                "SELECT b FROM PackedBlueprint b", PackedBlueprint.class, after, limit).getResultList();
+        int corrected = 0;
+        for (PackedBlueprint row : rows) {
+            PointStats stats = PointStats.of(row.getPoints());
+            if (PostgresBlueprintPersistence.statsMatch(stats, row.getPointCount(), row.getContentHash(), row.getBoundingBox())) {
+                continue;
+            }
+            PostgresBlueprintPersistence.writeStats(entityManager, "PackedBlueprint", row.getId(), stats);
+            corrected++;
+        }
+        // Las filas cargadas quedaron desactualizadas respecto del UPDATE directo: no deben volver a escribirse
+        entityManager.clear();
+        BlueprintCursor next = rows.size() < limit ? null
+                : new BlueprintCursor(rows.get(rows.size() - 1).getAuthor(), rows.get(rows.size() - 1).getName());
+        return new StatsRecomputation(rows.size(), corrected, next);
+    }
+
+    @Override
+    @Transactional
+    public void addPoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        PackedBlueprint row = require(author, name);
+        if (xy.length > 0) row.appendPoints(xy);
+    }
+
+    @Override
+    @Transactional
+    public void replacePoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        PackedPoints pts = new PackedPoints(xy.length / 2);
+        pts.appendAll(xy);
+        require(author, name).replacePoints(pts);
+        PostgresBlueprintPersistence.deleteLods(entityManager, author, name);
+    }
+
+    @Override
+    @Transactional
+    public void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
+        PackedBlueprint existing = require(author, name);
+        if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(name)) {
+            if (find(blueprint.getAuthor(), blueprint.getName()) != null) {
+                throw new BlueprintPersistenceException("Blueprint with new author/name already exists: " + blueprint.getAuthor() + "/" + blueprint.getName());
+            }
+            existing.setAuthor(blueprint.getAuthor());
+            existing.setName(blueprint.getName());
+        }
+        // Reemplazar los puntos es sobrescribir una columna: no hay DELETE/INSERT por punto
+        existing.replacePoints(blueprint.getPointSequence());
+        PostgresBlueprintPersistence.deleteLods(entityManager, author, name);
+    }
+
+    @Override
+    @Transactional
+    public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+        // Borrado directo por clave: no se lee la fila ni su columna de puntos
+        int deleted = entityManager.createQuery("DELETE FROM PackedBlueprint b WHERE b.author = :author AND b.name = :name")
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .executeUpdate();
+        if (deleted == 0) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        PostgresBlueprintPersistence.deleteLods(entityManager, author, name);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LodLevel getLodLevel(String author, String name, BlueprintVersion source, String filter, int level) {
+        return PostgresBlueprintPersistence.lodLevel(entityManager, author, name, source, filter,
+                "l.level <= :bound ORDER BY l.level DESC", level);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LodLevel getLodLevelWithin(String author, String name, BlueprintVersion source, String filter, int maxPoints) {
+        return PostgresBlueprintPersistence.lodLevelWithin(entityManager, author, name, source, filter, maxPoints);
+    }
+
+    @Override
+    @Transactional
+    public void saveLodPyramid(String author, String name, BlueprintVersion source, String filter, List<PackedPoints> levels) {
+        PostgresBlueprintPersistence.saveLodPyramid(entityManager, "PackedBlueprint", author, name, source, filter, levels);
+    }
+}
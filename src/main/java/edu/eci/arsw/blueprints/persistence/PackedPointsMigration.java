@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedBlueprint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Copia los planos del esquema original (blueprints + una fila por punto) a {@code blueprints_packed}.
+ * Recorre por keyset en lotes, una transacción por lote, y omite los que ya existen, así que puede
+ * re-ejecutarse sin duplicar. Las tablas originales no se modifican; se borran a mano tras verificar.
+ * Se activa con {@code blueprints.packed-points.migrate=true} junto al perfil {@code packed-points}.
+ */
+@Component
+@Profile("packed-points")
+@ConditionalOnProperty(name = "blueprints.packed-points.migrate", havingValue = "true")
+public class PackedPointsMigration implements ApplicationRunner {
+
+    private static final Logger logger = Logger.getLogger(PackedPointsMigration.class.getName());
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactions;
+    private final int batchSize;
+
+    public PackedPointsMigration(TransactionTemplate transactions,
+                                 @Value("${blueprints.packed-points.migrate-batch-size:200}") int batchSize) {
+        this.transactions = transactions;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Migrating blueprints to packed storage, batch size " + batchSize);
+        long copied = 0, skipped = 0;
+        BlueprintCursor cursor = null;
+        do {
+            BlueprintCursor after = cursor;
+            int[] counts = new int[2];
+            cursor = transactions.execute(status -> migrateBatch(after, counts));
+            copied += counts[0];
+            skipped += counts[1];
+        } while (cursor != null);
+        logger.info("Packed migration finished: " + copied + " copied, " + skipped + " already present");
+    }
+
+    /** Copia un lote y devuelve el cursor del siguiente, o null si era el último. */
+    BlueprintCursor migrateBatch(BlueprintCursor after, int[] counts) {
+        List<Blueprint> legacy = (after == null
+                ? entityManager.createQuery("SELECT b FROM Blueprint b ORDER BY b.author, b.name", Blueprint.class)
+                : entityManager.createQuery(
+                        "SELECT b FROM Blueprint b WHERE b.author > :author OR (b.author = :author AND b.name > :name) " +
+                        "ORDER BY b.author, b.name", Blueprint.class)
+                    .setParameter("author", after.author())
+                    .setParameter("name", after.name()))
+                .setMaxResults(batchSize)
+                .getResultList();
+        PostgresBlueprintPersistence.fetchPoints(entityManager, legacy);
+        for (Blueprint bp : legacy) {
+            Long present = entityManager.createQuery(
+                    "SELECT COUNT(p) FROM PackedBlueprint p WHERE p.author = :author AND p.name = :name", Long.class)
+                    .setParameter("author", bp.getAuthor())
+                    .setParameter("name", bp.getName())
+                    .getSingleResult();
+            if (present > 0) {
+                counts[1]++;
+                continue;
+            }
+            entityManager.persist(new PackedBlueprint(bp.getAuthor(), bp.getName(), bp.getPointSequence()));
+            counts[0]++;
+        }
+        entityManager.flush();
+        entityManager.clear();
+        if (legacy.size() < batchSize) return null;
+        Blueprint last = legacy.get(legacy.size() - 1);
+        return new BlueprintCursor(last.getAuthor(), last.getName());
+    }
+}
@@ -0,0 +1,47 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Filas de la tabla {@code point} en el formato binario de COPY de PostgreSQL: firma y cabecera, una tupla por
+ * punto (cantidad de campos y, por campo, su longitud y su valor en orden de red) y la marca de fin. El servidor
+ * no interpreta texto: cada valor llega ya en su representación interna.
+ */
+final class PointCopyWriter {
+
+    static final String COPY_SQL = "COPY point (id, blueprint_id, ordinal, x, y) FROM STDIN (FORMAT BINARY)";
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+    private static final short FIELDS = 5;
+
+    private final DataOutputStream out;
+
+    PointCopyWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(out);
+        this.out.write(SIGNATURE);
+        this.out.writeInt(0); // flags: sin OIDs
+        this.out.writeInt(0); // sin extensión de cabecera
+    }
+
+    void write(long id, long blueprintId, int ordinal, int x, int y) throws IOException {
+        out.writeShort(FIELDS);
+        out.writeInt(Long.BYTES);
+        out.writeLong(id);
+        out.writeInt(Long.BYTES);
+        out.writeLong(blueprintId);
+        out.writeInt(Integer.BYTES);
+        out.writeInt(ordinal);
+        out.writeInt(Integer.BYTES);
+        out.writeInt(x);
+        out.writeInt(Integer.BYTES);
+        out.writeInt(y);
+    }
+
+    /** Escribe la marca de fin y cierra el flujo; sobre {@code PGCopyOutputStream} eso termina el COPY. */
+    void finish() throws IOException {
+        out.writeShort(-1);
+        out.close();
+    }
+}
@@ -0,0 +1,23 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+
+/**
+ * Puntos de un plano a partir de un ordinal conocido por el cliente.
+ * @param fullReload true si la lista se reemplazó después de {@code since} (o since no es válido):
+ *                   {@code points} trae entonces la lista completa desde {@code baseOrdinal}
+ * @param nextOrdinal valor a enviar como {@code since} en la próxima sincronización
+ */
+public record PointDelta(long version, int baseOrdinal, int nextOrdinal, boolean fullReload, PackedPoints points) {
+
+    /** Recorta {@code all} (la lista completa, que empieza en {@code baseOrdinal}) a lo posterior a {@code since}. */
+    static PointDelta slice(long version, int baseOrdinal, PointSequence all, int since) {
+        int next = baseOrdinal + all.size();
+        boolean fullReload = since < baseOrdinal || since > next;
+        int from = fullReload ? 0 : since - baseOrdinal;
+        PackedPoints points = new PackedPoints(all.size() - from);
+        for (int i = from; i < all.size(); i++) points.append(all.x(i), all.y(i));
+        return new PointDelta(version, baseOrdinal, next, fullReload, points);
+    }
+}
@@ -1,19 +1,47 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintLod;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
 import jakarta.persistence.*;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
 @Primary
+@Profile("!packed-points")
 public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
     @PersistenceContext
@@ -21,6 +49,17 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
     private static final Logger logger = Logger.getLogger(PostgresBlueprintPersistence.class.getName());
 
+    // Planos por ventana de exportación (dos consultas cada una); el contexto de persistencia se vacía entre ventanas
+    static final int EXPORT_BATCH_SIZE = 500;
+    // Puntos agregados entre cada vaciado del contexto de persistencia en addPoints
+    static final int APPEND_FLUSH_SIZE = 1000;
+    // Filas por sentencia INSERT al reemplazar puntos: 5 parámetros por fila, lejos del límite de 65535 de PostgreSQL
+    static final int INSERT_ROWS = 1000;
+    // allocationSize de point_seq: cada valor de la secuencia es el último de un bloque de IDs de Point
+    static final int POINT_ID_BLOCK = 50;
+    // Sugerencia JPA que usa un grafo como plan de carga: solo sus atributos se traen además de las columnas
+    private static final String FETCH_GRAPH = "jakarta.persistence.fetchgraph";
+
     @Override
     @Transactional
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
@@ -32,12 +71,49 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
         }
     }
 
+    @Override
+    @Transactional
+    public void saveAll(Collection<Blueprint> bps) {
+        for (Blueprint bp : bps) entityManager.persist(bp);
+        // Los INSERT salen en lotes JDBC; se vacía el contexto para que no crezca entre lotes
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Set<BlueprintKey> findExistingKeys(Collection<BlueprintKey> keys) {
+        return existingKeys(entityManager, "Blueprint", keys);
+    }
+
+    /** Consulta por autores y nombres (superconjunto) y filtra los pares exactos en memoria. */
+    static Set<BlueprintKey> existingKeys(EntityManager em, String entity, Collection<BlueprintKey> keys) {
+        if (keys.isEmpty()) return Set.of();
+        Set<String> authors = new HashSet<>(), names = new HashSet<>();
+        for (BlueprintKey k : keys) {
+            authors.add(k.author());
+            names.add(k.name());
+        }
+        Set<BlueprintKey> wanted = new HashSet<>(keys);
+        Set<BlueprintKey> existing = new HashSet<>();
+        em.createQuery("SELECT b.author, b.name FROM " + entity + " b WHERE b.author IN :authors AND b.name IN :names",
+                        Object[].class)
+                .setParameter("authors", authors)
+                .setParameter("names", names)
+                .getResultList()
+                .forEach(row -> {
+                    BlueprintKey k = new BlueprintKey((String) row[0], (String) row[1]);
+                    if (wanted.contains(k)) existing.add(k);
+                });
+        return existing;
+    }
+
     @Transactional
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
         try {
-            TypedQuery<Blueprint> query = entityManager.createQuery(
-                "SELECT b FROM Blueprint b WHERE b.author = :author AND b.name = :name", Blueprint.class);
+            TypedQuery<Blueprint> query = withPoints(entityManager, entityManager.createQuery(
+                "SELECT b FROM Blueprint b WHERE b.author = :author AND b.name = :name", Blueprint.class));
             query.setParameter("author", author);
             query.setParameter("name", name);
             
@@ -53,11 +129,51 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintVersion getVersion(String author, String name) throws BlueprintNotFoundException {
+        // Solo dos columnas de la fila del plano: no toca la tabla de puntos
+        List<BlueprintVersion> rows = entityManager.createQuery(
+                "SELECT new edu.eci.arsw.blueprints.persistence.BlueprintVersion(b.version, b.updatedAt) " +
+                "FROM Blueprint b WHERE b.author = :author AND b.name = :name", BlueprintVersion.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        if (rows.isEmpty()) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        return rows.get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PointDelta getPointsSince(String author, String name, int since) throws BlueprintNotFoundException {
+        List<Object[]> headers = entityManager.createQuery(
+                "SELECT b.id, b.version, b.baseOrdinal, b.nextOrdinal FROM Blueprint b " +
+                "WHERE b.author = :author AND b.name = :name", Object[].class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        if (headers.isEmpty()) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        Object[] header = headers.get(0);
+        int base = (Integer) header[2], next = (Integer) header[3];
+        boolean fullReload = since < base || since > next;
+        // Solo las coordenadas de los puntos pedidos; el límite superior ignora agregados confirmados entre consultas
+        PackedPoints points = new PackedPoints();
+        entityManager.createQuery(
+                "SELECT p.x, p.y FROM Point p WHERE p.blueprint.id = :id AND p.ordinal >= :from AND p.ordinal < :next " +
+                "ORDER BY p.ordinal", Object[].class)
+                .setParameter("id", header[0])
+                .setParameter("from", fullReload ? base : since)
+                .setParameter("next", next)
+                .getResultStream()
+                .forEach(row -> points.append((Integer) row[0], (Integer) row[1]));
+        return new PointDelta((Long) header[1], base, next, fullReload, points);
+    }
+
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         try {
-            TypedQuery<Blueprint> query = entityManager.createQuery(
-                "SELECT b FROM Blueprint b WHERE b.author = :author", Blueprint.class);
+            TypedQuery<Blueprint> query = withPoints(entityManager, entityManager.createQuery(
+                "SELECT b FROM Blueprint b WHERE b.author = :author", Blueprint.class));
             query.setParameter("author", author);
             
             List<Blueprint> blueprints = query.getResultList();
@@ -70,11 +186,30 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlueprintSummary> getSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return summariesByAuthor(entityManager, "Blueprint", author);
+    }
+
+    /** Proyección de una sola consulta sobre las columnas del plano: no toca la tabla de puntos ni la columna binaria. */
+    static List<BlueprintSummary> summariesByAuthor(EntityManager em, String entity, String author)
+            throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = em.createQuery(
+                "SELECT new edu.eci.arsw.blueprints.persistence.BlueprintSummary(b.author, b.name, b.pointCount, " +
+                "b.minX, b.minY, b.maxX, b.maxY, b.version) FROM " + entity + " b WHERE b.author = :author ORDER BY b.name",
+                BlueprintSummary.class)
+                .setParameter("author", author)
+                .getResultList();
+        if (summaries.isEmpty()) throw new BlueprintNotFoundException("No blueprints found for author: " + author);
+        return summaries;
+    }
+
     @Override
     public Set<Blueprint> getAllBlueprints() {
         try {
-            TypedQuery<Blueprint> query = entityManager.createQuery(
-                "SELECT b FROM Blueprint b", Blueprint.class);
+            TypedQuery<Blueprint> query = withPoints(entityManager, entityManager.createQuery(
+                "SELECT b FROM Blueprint b", Blueprint.class));
             List<Blueprint> blueprints = query.getResultList();
             return new HashSet<>(blueprints);
         } catch (Exception e) {
@@ -83,17 +218,236 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        TypedQuery<Blueprint> query;
+        if (after == null) {
+            query = entityManager.createQuery(
+                "SELECT b FROM Blueprint b ORDER BY b.author, b.name", Blueprint.class);
+        } else {
+            // Keyset: usa el índice (author, name) en lugar de OFFSET, el costo no crece con la página
+            query = entityManager.createQuery(
+                "SELECT b FROM Blueprint b WHERE b.author > :author OR (b.author = :author AND b.name > :name) " +
+                "ORDER BY b.author, b.name", Blueprint.class);
+            query.setParameter("author", after.author());
+            query.setParameter("name", after.name());
+        }
+        query.setMaxResults(limit + 1);
+        BlueprintPage page = BlueprintPage.of(query.getResultList(), limit);
+        fetchPoints(entityManager, page.blueprints());
+        return page;
+    }
+
+    /** Plan completo: la consulta trae los puntos de cada plano en la misma sentencia. */
+    static <T> TypedQuery<T> withPoints(EntityManager em, TypedQuery<T> query) {
+        return query.setHint(FETCH_GRAPH, em.getEntityGraph(Blueprint.POINTS_GRAPH));
+    }
+
+    /**
+     * Plan de ventana: inicializa los puntos de planos ya leídos con una sola consulta más. Un fetch join junto
+     * con setMaxResults obligaría a Hibernate a paginar en memoria, así que la página se lee sin puntos.
+     */
+    static void fetchPoints(EntityManager em, List<Blueprint> page) {
+        if (page.isEmpty()) return;
+        withPoints(em, em.createQuery("SELECT b FROM Blueprint b WHERE b IN :page", Blueprint.class))
+                .setParameter("page", page)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Blueprint> streamAllBlueprints() {
+        Spliterator<Blueprint> rows = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<Blueprint> window = Collections.emptyIterator();
+            private BlueprintPage page;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Blueprint> action) {
+                if (!window.hasNext()) {
+                    if (page != null && !page.hasNext()) return false;
+                    // Se limpia antes de leer la ventana siguiente para que el heap no crezca con el número de filas
+                    if (page != null) entityManager.clear();
+                    page = getBlueprintsPage(page == null ? null : page.next(), EXPORT_BATCH_SIZE);
+                    window = page.blueprints().iterator();
+                    if (!window.hasNext()) return false;
+                }
+                action.accept(window.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(rows, false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BlueprintSummary> findIntersecting(BoundingBox box, int limit) {
+        return intersecting(entityManager, "Blueprint", box, limit);
+    }
+
+    /**
+     * Proyección de los planos de {@code entity} cuya caja corta a {@code box}. La condición sobre cada eje
+     * usa los índices (min, max) de la tabla; las filas sin caja (planos vacíos) no cumplen ninguna comparación.
+     */
+    static List<BlueprintSummary> intersecting(EntityManager em, String entity, BoundingBox box, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        return em.createQuery(
+                "SELECT new edu.eci.arsw.blueprints.persistence.BlueprintSummary(b.author, b.name, b.pointCount, " +
+                "b.minX, b.minY, b.maxX, b.maxY, b.version) FROM " + entity + " b " +
+                "WHERE b.minX <= :maxX AND b.maxX >= :minX AND b.minY <= :maxY AND b.maxY >= :minY " +
+                "ORDER BY b.author, b.name", BlueprintSummary.class)
+                .setParameter("minX", box.minX())
+                .setParameter("minY", box.minY())
+                .setParameter("maxX", box.maxX())
+                .setParameter("maxY", box.maxY())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     @Override
     @Transactional
-    public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        try {
-            Blueprint bp = getBlueprint(author, name);
-            Point point = new Point(x, y);
-            bp.addPoint(point);
-            entityManager.merge(bp);
-        } catch (Exception e) {
-            throw new BlueprintNotFoundException("Error adding point: " + e.getMessage());
+    public StatsRecomputation recomputeStats(BlueprintCursor after, int limit) {
+        List<Object[]> rows = keysetQuery(entityManager,
+                "SELECT b.id, b.author, b.name, b.pointCount, b.contentHash, b.minX, b.minY, b.maxX, b.maxY FROM Blueprint b",
+                Object[].class, after, limit).getResultList();
+        Map<Long, PointStats> computed = new HashMap<>();
+        for (Object[] r : rows) computed.put((Long) r[0], new PointStats());
+        if (!computed.isEmpty()) {
+            // Una sola lectura de los puntos del lote, solo las coordenadas y en orden
+            entityManager.createQuery(
+                    "SELECT p.blueprint.id, p.x, p.y FROM Point p WHERE p.blueprint.id IN :ids " +
+                    "ORDER BY p.blueprint.id, p.ordinal", Object[].class)
+                    .setParameter("ids", computed.keySet())
+                    .getResultStream()
+                    .forEach(p -> computed.get((Long) p[0]).add((Integer) p[1], (Integer) p[2]));
         }
+        int corrected = 0;
+        for (Object[] r : rows) {
+            PointStats stats = computed.get((Long) r[0]);
+            if (statsMatch(stats, (Integer) r[3], (Long) r[4],
+                    BoundingBox.ofNullable((Integer) r[5], (Integer) r[6], (Integer) r[7], (Integer) r[8]))) {
+                continue;
+            }
+            writeStats(entityManager, "Blueprint", (Long) r[0], stats);
+            corrected++;
+        }
+        BlueprintCursor next = rows.size() < limit ? null
+                : new BlueprintCursor((String) rows.get(rows.size() - 1)[1], (String) rows.get(rows.size() - 1)[2]);
+        return new StatsRecomputation(rows.size(), corrected, next);
+    }
+
+    /** {@code select} restringido a los planos posteriores a {@code after} en orden (autor, nombre), hasta {@code limit}. */
+    static <T> TypedQuery<T> keysetQuery(EntityManager em, String select, Class<T> type, BlueprintCursor after, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive: " + limit);
+        TypedQuery<T> query;
+        if (after == null) {
+            query = em.createQuery(select + " ORDER BY b.author, b.name", type);
+        } else {
+            query = em.createQuery(select + " WHERE b.author > :author OR (b.author = :author AND b.name > :name) " +
+                    "ORDER BY b.author, b.name", type);
+            query.setParameter("author", after.author());
+            query.setParameter("name", after.name());
+        }
+        return query.setMaxResults(limit);
+    }
+
+    static boolean statsMatch(PointStats stats, int pointCount, long contentHash, BoundingBox bbox) {
+        return stats.count() == pointCount && stats.hash() == contentHash && Objects.equals(stats.bbox(), bbox);
+    }
+
+    /** Reescribe las columnas de estadísticas con un UPDATE directo: no incrementa la versión ni la fecha. */
+    static void writeStats(EntityManager em, String entity, Long id, PointStats stats) {
+        BoundingBox box = stats.bbox();
+        em.createQuery("UPDATE " + entity + " b SET b.pointCount = :count, b.contentHash = :hash, " +
+                "b.minX = :minX, b.minY = :minY, b.maxX = :maxX, b.maxY = :maxY WHERE b.id = :id")
+                .setParameter("count", stats.count())
+                .setParameter("hash", stats.hash())
+                .setParameter("minX", box == null ? null : box.minX())
+                .setParameter("minY", box == null ? null : box.minY())
+                .setParameter("maxX", box == null ? null : box.maxX())
+                .setParameter("maxY", box == null ? null : box.maxY())
+                .setParameter("id", id)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void addPoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        if (xy.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        Long id = idOf(author, name);
+        if (id == null) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        if (xy.length == 0) return;
+        // Los INSERT de puntos no tocan la fila del plano: se reservan los ordinales y se incrementa la versión
+        // explícitamente. El UPDATE bloquea la fila, así que dos agregados concurrentes no comparten ordinales
+        int count = xy.length / 2;
+        PointStats added = PointStats.ofCoordinates(xy);
+        BoundingBox box = added.bbox();
+        // La cantidad y la caja se extienden en la misma fila con los puntos nuevos, sin leer los existentes
+        var update = entityManager.createQuery(
+                "UPDATE Blueprint b SET b.nextOrdinal = b.nextOrdinal + :count, b.pointCount = b.pointCount + :count, " +
+                "b.version = b.version + 1, b.updatedAt = :now" +
+                (box == null ? "" : ", b.minX = least(coalesce(b.minX, :minX), :minX), " +
+                        "b.minY = least(coalesce(b.minY, :minY), :minY), " +
+                        "b.maxX = greatest(coalesce(b.maxX, :maxX), :maxX), " +
+                        "b.maxY = greatest(coalesce(b.maxY, :maxY), :maxY)") +
+                " WHERE b.id = :id")
+                .setParameter("count", count)
+                .setParameter("now", Instant.now())
+                .setParameter("id", id);
+        if (box != null) {
+            update.setParameter("minX", box.minX())
+                    .setParameter("minY", box.minY())
+                    .setParameter("maxX", box.maxX())
+                    .setParameter("maxY", box.maxY());
+        }
+        update.executeUpdate();
+        // La fila ya está bloqueada por el UPDATE: el hash leído no cambia hasta el commit
+        Object[] row = entityManager.createQuery(
+                "SELECT b.nextOrdinal, b.contentHash FROM Blueprint b WHERE b.id = :id", Object[].class)
+                .setParameter("id", id)
+                .getSingleResult();
+        int ordinal = (Integer) row[0] - count;
+        if (count > 0) {
+            entityManager.createQuery("UPDATE Blueprint b SET b.contentHash = :hash WHERE b.id = :id")
+                    .setParameter("hash", PointStats.concatHash((Long) row[1], added.hash(), count))
+                    .setParameter("id", id)
+                    .executeUpdate();
+        }
+        // Solo INSERT de los puntos nuevos contra una referencia al plano: no se cargan ni se fusionan los existentes
+        Blueprint ref = entityManager.getReference(Blueprint.class, id);
+        for (int i = 0, n = 0; i < xy.length; i += 2) {
+            Point point = new Point(xy[i], xy[i + 1]);
+            point.setOrdinal(ordinal++);
+            point.setBlueprint(ref);
+            entityManager.persist(point);
+            if (++n % APPEND_FLUSH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                ref = entityManager.getReference(Blueprint.class, id);
+            }
+        }
+    }
+
+    /** Id del plano leyendo solo esa columna, o {@code null} si no existe. */
+    private Long idOf(String author, String name) {
+        List<Long> ids = entityManager.createQuery(
+                "SELECT b.id FROM Blueprint b WHERE b.author = :author AND b.name = :name", Long.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    @Override
+    @Transactional
+    public void replacePoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        if (xy.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        Long id = idOf(author, name);
+        if (id == null) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        replaceAll(id, author, name, xy);
+        deleteLods(entityManager, author, name);
     }
 
     @Override
@@ -101,65 +455,312 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
     public void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
         try {
             logger.info("Updating blueprint: " + author + "/" + name + " -> " + blueprint.getAuthor() + "/" + blueprint.getName());
-            
-            // Usar consulta directa para evitar conflictos de sesión
-            TypedQuery<Blueprint> query = entityManager.createQuery(
-                "SELECT b FROM Blueprint b LEFT JOIN FETCH b.points WHERE b.author = :author AND b.name = :name", Blueprint.class);
-            query.setParameter("author", author);
-            query.setParameter("name", name);
-            
-            Blueprint existing;
-            try {
-                existing = query.getSingleResult();
-            } catch (NoResultException e) {
-                throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
-            }
-            
+            Long id = idOf(author, name);
+            if (id == null) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+
             if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(name)) {
-                logger.info("Checking for duplicate: " + blueprint.getAuthor() + "/" + blueprint.getName());
-                TypedQuery<Blueprint> duplicateQuery = entityManager.createQuery(
-                    "SELECT b FROM Blueprint b WHERE b.author = :author AND b.name = :name", Blueprint.class);
-                duplicateQuery.setParameter("author", blueprint.getAuthor());
-                duplicateQuery.setParameter("name", blueprint.getName());
-                
-                try {
-                    Blueprint duplicate = duplicateQuery.getSingleResult();
-                    logger.warning("Duplicate found: " + duplicate.getAuthor() + "/" + duplicate.getName());
+                if (idOf(blueprint.getAuthor(), blueprint.getName()) != null) {
                     throw new BlueprintPersistenceException("Blueprint with new author/name already exists: " + blueprint.getAuthor() + "/" + blueprint.getName());
-                } catch (NoResultException e) {
-                    logger.info("No duplicate found, proceeding with update");
                 }
             }
-            
-            logger.info("Clearing existing points, count: " + existing.getPoints().size());
-            existing.setAuthor(blueprint.getAuthor());
-            existing.setName(blueprint.getName());
-            
-            // Usar el método replacePoints que ya maneja correctamente la limpieza
-            existing.replacePoints(blueprint.getPoints());
-            
-            entityManager.merge(existing);
+            replaceAll(id, blueprint.getAuthor(), blueprint.getName(), PackedPoints.copyOf(blueprint.getPointSequence()).toArray());
+            deleteLods(entityManager, author, name);
             logger.info("Blueprint updated successfully");
         } catch (BlueprintNotFoundException | BlueprintPersistenceException e) {
             logger.warning("Business exception: " + e.getMessage());
             throw e;
         } catch (Exception e) {
             logger.severe("Unexpected error in updateBlueprint: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
             throw new BlueprintPersistenceException("Error updating blueprint: " + e.getMessage());
         }
     }
 
+    /**
+     * Reemplazo por conjuntos: un UPDATE de la fila (clave, versión, ordinales y estadísticas), un DELETE de todos
+     * sus puntos y INSERT de varias filas para los nuevos. Deja libre un ordinal, como {@link Blueprint#replacePoints}.
+     */
+    private void replaceAll(Long id, String author, String name, int[] xy) {
+        int count = xy.length / 2;
+        PointStats stats = PointStats.ofCoordinates(xy);
+        BoundingBox box = stats.bbox();
+        // Las sentencias directas no pasan por el contexto de persistencia: primero salen los cambios pendientes
+        entityManager.flush();
+        entityManager.createQuery(
+                "UPDATE Blueprint b SET b.author = :author, b.name = :name, b.version = b.version + 1, b.updatedAt = :now, " +
+                "b.baseOrdinal = b.nextOrdinal + 1, b.nextOrdinal = b.nextOrdinal + 1 + :count, b.pointCount = :count, " +
+                "b.contentHash = :hash, b.minX = :minX, b.minY = :minY, b.maxX = :maxX, b.maxY = :maxY WHERE b.id = :id")
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .setParameter("now", Instant.now())
+                .setParameter("count", count)
+                .setParameter("hash", stats.hash())
+                .setParameter("minX", box == null ? null : box.minX())
+                .setParameter("minY", box == null ? null : box.minY())
+                .setParameter("maxX", box == null ? null : box.maxX())
+                .setParameter("maxY", box == null ? null : box.maxY())
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.createQuery("DELETE FROM Point p WHERE p.blueprint.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        // La fila quedó bloqueada por el UPDATE: ningún agregado concurrente mueve los ordinales hasta el commit
+        int base = entityManager.createQuery("SELECT b.baseOrdinal FROM Blueprint b WHERE b.id = :id", Integer.class)
+                .setParameter("id", id)
+                .getSingleResult();
+        ingestPoints(entityManager, id, base, xy);
+        // Las entidades ya cargadas no ven las sentencias directas
+        entityManager.clear();
+    }
+
+    /**
+     * Carga masiva: la fila del plano con sus estadísticas en dos sentencias y los puntos con
+     * {@link #ingestPoints}, sin una entidad por punto.
+     */
     @Override
     @Transactional
-    public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+    public void ingestBlueprint(String author, String name, int[] xy) throws BlueprintPersistenceException {
+        if (xy.length % 2 != 0) throw new IllegalArgumentException("Coordinates must come in (x, y) pairs");
+        if (idOf(author, name) != null) {
+            throw new BlueprintPersistenceException("Blueprint already exists: " + author + "/" + name);
+        }
+        Blueprint bp = new Blueprint(author, name, null);
+        entityManager.persist(bp);
+        entityManager.flush();
+        int count = xy.length / 2;
+        PointStats stats = PointStats.ofCoordinates(xy);
+        BoundingBox box = stats.bbox();
+        // Mismo estado que al persistir el plano con sus puntos, sin subir la versión
+        entityManager.createQuery(
+                "UPDATE Blueprint b SET b.nextOrdinal = :count, b.pointCount = :count, b.contentHash = :hash, " +
+                "b.minX = :minX, b.minY = :minY, b.maxX = :maxX, b.maxY = :maxY WHERE b.id = :id")
+                .setParameter("count", count)
+                .setParameter("hash", stats.hash())
+                .setParameter("minX", box == null ? null : box.minX())
+                .setParameter("minY", box == null ? null : box.minY())
+                .setParameter("maxX", box == null ? null : box.maxX())
+                .setParameter("maxY", box == null ? null : box.maxY())
+                .setParameter("id", bp.getId())
+                .executeUpdate();
+        ingestPoints(entityManager, bp.getId(), 0, xy);
+        entityManager.clear();
+        logger.info("Blueprint ingested: " + author + "/" + name + " (" + count + " points)");
+    }
+
+    /**
+     * Carga los puntos {@code xy} del plano {@code blueprintId} desde el ordinal {@code ordinal}. Sobre PostgreSQL
+     * usa COPY binario con los IDs reservados en una sola consulta; con otro driver (H2 en las pruebas) cae en
+     * {@link #insertPoints}.
+     */
+    static void ingestPoints(EntityManager em, Long blueprintId, int ordinal, int[] xy) {
+        if (xy.length == 0) return;
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        if (!session.doReturningWork(connection -> connection.isWrapperFor(PGConnection.class))) {
+            insertPoints(em, blueprintId, ordinal, xy);
+            return;
+        }
+        session.doWork(connection -> copyPoints(connection, blueprintId, ordinal, xy));
+    }
+
+    private static void copyPoints(Connection connection, long blueprintId, int ordinal, int[] xy) throws SQLException {
+        long[] ids = reservePointIds(connection, xy.length / 2);
+        PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), PointCopyWriter.COPY_SQL, 1 << 16);
+        streamPoints(copy, ids, blueprintId, ordinal, xy);
+    }
+
+    /**
+     * Envía las filas por un COPY ya abierto y lo termina. Si algo falla a mitad de camino el COPY se cancela:
+     * no debe terminarse a medias ni quedar abierto en la conexión, que vuelve al pool. La transacción se revierte.
+     */
+    static void streamPoints(PGCopyOutputStream copy, long[] ids, long blueprintId, int ordinal, int[] xy) throws SQLException {
         try {
-            Blueprint bp = getBlueprint(author, name);
-            entityManager.remove(bp);
-        } catch (BlueprintNotFoundException e) {
+            PointCopyWriter rows = new PointCopyWriter(copy);
+            for (int i = 0; i < ids.length; i++) rows.write(ids[i], blueprintId, ordinal + i, xy[2 * i], xy[2 * i + 1]);
+            rows.finish();
+        } catch (IOException e) {
+            cancel(copy, e);
+            throw new SQLException("COPY of points failed: " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            cancel(copy, e);
             throw e;
-        } catch (Exception e) {
-            throw new BlueprintNotFoundException("Error deleting blueprint: " + e.getMessage());
         }
     }
+
+    private static void cancel(PGCopyOutputStream copy, Throwable cause) {
+        try {
+            if (copy.isActive()) copy.cancelCopy();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Reserva {@code count} IDs de point_seq con una consulta: cada {@code nextval} es el último de un bloque de
+     * {@link #POINT_ID_BLOCK}, el mismo reparto que hace el optimizador de Hibernate, así que no chocan con los
+     * IDs que este asigna al persistir puntos.
+     */
+    private static long[] reservePointIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int next = 0;
+        // Un bloque de más: el primer valor de la secuencia (1) solo aporta un ID
+        int blocks = (count + POINT_ID_BLOCK - 1) / POINT_ID_BLOCK + 1;
+        try (PreparedStatement reserve = connection.prepareStatement("SELECT nextval('point_seq') FROM generate_series(1, ?)")) {
+            reserve.setInt(1, blocks);
+            try (ResultSet rs = reserve.executeQuery()) {
+                while (rs.next() && next < count) {
+                    long hi = rs.getLong(1);
+                    for (long id = Math.max(1, hi - POINT_ID_BLOCK + 1); id <= hi && next < count; id++) ids[next++] = id;
+                }
+            }
+        }
+        if (next < count) throw new SQLException("Could not reserve " + count + " point ids");
+        return ids;
+    }
+
+    /**
+     * Inserta los puntos {@code xy} del plano {@code blueprintId} desde el ordinal {@code ordinal} con INSERT de
+     * {@link #INSERT_ROWS} filas por JDBC, sin crear entidades. Los IDs salen del generador de {@link Point}, así que
+     * se reservan en bloques de la secuencia igual que al persistir.
+     */
+    static void insertPoints(EntityManager em, Long blueprintId, int ordinal, int[] xy) {
+        int count = xy.length / 2;
+        if (count == 0) return;
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator ids = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(Point.class).getGenerator();
+        session.doWork(connection -> {
+            int full = count / INSERT_ROWS, rest = count % INSERT_ROWS;
+            int next = 0;
+            if (full > 0) {
+                try (PreparedStatement insert = connection.prepareStatement(insertSql(INSERT_ROWS))) {
+                    for (int s = 0; s < full; s++) {
+                        for (int r = 0; r < INSERT_ROWS; r++, next++) {
+                            bindPoint(insert, r, (Long) ids.generate(session, null), blueprintId, ordinal + next,
+                                    xy[2 * next], xy[2 * next + 1]);
+                        }
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+            if (rest > 0) {
+                try (PreparedStatement insert = connection.prepareStatement(insertSql(rest))) {
+                    for (int r = 0; r < rest; r++, next++) {
+                        bindPoint(insert, r, (Long) ids.generate(session, null), blueprintId, ordinal + next,
+                                xy[2 * next], xy[2 * next + 1]);
+                    }
+                    insert.executeUpdate();
+                }
+            }
+        });
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO point (id, blueprint_id, ordinal, x, y) VALUES ");
+        for (int r = 0; r < rows; r++) sql.append(r == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        return sql.toString();
+    }
+
+    private static void bindPoint(PreparedStatement insert, int row, long id, long blueprintId, int ordinal, int x, int y)
+            throws SQLException {
+        int p = 5 * row;
+        insert.setLong(p + 1, id);
+        insert.setLong(p + 2, blueprintId);
+        insert.setInt(p + 3, ordinal);
+        insert.setInt(p + 4, x);
+        insert.setInt(p + 5, y);
+    }
+
+    @Override
+    @Transactional
+    public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
+        // Borrado directo por clave: los puntos en una sola sentencia y luego la fila, sin cargar el plano
+        entityManager.flush();
+        entityManager.createQuery(
+                "DELETE FROM Point p WHERE p.blueprint.id IN " +
+                "(SELECT b.id FROM Blueprint b WHERE b.author = :author AND b.name = :name)")
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .executeUpdate();
+        int deleted = entityManager.createQuery("DELETE FROM Blueprint b WHERE b.author = :author AND b.name = :name")
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .executeUpdate();
+        if (deleted == 0) throw new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name);
+        deleteLods(entityManager, author, name);
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LodLevel getLodLevel(String author, String name, BlueprintVersion source, String filter, int level) {
+        return lodLevel(entityManager, author, name, source, filter, "l.level <= :bound ORDER BY l.level DESC", level);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public LodLevel getLodLevelWithin(String author, String name, BlueprintVersion source, String filter, int maxPoints) {
+        return lodLevelWithin(entityManager, author, name, source, filter, maxPoints);
+    }
+
+    @Override
+    @Transactional
+    public void saveLodPyramid(String author, String name, BlueprintVersion source, String filter, List<PackedPoints> levels) {
+        saveLodPyramid(entityManager, "Blueprint", author, name, source, filter, levels);
+    }
+
+    static LodLevel lodLevelWithin(EntityManager em, String author, String name, BlueprintVersion source,
+                                   String filter, int maxPoints) {
+        LodLevel level = lodLevel(em, author, name, source, filter, "l.pointCount <= :bound ORDER BY l.level", maxPoints);
+        // Ningún nivel cabe: el menos detallado
+        return level != null ? level
+                : lodLevel(em, author, name, source, filter, "l.level <= :bound ORDER BY l.level DESC", Integer.MAX_VALUE);
+    }
+
+    /** Primer nivel vigente que cumple {@code condition}, en el orden que esta indica; solo se lee esa fila. */
+    static LodLevel lodLevel(EntityManager em, String author, String name, BlueprintVersion source, String filter,
+                             String condition, int bound) {
+        List<BlueprintLod> rows = em.createQuery(
+                "SELECT l FROM BlueprintLod l WHERE l.author = :author AND l.name = :name " +
+                "AND l.sourceVersion = :version AND l.sourceUpdated = :updated AND l.filter = :filter AND " + condition,
+                BlueprintLod.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .setParameter("version", source.version())
+                .setParameter("updated", source.updatedAtMillis())
+                .setParameter("filter", filter)
+                .setParameter("bound", bound)
+                .setMaxResults(1)
+                .getResultList();
+        if (rows.isEmpty()) return null;
+        BlueprintLod row = rows.get(0);
+        return new LodLevel(row.getLevel(), row.getLevels(), row.getPoints());
+    }
+
+    /** Reemplaza las filas de la pirámide si {@code entity} sigue en la versión {@code source}. */
+    static void saveLodPyramid(EntityManager em, String entity, String author, String name, BlueprintVersion source,
+                               String filter, List<PackedPoints> levels) {
+        List<BlueprintVersion> current = em.createQuery(
+                "SELECT new edu.eci.arsw.blueprints.persistence.BlueprintVersion(b.version, b.updatedAt) " +
+                "FROM " + entity + " b WHERE b.author = :author AND b.name = :name", BlueprintVersion.class)
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .getResultList();
+        if (current.isEmpty() || current.get(0).version() != source.version()
+                || current.get(0).updatedAtMillis() != source.updatedAtMillis()) {
+            return;
+        }
+        deleteLods(em, author, name);
+        for (int l = 0; l < levels.size(); l++) {
+            em.persist(new BlueprintLod(author, name, l, levels.size(), source.version(), source.updatedAtMillis(),
+                    filter, levels.get(l)));
+        }
+    }
+
+    /** Descarta la pirámide del plano; se llama al borrarlo o reemplazar sus puntos. */
+    static void deleteLods(EntityManager em, String author, String name) {
+        em.createQuery("DELETE FROM BlueprintLod l WHERE l.author = :author AND l.name = :name")
+                .setParameter("author", author)
+                .setParameter("name", name)
+                .executeUpdate();
+    }
 }
@@ -0,0 +1,10 @@
+package edu.eci.arsw.blueprints.persistence;
+
+/**
+ * Resultado de recalcular las estadísticas desnormalizadas (cantidad, caja y hash) de un lote de planos.
+ * @param scanned   planos revisados en el lote
+ * @param corrected planos cuyas columnas no coincidían con sus puntos y se reescribieron
+ * @param next      cursor del siguiente lote, o {@code null} si era el último
+ */
+public record StatsRecomputation(int scanned, int corrected, BlueprintCursor next) {
+}
@@ -0,0 +1,131 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import edu.eci.arsw.blueprints.dto.BulkImportResultDTO;
+import edu.eci.arsw.blueprints.dto.BulkImportResultDTO.Item;
+import edu.eci.arsw.blueprints.dto.BulkImportResultDTO.Status;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Importación masiva: consume los elementos a medida que llegan y confirma una transacción por lote,
+ * de modo que ni el cuerpo ni el resultado completo se materializan en memoria.
+ */
+@Service
+public class BlueprintBulkImporter {
+
+    // Elementos no creados que se detallan en la respuesta; del resto solo se cuentan
+    static final int MAX_REJECTED_LISTED = 1000;
+
+    private static final Logger logger = Logger.getLogger(BlueprintBulkImporter.class.getName());
+
+    private final BlueprintPersistence persistence;
+    private final TransactionOperations transactions;
+    private final BlueprintEventBus events;
+    private final int batchSize;
+
+    public BlueprintBulkImporter(BlueprintPersistence persistence, TransactionOperations transactions,
+                                 BlueprintEventBus events,
+                                 @Value("${blueprints.bulk.batch-size:500}") int batchSize) {
+        if (batchSize < 1) throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        this.persistence = persistence;
+        this.transactions = transactions;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa los elementos en lotes de {@code blueprints.bulk.batch-size}. Si el iterador falla al leer
+     * (cuerpo mal formado) se descarta el lote en curso y el resultado lo informa en {@code error}.
+     */
+    public BulkImportResultDTO importAll(Iterator<BulkImportItem> items) {
+        Summary summary = new Summary();
+        List<BulkImportItem> batch = new ArrayList<>(batchSize);
+        try {
+            while (items.hasNext()) {
+                BulkImportItem item = items.next();
+                summary.received++;
+                if (!item.isValid()) {
+                    summary.reject(item, Status.INVALID, item.error());
+                    continue;
+                }
+                batch.add(item);
+                if (batch.size() == batchSize) {
+                    commit(batch, summary);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) commit(batch, summary);
+        } catch (UncheckedIOException e) {
+            summary.error = "Malformed input after item " + (summary.received - 1) + ": " + e.getCause().getMessage();
+            logger.warning("Bulk import aborted: " + summary.error);
+        } catch (BatchFailedException e) {
+            // Un plano del lote apareció de forma concurrente: el lote se revirtió completo
+            summary.error = "Batch ending at item " + (summary.received - 1) + " was rolled back: " + e.getCause().getMessage();
+            logger.warning("Bulk import aborted: " + summary.error);
+        }
+        return summary.toDTO();
+    }
+
+    private void commit(List<BulkImportItem> batch, Summary summary) {
+        List<BulkImportItem> duplicates = new ArrayList<>();
+        List<Blueprint> created = transactions.execute(status -> {
+            Set<BlueprintKey> keys = new HashSet<>();
+            for (BulkImportItem item : batch) keys.add(new BlueprintKey(item.author(), item.name()));
+            Set<BlueprintKey> taken = new HashSet<>(persistence.findExistingKeys(keys));
+            List<Blueprint> fresh = new ArrayList<>(batch.size());
+            for (BulkImportItem item : batch) {
+                // add() también detecta repetidos dentro del mismo lote
+                if (taken.add(new BlueprintKey(item.author(), item.name()))) fresh.add(item.blueprint());
+                else duplicates.add(item);
+            }
+            try {
+                persistence.saveAll(fresh);
+            } catch (BlueprintPersistenceException e) {
+                throw new BatchFailedException(e);
+            }
+            return fresh;
+        });
+        if (created == null) created = List.of();
+        summary.created += created.size();
+        // Lote confirmado: recién ahora los planos son visibles para los suscriptores
+        for (Blueprint bp : created) {
+            events.publish(BlueprintEventDTO.Type.CREATED, bp.getAuthor(), bp.getName(), bp.pointCount());
+        }
+        for (BulkImportItem item : duplicates) summary.reject(item, Status.DUPLICATE, "Blueprint already exists");
+    }
+
+    private static final class BatchFailedException extends RuntimeException {
+        BatchFailedException(BlueprintPersistenceException cause) { super(cause); }
+    }
+
+    private static final class Summary {
+        long received, created, duplicates, invalid;
+        final List<Item> rejected = new ArrayList<>();
+        boolean truncated;
+        String error;
+
+        void reject(BulkImportItem item, Status status, String message) {
+            if (status == Status.DUPLICATE) duplicates++;
+            else invalid++;
+            if (rejected.size() < MAX_REJECTED_LISTED) {
+                rejected.add(new Item(item.index(), item.author(), item.name(), status, message));
+            } else {
+                truncated = true;
+            }
+        }
+
+        BulkImportResultDTO toDTO() {
+            return new BulkImportResultDTO(received, created, duplicates, invalid, List.copyOf(rejected), truncated, error);
+        }
+    }
+}
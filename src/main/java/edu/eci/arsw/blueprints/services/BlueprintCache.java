@@ -0,0 +1,158 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.CacheStatsDTO;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caché LRU de planos ya filtrados, acotada por el total de puntos almacenados y no por el número de entradas:
+ * un plano de 100k puntos pesa lo mismo que mil de 100.
+ * La clave es (autor, nombre, filtro); las escrituras invalidan todas las variantes filtradas de un plano.
+ */
+@Component
+public class BlueprintCache {
+
+    record Key(BlueprintKey blueprint, String filter) { }
+
+    // Planos con invalidación registrada antes de compactar el registro
+    static final int MAX_TRACKED_INVALIDATIONS = 10_000;
+
+    private final long maxWeight;
+    // Orden de acceso: el primero es el menos usado recientemente
+    private final LinkedHashMap<Key, Blueprint> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Variantes filtradas de cada plano, para invalidar sin recorrer toda la caché
+    private final Map<BlueprintKey, Set<String>> filtersByBlueprint = new HashMap<>();
+    // ReentrantLock y no synchronized: en Java 21 un hilo virtual que espera un monitor fija su hilo portador
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long weight;
+    private long hits, misses, evictions, invalidations;
+    // Reloj de invalidaciones: una carga guarda su valor al empezar y put la descarta si su plano se invalidó
+    // después (invalidatedAt) o si después hubo un clear o una compactación del registro (floor). Así una
+    // escritura solo impide volver a guardar el plano que cambió
+    private long tick;
+    private long floor;
+    private final Map<BlueprintKey, Long> invalidatedAt = new HashMap<>();
+
+    public BlueprintCache(@Value("${blueprints.cache.max-points:1000000}") long maxWeight) {
+        if (maxWeight < 0) throw new IllegalArgumentException("max weight must not be negative: " + maxWeight);
+        this.maxWeight = maxWeight;
+    }
+
+    private static long weigh(Blueprint bp) {
+        return bp.getPointSequence().size() + 1L;
+    }
+
+    /** Retorna el plano en caché o null, registrando el acierto o fallo. */
+    public Blueprint get(BlueprintKey blueprint, String filter) {
+        lock.lock();
+        try {
+            Blueprint bp = entries.get(new Key(blueprint, filter));
+            if (bp == null) misses++;
+            else hits++;
+            return bp;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Marca el inicio de una carga; el valor devuelto se pasa a {@link #put}. */
+    public long loadStamp() {
+        lock.lock();
+        try {
+            return tick;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda el plano salvo que ese plano se haya invalidado (o la caché vaciado) desde {@code stamp}
+     * o que por sí solo supere el peso máximo.
+     */
+    public void put(BlueprintKey blueprint, String filter, Blueprint bp, long stamp) {
+        long w = weigh(bp);
+        if (w > maxWeight) return;
+        lock.lock();
+        try {
+            if (stamp < floor || invalidatedAt.getOrDefault(blueprint, Long.MIN_VALUE) > stamp) return;
+            Key key = new Key(blueprint, filter);
+            Blueprint previous = entries.put(key, bp);
+            if (previous != null) weight -= weigh(previous);
+            weight += w;
+            filtersByBlueprint.computeIfAbsent(blueprint, k -> new HashSet<>()).add(filter);
+            evictToFit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictToFit() {
+        Iterator<Map.Entry<Key, Blueprint>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && eldest.hasNext()) {
+            Map.Entry<Key, Blueprint> e = eldest.next();
+            eldest.remove();
+            weight -= weigh(e.getValue());
+            forget(e.getKey());
+            evictions++;
+        }
+    }
+
+    private void forget(Key key) {
+        Set<String> filters = filtersByBlueprint.get(key.blueprint());
+        if (filters != null && filters.remove(key.filter()) && filters.isEmpty()) {
+            filtersByBlueprint.remove(key.blueprint());
+        }
+    }
+
+    /** Elimina todas las variantes filtradas del plano. */
+    public void invalidate(BlueprintKey blueprint) {
+        lock.lock();
+        try {
+            invalidatedAt.put(blueprint, ++tick);
+            if (invalidatedAt.size() > MAX_TRACKED_INVALIDATIONS) {
+                // Compacta el registro: las cargas ya en curso se descartan todas, una sola vez
+                floor = tick;
+                invalidatedAt.clear();
+            }
+            Set<String> filters = filtersByBlueprint.remove(blueprint);
+            if (filters == null) return;
+            for (String filter : filters) {
+                Blueprint removed = entries.remove(new Key(blueprint, filter));
+                if (removed != null) {
+                    weight -= weigh(removed);
+                    invalidations++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            floor = ++tick;
+            invalidatedAt.clear();
+            entries.clear();
+            filtersByBlueprint.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public CacheStatsDTO stats() {
+        lock.lock();
+        try {
+            return new CacheStatsDTO(hits, misses, evictions, invalidations, entries.size(), weight, maxWeight);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
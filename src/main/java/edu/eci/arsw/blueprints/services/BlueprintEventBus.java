@@ -0,0 +1,184 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bus interno de cambios sobre planos. Cada suscriptor tiene su propio buffer acotado que se vacía en un pool
+ * compartido, así que publicar nunca espera por un cliente lento: cuando su buffer se llena se aplica
+ * {@code blueprints.events.overflow} (cerrar la suscripción o descartar el evento).
+ */
+@Component
+public class BlueprintEventBus {
+
+    /** Qué hacer con un suscriptor cuyo buffer está lleno. */
+    public enum Overflow {
+        /** Cierra la suscripción; el cliente se reconecta y vuelve a cargar el estado. */
+        CLOSE,
+        /** Descarta los eventos nuevos hasta que el buffer tenga espacio. */
+        DROP
+    }
+
+    /** Destino de los eventos de una suscripción. */
+    public interface Listener {
+        void onEvent(BlueprintEventDTO event) throws IOException;
+
+        /** Se invoca una sola vez, al cerrarse la suscripción por cualquier motivo. */
+        void onClose();
+    }
+
+    private static final Logger logger = Logger.getLogger(BlueprintEventBus.class.getName());
+
+    private final int bufferSize;
+    private final Overflow overflow;
+    private final ExecutorService delivery;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public BlueprintEventBus(int bufferSize, Overflow overflow, int threads) {
+        this(bufferSize, overflow, threads, false);
+    }
+
+    /**
+     * Con {@code spring.threads.virtual.enabled} cada entrega corre en su propio hilo virtual y
+     * {@code blueprints.events.threads} no aplica: un cliente lento bloquea solo su hilo.
+     */
+    @Autowired
+    public BlueprintEventBus(@Value("${blueprints.events.buffer-size:256}") int bufferSize,
+                             @Value("${blueprints.events.overflow:CLOSE}") Overflow overflow,
+                             @Value("${blueprints.events.threads:4}") int threads,
+                             @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (bufferSize < 1) throw new IllegalArgumentException("buffer size must be positive: " + bufferSize);
+        if (threads < 1) throw new IllegalArgumentException("threads must be positive: " + threads);
+        this.bufferSize = bufferSize;
+        this.overflow = overflow;
+        if (virtualThreads) {
+            this.delivery = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("blueprint-events-", 1).factory());
+        } else {
+            // Los hilos se crean al primer envío: un bus sin suscriptores no cuesta nada
+            AtomicInteger n = new AtomicInteger();
+            this.delivery = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "blueprint-events-" + n.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    /**
+     * Registra un suscriptor. Con {@code author} nulo recibe los eventos de todos los planos.
+     */
+    public Subscription subscribe(String author, Listener listener) {
+        Subscription s = new Subscription(author, listener);
+        subscriptions.add(s);
+        return s;
+    }
+
+    /** Publica el evento a los suscriptores interesados sin bloquear al llamador. */
+    public BlueprintEventDTO publish(BlueprintEventDTO.Type type, String author, String name, int pointCount) {
+        BlueprintEventDTO event = new BlueprintEventDTO(sequence.incrementAndGet(), type, author, name, pointCount, Instant.now());
+        for (Subscription s : subscriptions) {
+            if (s.author == null || s.author.equals(author)) s.offer(event);
+        }
+        return event;
+    }
+
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscription s : List.copyOf(subscriptions)) s.close();
+        delivery.shutdownNow();
+    }
+
+    /**
+     * Suscripción con buffer propio. A lo sumo una tarea de entrega por suscripción está en el pool,
+     * de modo que el listener recibe los eventos en orden y nunca de forma concurrente.
+     */
+    public final class Subscription {
+
+        private final String author;
+        private final Listener listener;
+        private final BlockingQueue<BlueprintEventDTO> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscription(String author, Listener listener) {
+            this.author = author;
+            this.listener = listener;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(BlueprintEventDTO event) {
+            if (closed.get()) return;
+            if (!buffer.offer(event)) {
+                if (overflow == Overflow.CLOSE) {
+                    logger.fine(() -> "Closing slow event subscriber (buffer of " + bufferSize + " full)");
+                    close();
+                    return;
+                }
+                dropped.incrementAndGet();
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) return;
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                close();
+            }
+        }
+
+        private void drain() {
+            try {
+                BlueprintEventDTO event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    listener.onEvent(event);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Cliente desconectado: se libera la suscripción en el primer envío fallido
+                logger.log(Level.FINE, "Event subscriber failed, closing", e);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // Un evento pudo llegar entre el último poll y la liberación de 'scheduled'
+            if (!closed.get() && !buffer.isEmpty()) schedule();
+        }
+
+        /** Eventos descartados por buffer lleno (solo con {@code overflow: drop}). */
+        public long dropped() {
+            return dropped.get();
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        public void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            subscriptions.remove(this);
+            buffer.clear();
+            listener.onClose();
+        }
+    }
+}
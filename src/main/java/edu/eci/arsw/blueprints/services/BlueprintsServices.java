@@ -1,61 +1,341 @@
 package edu.eci.arsw.blueprints.services;
 
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import edu.eci.arsw.blueprints.dto.CacheStatsDTO;
+import edu.eci.arsw.blueprints.dto.StatsRecomputeDTO;
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import edu.eci.arsw.blueprints.filters.LodPyramid;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
+import edu.eci.arsw.blueprints.persistence.BlueprintCursor;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.LodLevel;
+import edu.eci.arsw.blueprints.persistence.PointDelta;
+import edu.eci.arsw.blueprints.persistence.StatsRecomputation;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 @Service
 public class BlueprintsServices {
 
+    private static final Logger logger = Logger.getLogger(BlueprintsServices.class.getName());
+
+    /** Planos por transacción al recalcular las estadísticas guardadas. */
+    static final int STATS_BATCH_SIZE = 200;
+
     private final BlueprintPersistence persistence;
     private final BlueprintsFilter filter;
+    private final BlueprintCache cache;
+    private final BlueprintEventBus events;
+    private final LodPyramid lod;
 
+    /** Sin caché: cada lectura va a la persistencia. */
     public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+        this(persistence, filter, new BlueprintCache(0));
+    }
+
+    /** Con un bus propio sin suscriptores: publicar no tiene efecto. */
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, BlueprintCache cache) {
+        this(persistence, filter, cache, new BlueprintEventBus(1, BlueprintEventBus.Overflow.CLOSE, 1));
+    }
+
+    /** Con la pirámide de detalle por defecto. */
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, BlueprintCache cache,
+                              BlueprintEventBus events) {
+        this(persistence, filter, cache, events, new LodPyramid());
+    }
+
+    @Autowired
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, BlueprintCache cache,
+                              BlueprintEventBus events, LodPyramid lod) {
         this.persistence = persistence;
         this.filter = filter;
+        this.cache = cache;
+        this.events = events;
+        this.lod = lod;
+    }
+
+    /** Identifica el filtro activo; forma parte de la clave de caché y del ETag. */
+    public String getFilterSpec() {
+        return filterSpec(filter);
+    }
+
+    /** Identifica un filtro: los pipelines por sus etapas, los demás por su clase. */
+    public String filterSpec(BlueprintsFilter f) {
+        return f instanceof FilterPipeline pipeline ? "pipeline:" + pipeline.spec() : f.getClass().getName();
+    }
+
+    /**
+     * Filtro para una petición: el pipeline de {@code filters} (p. ej. {@code redundancy,undersampling:3})
+     * o, si viene vacío, el filtro configurado.
+     *
+     * @throws IllegalArgumentException si alguna etapa no es válida
+     */
+    public BlueprintsFilter resolveFilter(String filters) {
+        return filters == null || filters.isBlank() ? filter : FilterPipeline.parse(filters);
+    }
+
+    /**
+     * Invalida las entradas del plano ahora y, si hay una transacción en curso, otra vez al terminar:
+     * así una lectura concurrente no puede volver a guardar el estado anterior al commit.
+     */
+    private void invalidate(String author, String name) {
+        BlueprintKey key = new BlueprintKey(author, name);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    /**
+     * Publica el evento cuando el cambio ya es visible: tras el commit si hay una transacción en curso
+     * (si se revierte no se publica nada), o de inmediato si la persistencia ya confirmó.
+     */
+    private void publish(BlueprintEventDTO.Type type, String author, String name, int pointCount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.publish(type, author, name, pointCount);
+                }
+            });
+        } else {
+            events.publish(type, author, name, pointCount);
+        }
     }
 
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
         persistence.saveBlueprint(bp);
+        invalidate(bp.getAuthor(), bp.getName());
+        publish(BlueprintEventDTO.Type.CREATED, bp.getAuthor(), bp.getName(), bp.pointCount());
+    }
+
+    /**
+     * Crea un plano masivo por la vía de carga directa de la persistencia ({@code xy} son coordenadas intercaladas)
+     * y retorna sus metadatos, sin volver a leer los puntos.
+     */
+    public BlueprintSummary ingestBlueprint(String author, String name, int[] xy) throws BlueprintPersistenceException {
+        PointStats stats = PointStats.ofCoordinates(xy);
+        persistence.ingestBlueprint(author, name, xy);
+        invalidate(author, name);
+        publish(BlueprintEventDTO.Type.CREATED, author, name, stats.count());
+        return new BlueprintSummary(author, name, stats.count(), stats.bbox(), 0);
     }
 
     public Set<Blueprint> getAllBlueprints() {
         return persistence.getAllBlueprints();
     }
 
+    public BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit) {
+        return persistence.getBlueprintsPage(after, limit);
+    }
+
+    /**
+     * Entrega cada plano al consumidor a medida que se lee, dentro de una única transacción de solo lectura.
+     */
+    @Transactional(readOnly = true)
+    public void exportBlueprints(Consumer<Blueprint> sink) {
+        try (Stream<Blueprint> all = persistence.streamAllBlueprints()) {
+            all.forEach(sink);
+        }
+    }
+
+    /** Planos cuya caja envolvente corta a {@code box}, ordenados por autor y nombre, sin sus puntos. */
+    public List<BlueprintSummary> searchByBoundingBox(BoundingBox box, int limit) {
+        return persistence.findIntersecting(box, limit);
+    }
+
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         return persistence.getBlueprintsByAuthor(author);
     }
 
+    /** Resumen de los planos del autor (cantidad de puntos, caja y versión), sin cargar los puntos. */
+    public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author) throws BlueprintNotFoundException {
+        return persistence.getSummariesByAuthor(author);
+    }
+
+    /** Versión del plano sin cargar sus puntos, para peticiones condicionales. */
+    public BlueprintVersion getBlueprintVersion(String author, String name) throws BlueprintNotFoundException {
+        return persistence.getVersion(author, name);
+    }
+
+    /** Puntos sin filtrar agregados desde el ordinal {@code since}. */
+    public PointDelta getPointsSince(String author, String name, int since) throws BlueprintNotFoundException {
+        return persistence.getPointsSince(author, name, since);
+    }
+
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        return filter.apply(persistence.getBlueprint(author, name));
+        return getBlueprint(author, name, filter);
+    }
+
+    /** Lectura a través de la caché: el filtro solo se aplica en un fallo. */
+    public Blueprint getBlueprint(String author, String name, BlueprintsFilter f) throws BlueprintNotFoundException {
+        BlueprintKey key = new BlueprintKey(author, name);
+        String spec = filterSpec(f);
+        Blueprint cached = cache.get(key, spec);
+        if (cached != null) return cached;
+        long stamp = cache.loadStamp();
+        Blueprint filtered = f.apply(persistence.getBlueprint(author, name));
+        cache.put(key, spec, filtered, stamp);
+        return filtered;
+    }
+
+    /**
+     * Nivel {@code level} de la pirámide de detalle del plano filtrado (0 = el plano completo); si la pirámide
+     * tiene menos niveles, el último. Solo se lee ese nivel; la pirámide se construye y guarda en la primera
+     * lectura después de cada cambio del plano.
+     */
+    public LodLevel getLodLevel(String author, String name, int level) throws BlueprintNotFoundException {
+        if (level < 0) throw new IllegalArgumentException("lod must be non-negative: " + level);
+        String spec = getFilterSpec();
+        BlueprintVersion version = persistence.getVersion(author, name);
+        LodLevel stored = persistence.getLodLevel(author, name, version, spec, level);
+        return stored != null ? stored : LodLevel.atLevel(buildPyramid(author, name, spec), level);
+    }
+
+    /** Nivel más detallado del plano filtrado con a lo sumo {@code maxPoints} puntos, o el menos detallado. */
+    public LodLevel getLodLevelWithin(String author, String name, int maxPoints) throws BlueprintNotFoundException {
+        if (maxPoints < 1) throw new IllegalArgumentException("maxPoints must be positive: " + maxPoints);
+        String spec = getFilterSpec();
+        BlueprintVersion version = persistence.getVersion(author, name);
+        LodLevel stored = persistence.getLodLevelWithin(author, name, version, spec, maxPoints);
+        return stored != null ? stored : LodLevel.within(buildPyramid(author, name, spec), maxPoints);
+    }
+
+    /**
+     * Construye la pirámide sobre la salida del filtro configurado y la guarda para la versión leída.
+     * Si otra petición la guardó a la vez o el plano cambió, se responde igual con la recién construida.
+     */
+    private List<PackedPoints> buildPyramid(String author, String name, String spec) throws BlueprintNotFoundException {
+        Blueprint bp = persistence.getBlueprint(author, name);
+        BlueprintVersion source = new BlueprintVersion(bp.getVersion(), bp.getUpdatedAt());
+        List<PackedPoints> levels = lod.build(filter.apply(bp).getPointSequence());
+        try {
+            persistence.saveLodPyramid(author, name, source, spec, levels);
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not store level-of-detail pyramid for " + author + "/" + name, e);
+        }
+        return levels;
     }
 
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        persistence.addPoint(author, name, x, y);
+        try {
+            persistence.addPoint(author, name, x, y);
+        } finally {
+            invalidate(author, name);
+        }
+        publish(BlueprintEventDTO.Type.POINTS_APPENDED, author, name, 1);
+    }
+
+    /** Agrega varios puntos en una sola operación; {@code xy} son coordenadas intercaladas. */
+    public void addPoints(String author, String name, int[] xy) throws BlueprintNotFoundException {
+        if (xy.length == 0) {
+            // Nada que agregar: ni versión nueva, ni invalidación, ni evento; solo el 404 si no existe
+            persistence.getVersion(author, name);
+            return;
+        }
+        try {
+            persistence.addPoints(author, name, xy);
+        } finally {
+            invalidate(author, name);
+        }
+        publish(BlueprintEventDTO.Type.POINTS_APPENDED, author, name, xy.length / 2);
     }
 
     public void updateBlueprint(String author, String name, Blueprint blueprint) throws BlueprintNotFoundException, BlueprintPersistenceException {
-        persistence.updateBlueprint(author, name, blueprint);
+        try {
+            persistence.updateBlueprint(author, name, blueprint);
+        } finally {
+            invalidate(author, name);
+            invalidate(blueprint.getAuthor(), blueprint.getName());
+        }
+        if (!blueprint.getAuthor().equals(author) || !blueprint.getName().equals(name)) {
+            // Renombrado: para quien sigue la clave anterior el plano desapareció
+            publish(BlueprintEventDTO.Type.DELETED, author, name, 0);
+            publish(BlueprintEventDTO.Type.CREATED, blueprint.getAuthor(), blueprint.getName(), blueprint.pointCount());
+        } else {
+            publish(BlueprintEventDTO.Type.UPDATED, author, name, blueprint.pointCount());
+        }
     }
 
     public void deleteBlueprint(String author, String name) throws BlueprintNotFoundException {
-        persistence.deleteBlueprint(author, name);
+        try {
+            persistence.deleteBlueprint(author, name);
+        } finally {
+            invalidate(author, name);
+        }
+        publish(BlueprintEventDTO.Type.DELETED, author, name, 0);
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        return cache.stats();
+    }
+
+    public void clearCache() {
+        cache.clear();
     }
 
+    /**
+     * Recalcula la cantidad de puntos, la caja y el hash guardados de todos los planos, en lotes de
+     * {@link #STATS_BATCH_SIZE} con una transacción cada uno. Las versiones no cambian.
+     */
+    public StatsRecomputeDTO recomputeStats() {
+        long scanned = 0, corrected = 0;
+        BlueprintCursor cursor = null;
+        do {
+            StatsRecomputation batch = persistence.recomputeStats(cursor, STATS_BATCH_SIZE);
+            scanned += batch.scanned();
+            corrected += batch.corrected();
+            cursor = batch.next();
+        } while (cursor != null);
+        // Las copias en caché conservan la versión: si se corrigió algo se descartan
+        if (corrected > 0) cache.clear();
+        logger.info("Blueprint stats recomputed: " + scanned + " scanned, " + corrected + " corrected");
+        return new StatsRecomputeDTO(scanned, corrected);
+    }
+
+    /** Reemplaza todos los puntos y retorna el plano resultante filtrado, en la misma transacción. */
     @Transactional
     public Blueprint replacePoints(String author, String name, List<Point> points)
             throws BlueprintNotFoundException, BlueprintPersistenceException {
-        Blueprint bp = persistence.getBlueprint(author, name);
-        bp.replacePoints(points);
+        int[] xy = new int[2 * points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            xy[2 * i] = points.get(i).getX();
+            xy[2 * i + 1] = points.get(i).getY();
+        }
+        Blueprint bp;
+        try {
+            persistence.replacePoints(author, name, xy);
+            bp = persistence.getBlueprint(author, name);
+        } finally {
+            invalidate(author, name);
+        }
+        publish(BlueprintEventDTO.Type.UPDATED, author, name, bp.pointCount());
         return filter.apply(bp);
     }
 
@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+
+/**
+ * Elemento leído de una importación masiva: un plano válido o el motivo por el que se rechazó.
+ * @param index posición en el cuerpo de la petición, desde 0
+ */
+public record BulkImportItem(long index, Blueprint blueprint, String author, String name, String error) {
+
+    public static BulkImportItem valid(long index, Blueprint bp) {
+        return new BulkImportItem(index, bp, bp.getAuthor(), bp.getName(), null);
+    }
+
+    public static BulkImportItem invalid(long index, String author, String name, String error) {
+        return new BulkImportItem(index, null, author, name, error);
+    }
+
+    public boolean isValid() {
+        return blueprint != null;
+    }
+}
@@ -0,0 +1,60 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/** Rutas fijas bajo /api/v1/blueprints contra las de autor y plano, con todos los controladores cargados. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BlueprintsRoutingTest {
+
+    private static final String API = "/api/v1/blueprints";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private BlueprintsServices services;
+
+    // Autores con el nombre de una ruta fija: GET /{author} los oculta, pero /{author}/{bpname} no
+    private static final String[] AUTHORS = {"events", "export", "search"};
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (String author : AUTHORS) {
+            try {
+                services.deleteBlueprint(author, "house");
+            } catch (BlueprintNotFoundException e) {
+                // la prueba falló antes de crearlo
+            }
+        }
+    }
+
+    @Test
+    void testBlueprintOfAuthorNamedLikeAFixedRouteIsReadable() throws Exception {
+        for (String author : AUTHORS) {
+            services.addNewBlueprint(new Blueprint(author, "house", List.of(new Point(1, 2))));
+
+            mvc.perform(get(API + "/" + author + "/house"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.author").value(author))
+                    .andExpect(jsonPath("$.data.name").value("house"))
+                    .andExpect(jsonPath("$.data.points[0].x").value(1));
+        }
+    }
+}
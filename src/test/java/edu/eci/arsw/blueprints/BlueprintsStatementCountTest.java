@@ -0,0 +1,175 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Cantidad exacta de sentencias SQL por endpoint sobre la persistencia JPA. Cada plano tiene varios puntos:
+ * si una consulta vuelve a cargarlos uno por uno (N+1) o arrastra puntos que no usa, el conteo cambia.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BlueprintsStatementCountTest {
+
+    private static final String API = "/api/v1/blueprints";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private BlueprintsServices services;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        services.addNewBlueprint(blueprint("ana", "casa", 4));
+        services.addNewBlueprint(blueprint("ana", "patio", 3));
+        services.addNewBlueprint(blueprint("luis", "torre", 5));
+        services.clearCache();
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (String[] key : new String[][] {{"ana", "casa"}, {"ana", "patio"}, {"luis", "torre"}, {"luis", "mapa"}}) {
+            try {
+                services.deleteBlueprint(key[0], key[1]);
+            } catch (BlueprintNotFoundException e) {
+                // el test ya lo borró
+            }
+        }
+    }
+
+    private static Blueprint blueprint(String author, String name, int points) {
+        List<Point> pts = new ArrayList<>();
+        for (int i = 0; i < points; i++) pts.add(new Point(i, 2 * i));
+        return new Blueprint(author, name, pts);
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        stats.clear();
+        mvc.perform(request).andExpect(status().is2xxSuccessful());
+        return stats.getPrepareStatementCount();
+    }
+
+    @Test
+    void testPageLoadsPointsWithOneQueryPerWindow() throws Exception {
+        // Página sin puntos + una consulta para los puntos de toda la ventana
+        assertEquals(2, statements(get(API).param("limit", "2")));
+        assertEquals(2, statements(get(API).param("limit", "50")));
+    }
+
+    @Test
+    void testByAuthorSummaryDoesNotTouchPoints() throws Exception {
+        assertEquals(1, statements(get(API + "/ana")));
+        assertEquals(0, stats.getCollectionFetchCount());
+    }
+
+    @Test
+    void testByAuthorWithPointsJoinsThem() throws Exception {
+        assertEquals(1, statements(get(API + "/ana").param("include", "points")));
+    }
+
+    @Test
+    void testGetBlueprintReadsVersionThenFullPlan() throws Exception {
+        assertEquals(2, statements(get(API + "/ana/casa")));
+        // La segunda lectura sale del cache: solo la versión para el ETag
+        assertEquals(1, statements(get(API + "/ana/casa")));
+    }
+
+    @Test
+    void testNotModifiedOnlyReadsVersion() throws Exception {
+        String eTag = mvc.perform(get(API + "/ana/casa")).andReturn().getResponse().getHeader("ETag");
+        stats.clear();
+
+        mvc.perform(get(API + "/ana/casa").header("If-None-Match", eTag)).andExpect(status().isNotModified());
+
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void testPointsSinceReadsHeaderAndWindow() throws Exception {
+        assertEquals(2, statements(get(API + "/ana/casa/points").param("since", "2")));
+    }
+
+    @Test
+    void testSearchIsASingleProjection() throws Exception {
+        assertEquals(1, statements(get(API + "/search").param("bbox", "0,0,10,10")));
+    }
+
+    @Test
+    void testExportReadsOneWindow() throws Exception {
+        var result = mvc.perform(get(API + "/export").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+        // Menos de EXPORT_BATCH_SIZE planos: una ventana, es decir la página y sus puntos
+        assertEquals(2, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void testDeleteIsDirectByKey() throws Exception {
+        long count = statements(delete(API + "/ana/casa"));
+
+        // DELETE de los puntos, del plano y de sus niveles, sin leer nada
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(3, count);
+    }
+
+    @Test
+    void testReplaceDoesNotTouchPointEntities() throws Exception {
+        mvc.perform(put(API + "/ana/casa").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"ana\",\"name\":\"casa\",\"points\":[{\"x\":1,\"y\":1},{\"x\":2,\"y\":3}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.points.length()").value(2));
+
+        // Los puntos viejos salen con un DELETE y los nuevos con INSERT de varias filas: ninguno pasa por el contexto
+        assertEquals(0, stats.getEntityDeleteCount());
+        assertEquals(0, stats.getEntityInsertCount());
+        assertEquals(0, stats.getCollectionFetchCount());
+    }
+
+    @Test
+    void testIngestCreatesOnlyTheBlueprintEntity() throws Exception {
+        stats.clear();
+        mvc.perform(post(API + "/bulk/luis/mapa/points").contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":1,\"y\":1}\n{\"x\":2,\"y\":3}\n{\"x\":5,\"y\":0}\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.pointCount").value(3));
+
+        // La fila del plano es la única entidad: los puntos entran con INSERT de varias filas (COPY en PostgreSQL)
+        assertEquals(1, stats.getEntityInsertCount());
+        assertEquals(3, services.getBlueprint("luis", "mapa").pointCount());
+    }
+}
@@ -0,0 +1,77 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.dto.CacheStatsDTO;
+import edu.eci.arsw.blueprints.dto.StatsRecomputeDTO;
+import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AdminController.class)
+@Import(AdminControllerTest.TestConfig.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_return_cache_stats() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.hits").value(3))
+                .andExpect(jsonPath("$.data.misses").value(1))
+                .andExpect(jsonPath("$.data.hitRate").value(0.75));
+    }
+
+    @Test
+    void should_clear_cache() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200));
+        assertTrue(TestConfig.cleared.get());
+    }
+
+    @Test
+    void should_recompute_blueprint_stats() throws Exception {
+        mockMvc.perform(post("/api/v1/admin/stats/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.scanned").value(12))
+                .andExpect(jsonPath("$.data.corrected").value(3));
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        static final AtomicBoolean cleared = new AtomicBoolean();
+
+        @Bean
+        public BlueprintsServices blueprintsServices() {
+            return new BlueprintsServices(null, null) {
+                @Override
+                public CacheStatsDTO getCacheStats() {
+                    return new CacheStatsDTO(3, 1, 0, 0, 2, 10, 100);
+                }
+
+                @Override
+                public StatsRecomputeDTO recomputeStats() {
+                    return new StatsRecomputeDTO(12, 3);
+                }
+
+                @Override
+                public void clearCache() {
+                    cleared.set(true);
+                }
+            };
+        }
+    }
+}
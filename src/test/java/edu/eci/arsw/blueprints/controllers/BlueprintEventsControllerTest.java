@@ -0,0 +1,87 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO.Type;
+import edu.eci.arsw.blueprints.services.BlueprintEventBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(BlueprintEventsController.class)
+@Import(BlueprintEventsControllerTest.TestConfig.class)
+// Cada prueba cierra el bus al terminar; el siguiente contexto crea uno nuevo
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BlueprintEventsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BlueprintEventBus bus;
+
+    /** Espera a que el pool de entrega escriba en la respuesta. */
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+
+    @Test
+    void should_stream_events_for_author() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/blueprints/events").param("author", "john"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, bus.subscriberCount());
+
+        bus.publish(Type.POINTS_APPENDED, "jane", "garden", 1);
+        bus.publish(Type.POINTS_APPENDED, "john", "house", 2);
+
+        String content = awaitContent(result.getResponse(), "\"name\":\"house\"");
+        assertTrue(content.startsWith("id:"), content);
+        assertTrue(content.contains("event:points-appended"), content);
+        assertTrue(content.contains("\"pointCount\":2"), content);
+        assertFalse(content.contains("garden"), content);
+        assertTrue(result.getResponse().getContentType().startsWith("text/event-stream"));
+
+        bus.shutdown();
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    @Test
+    void should_stream_all_events() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/blueprints/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        bus.publish(Type.CREATED, "jane", "garden", 3);
+        bus.publish(Type.DELETED, "john", "house", 0);
+
+        String content = awaitContent(result.getResponse(), "event:deleted");
+        assertTrue(content.contains("event:created"), content);
+        assertTrue(content.indexOf("garden") < content.indexOf("event:deleted"), content);
+        bus.shutdown();
+    }
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        public BlueprintEventBus blueprintEventBus() {
+            return new BlueprintEventBus(16, BlueprintEventBus.Overflow.CLOSE, 1);
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package edu.eci.arsw.blueprints.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintCursor;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPage;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.LodLevel;
+import edu.eci.arsw.blueprints.persistence.PointDelta;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import edu.eci.arsw.blueprints.services.BlueprintBulkImporter;
+import edu.eci.arsw.blueprints.services.BlueprintEventBus;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,9 +26,11 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -35,11 +49,76 @@ class BlueprintsAPIControllerTest {
        GET /api/v1/blueprints
        ========================= */
     @Test
-    void should_return_all_blueprints() throws Exception {
+    void should_return_first_page_of_blueprints() throws Exception {
         mockMvc.perform(get("/api/v1/blueprints"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
-                .andExpect(jsonPath("$.data").isArray());
+                .andExpect(jsonPath("$.data.blueprints").isArray())
+                .andExpect(jsonPath("$.data.nextCursor").value(new BlueprintCursor("marlio", "casa").encode()))
+                .andExpect(jsonPath("$.data.next").value(org.hamcrest.Matchers.containsString("cursor=")));
+    }
+
+    @Test
+    void should_return_last_page_without_next_link() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints")
+                        .param("cursor", new BlueprintCursor("marlio", "casa").encode()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.blueprints").isEmpty())
+                .andExpect(jsonPath("$.data.next").doesNotExist());
+    }
+
+    @Test
+    void should_return_400_for_invalid_cursor() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+    }
+
+    @Test
+    void should_return_400_for_invalid_page_size() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =========================
+       GET /api/v1/blueprints/export
+       ========================= */
+    @Test
+    void should_stream_blueprints_as_ndjson() throws Exception {
+        var result = mockMvc.perform(get("/api/v1/blueprints/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(org.hamcrest.Matchers.matchesPattern(
+                        "(?s)\\{[^\\n]*\"name\":\"casa\"[^\\n]*}\n\\{[^\\n]*\"name\":\"patio\"[^\\n]*}\n")));
+    }
+
+    /* =========================
+       GET /api/v1/blueprints/search
+       ========================= */
+    @Test
+    void should_search_blueprints_by_bounding_box() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/search").param("bbox", "0,0,5,5").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].author").value("marlio"))
+                .andExpect(jsonPath("$.data[0].pointCount").value(4))
+                .andExpect(jsonPath("$.data[0].bbox.maxX").value(3))
+                .andExpect(jsonPath("$.data[0].points").doesNotExist());
+        org.junit.jupiter.api.Assertions.assertEquals(new BoundingBox(0, 0, 5, 5), TestConfig.lastSearch);
+    }
+
+    @Test
+    void should_return_400_for_invalid_bounding_box() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/search").param("bbox", "0,0,5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+        mockMvc.perform(get("/api/v1/blueprints/search").param("bbox", "5,0,0,5"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/search").param("bbox", "0,0,5,5").param("limit", "501"))
+                .andExpect(status().isBadRequest());
     }
 
     /* =========================
@@ -50,7 +129,24 @@ class BlueprintsAPIControllerTest {
         mockMvc.perform(get("/api/v1/blueprints/marlio"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
-                .andExpect(jsonPath("$.data[0].author").value("marlio"));
+                .andExpect(jsonPath("$.data.blueprints[0].author").value("marlio"))
+                .andExpect(jsonPath("$.data.blueprints[0].pointCount").value(4))
+                .andExpect(jsonPath("$.data.blueprints[0].points").doesNotExist())
+                .andExpect(jsonPath("$.data.totalPoints").value(6));
+    }
+
+    @Test
+    void should_return_full_blueprints_by_author_when_points_are_requested() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio").param("include", "points"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.blueprints[0].points[0].x").value(0))
+                .andExpect(jsonPath("$.data.totalPoints").value(1));
+    }
+
+    @Test
+    void should_return_400_for_unknown_include() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio").param("include", "everything"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -66,10 +162,135 @@ class BlueprintsAPIControllerTest {
     @Test
     void should_return_blueprint_by_author_and_name() throws Exception {
         mockMvc.perform(get("/api/v1/blueprints/marlio/casa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("casa"))
+                .andExpect(jsonPath("$.data.points[0].x").value(0))
+                .andExpect(jsonPath("$.data.points[0].y").value(0));
+    }
+
+    @Test
+    void should_return_etag_and_last_modified() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", BlueprintsAPIController.eTag(TestConfig.VERSION, "identity")))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    void should_take_etag_from_the_served_blueprint() throws Exception {
+        BlueprintVersion newer = new BlueprintVersion(TestConfig.VERSION.version() + 1, TestConfig.VERSION.updatedAt());
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/carrera"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", BlueprintsAPIController.eTag(newer, "identity")))
+                .andExpect(jsonPath("$.data.version").value(newer.version()));
+    }
+
+    @Test
+    void should_return_304_without_loading_points_when_etag_matches() throws Exception {
+        int loadsBefore = TestConfig.blueprintLoads.get();
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa")
+                        .header("If-None-Match", BlueprintsAPIController.eTag(TestConfig.VERSION, "identity")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        org.junit.jupiter.api.Assertions.assertEquals(loadsBefore, TestConfig.blueprintLoads.get());
+    }
+
+    @Test
+    void should_return_200_when_etag_is_stale() throws Exception {
+        String stale = BlueprintsAPIController.eTag(
+                new BlueprintVersion(TestConfig.VERSION.version() - 1, TestConfig.VERSION.updatedAt()), "identity");
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").header("If-None-Match", stale))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.name").value("casa"));
     }
 
+    @Test
+    void etag_depends_on_filter() {
+        org.junit.jupiter.api.Assertions.assertNotEquals(
+                BlueprintsAPIController.eTag(TestConfig.VERSION, "identity"),
+                BlueprintsAPIController.eTag(TestConfig.VERSION, "redundancy"));
+    }
+
+    @Test
+    void should_apply_filter_pipeline_from_query() throws Exception {
+        String pipelineTag = BlueprintsAPIController.eTag(TestConfig.VERSION, "pipeline:redundancy,undersampling:2");
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("filters", "redundancy, undersampling"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", pipelineTag))
+                .andExpect(jsonPath("$.data.points.length()").value(2))
+                .andExpect(jsonPath("$.data.points[1].x").value(2));
+    }
+
+    @Test
+    void should_return_400_for_unknown_filter() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("filters", "redundancy,sharpen"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown filter: sharpen"));
+    }
+
+    @Test
+    void should_return_level_of_detail() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", BlueprintsAPIController.eTag(TestConfig.VERSION, "identity|lod=1")))
+                .andExpect(header().string("X-Lod-Level", "1"))
+                .andExpect(header().string("X-Lod-Levels", "2"))
+                .andExpect(jsonPath("$.data.author").value("marlio"))
+                .andExpect(jsonPath("$.data.version").value(TestConfig.VERSION.version()))
+                .andExpect(jsonPath("$.data.updatedAt").value("2025-01-01T12:00:00Z"))
+                .andExpect(jsonPath("$.data.level").value(1))
+                .andExpect(jsonPath("$.data.nextOrdinal").doesNotExist())
+                .andExpect(jsonPath("$.data.points.length()").value(2))
+                .andExpect(jsonPath("$.data.points[1].x").value(3));
+    }
+
+    @Test
+    void should_pick_level_by_max_points() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("maxPoints", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Lod-Level", "1"))
+                .andExpect(jsonPath("$.data.points.length()").value(2));
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("maxPoints", "100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Lod-Level", "0"))
+                .andExpect(jsonPath("$.data.points.length()").value(4));
+    }
+
+    @Test
+    void should_return_304_for_unchanged_level_of_detail() throws Exception {
+        String eTag = BlueprintsAPIController.eTag(TestConfig.VERSION, "identity|lod=1");
+
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "1").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "0").header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_return_400_for_invalid_level_of_detail() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("maxPoints", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "1").param("maxPoints", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa").param("lod", "1").param("filters", "redundancy"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("lod and maxPoints cannot be combined with filters"));
+    }
+
+    @Test
+    void should_return_404_for_level_of_detail_of_missing_blueprint() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/inexistente").param("lod", "1"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void should_return_404_when_blueprint_not_found() throws Exception {
         mockMvc.perform(get("/api/v1/blueprints/marlio/inexistente"))
@@ -108,6 +329,57 @@ class BlueprintsAPIControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    /* =========================
+       POST /api/v1/blueprints/bulk
+       ========================= */
+    @Test
+    void should_import_json_array_in_bulk() throws Exception {
+        String body = """
+                [{"author":"bulk","name":"a","points":[{"x":1,"y":2}]},
+                 {"author":"john","name":"house","points":[]},
+                 {"author":"","name":"b","points":[]},
+                 {"author":"bulk","name":"c","points":[{"x":"nope","y":0}]},
+                 {"author":"bulk","name":"d","points":[]}]
+                """;
+
+        mockMvc.perform(post("/api/v1/blueprints/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received").value(5))
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.duplicates").value(1))
+                .andExpect(jsonPath("$.data.invalid").value(2))
+                .andExpect(jsonPath("$.data.rejected[?(@.index == 2)].status").value("INVALID"))
+                .andExpect(jsonPath("$.data.rejected[?(@.index == 1)].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void should_import_ndjson_in_bulk() throws Exception {
+        String body = """
+                {"author":"nd","name":"a","points":[]}
+                {"author":"nd","name":"b","points":[{"x":0,"y":0}]}
+                """;
+
+        mockMvc.perform(post("/api/v1/blueprints/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.created").value(2))
+                .andExpect(jsonPath("$.data.rejected").isEmpty());
+    }
+
+    @Test
+    void should_return_400_with_summary_for_malformed_bulk_body() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"author\":\"broken\",\"name\":\"a\",\"points\":[]}, {\"author\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.data.received").value(1))
+                .andExpect(jsonPath("$.data.error").isNotEmpty());
+    }
+
     /* =========================
        PUT /api/v1/blueprints/{author}/{name}/points
        ========================= */
@@ -128,12 +400,115 @@ class BlueprintsAPIControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    /* =========================
+       GET /api/v1/blueprints/{author}/{name}/points?since=
+       ========================= */
+    @Test
+    void should_return_points_since_ordinal() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa/points").param("since", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.fullReload").value(false))
+                .andExpect(jsonPath("$.data.nextOrdinal").value(4))
+                .andExpect(jsonPath("$.data.points.length()").value(2))
+                .andExpect(jsonPath("$.data.points[0].x").value(3));
+    }
+
+    @Test
+    void should_return_400_for_negative_since() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints/marlio/casa/points").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /* =========================
+       POST /api/v1/blueprints/{author}/{name}/points
+       ========================= */
+    @Test
+    void should_append_point_array() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/marlio/casa/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":2},{\"y\":4,\"x\":3,\"extra\":{\"a\":1}}]"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data").value(2));
+        org.junit.jupiter.api.Assertions.assertArrayEquals(new int[] {1, 2, 3, 4}, TestConfig.lastAppended);
+    }
+
+    @Test
+    void should_append_point_ndjson() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/marlio/casa/points")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":7,\"y\":8}\n{\"x\":9,\"y\":10}\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data").value(2));
+        org.junit.jupiter.api.Assertions.assertArrayEquals(new int[] {7, 8, 9, 10}, TestConfig.lastAppended);
+    }
+
+    @Test
+    void should_return_400_for_point_without_coordinates() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/marlio/casa/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void should_return_404_when_appending_points_to_nonexistent_blueprint() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/marlio/nope/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":1}]"))
+                .andExpect(status().isNotFound());
+    }
+
+    /* =========================
+       POST /api/v1/blueprints/bulk/{author}/{name}/points
+       ========================= */
+    @Test
+    void should_ingest_blueprint_from_ndjson_points() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/bulk/marlio/mapa/points")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"x\":5,\"y\":1}\n{\"x\":2,\"y\":8}\n"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.name").value("mapa"))
+                .andExpect(jsonPath("$.data.pointCount").value(2))
+                .andExpect(jsonPath("$.data.bbox.maxY").value(8))
+                .andExpect(jsonPath("$.data.points").doesNotExist());
+        org.junit.jupiter.api.Assertions.assertArrayEquals(new int[] {5, 1, 2, 8}, TestConfig.lastIngested);
+    }
+
+    @Test
+    void should_return_403_when_ingesting_existing_blueprint() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/bulk/exists/mapa/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":1}]"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void should_return_400_for_malformed_ingest() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/bulk/marlio/mapa/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":1}, 3]"))
+                .andExpect(status().isBadRequest());
+    }
+
     /* ==========================================================
        CONFIGURACIÓN DE TEST (Fake Service, NO Mockito)
        ========================================================== */
     @TestConfiguration
     static class TestConfig {
 
+        static volatile int[] lastAppended;
+        static volatile int[] lastIngested;
+        static volatile BoundingBox lastSearch;
+        static final BlueprintVersion VERSION = new BlueprintVersion(7, java.time.Instant.parse("2025-01-01T12:00:00Z"));
+        static final java.util.concurrent.atomic.AtomicInteger blueprintLoads = new java.util.concurrent.atomic.AtomicInteger();
+        static final List<PackedPoints> PYRAMID = List.of(PackedPoints.of(0, 0, 1, 1, 2, 2, 3, 3), PackedPoints.of(0, 0, 3, 3));
+
+        @Bean
+        public BlueprintBulkImporter blueprintBulkImporter() {
+            return new BlueprintBulkImporter(new InMemoryBlueprintPersistence(), TransactionOperations.withoutTransaction(),
+                    new BlueprintEventBus(1, BlueprintEventBus.Overflow.CLOSE, 1), 2);
+        }
+
         @Bean
         public BlueprintsServices blueprintsServices() {
             return new BlueprintsServices(null, null) {
@@ -145,6 +520,24 @@ class BlueprintsAPIControllerTest {
                     );
                 }
 
+                @Override
+                public BlueprintPage getBlueprintsPage(BlueprintCursor after, int limit) {
+                    if (after != null) return new BlueprintPage(List.of(), null);
+                    return new BlueprintPage(List.copyOf(getAllBlueprints()), new BlueprintCursor("marlio", "casa"));
+                }
+
+                @Override
+                public void exportBlueprints(Consumer<Blueprint> sink) {
+                    sink.accept(new Blueprint("marlio", "casa", List.of(new Point(0, 0))));
+                    sink.accept(new Blueprint("marlio", "patio", List.of()));
+                }
+
+                @Override
+                public List<BlueprintSummary> searchByBoundingBox(BoundingBox box, int limit) {
+                    lastSearch = box;
+                    return List.of(new BlueprintSummary("marlio", "casa", 4, new BoundingBox(0, 0, 3, 3), 7));
+                }
+
                 @Override
                 public Set<Blueprint> getBlueprintsByAuthor(String author)
                         throws BlueprintNotFoundException {
@@ -155,12 +548,57 @@ class BlueprintsAPIControllerTest {
                 }
 
                 @Override
-                public Blueprint getBlueprint(String author, String name)
+                public List<BlueprintSummary> getBlueprintSummariesByAuthor(String author)
+                        throws BlueprintNotFoundException {
+                    if (author.equals("unknown")) {
+                        throw new BlueprintNotFoundException("Author not found");
+                    }
+                    return List.of(new BlueprintSummary(author, "casa", 4, new BoundingBox(0, 0, 3, 3), 7),
+                            new BlueprintSummary(author, "patio", 2, new BoundingBox(1, 1, 2, 2), 1));
+                }
+
+                @Override
+                public PointDelta getPointsSince(String author, String name, int since) {
+                    return new PointDelta(1, 0, 4, false, PackedPoints.of(3, 3, 4, 4));
+                }
+
+                @Override
+                public String filterSpec(BlueprintsFilter f) {
+                    return f == null ? "identity" : super.filterSpec(f);
+                }
+
+                @Override
+                public BlueprintVersion getBlueprintVersion(String author, String name)
                         throws BlueprintNotFoundException {
                     if (name.equals("inexistente")) {
                         throw new BlueprintNotFoundException("Blueprint not found");
                     }
-                    return new Blueprint(author, name, List.of(new Point(0, 0)));
+                    return VERSION;
+                }
+
+                @Override
+                public Blueprint getBlueprint(String author, String name, BlueprintsFilter f)
+                        throws BlueprintNotFoundException {
+                    if (name.equals("inexistente")) {
+                        throw new BlueprintNotFoundException("Blueprint not found");
+                    }
+                    blueprintLoads.incrementAndGet();
+                    Blueprint bp = new Blueprint(author, name,
+                            List.of(new Point(0, 0), new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+                    // "carrera": una escritura llegó entre la lectura de la versión y la del plano
+                    bp.setVersion(name.equals("carrera") ? VERSION.version() + 1 : VERSION.version());
+                    bp.setUpdatedAt(VERSION.updatedAt());
+                    return f == null ? bp : f.apply(bp);
+                }
+
+                @Override
+                public LodLevel getLodLevel(String author, String name, int level) {
+                    return LodLevel.atLevel(PYRAMID, level);
+                }
+
+                @Override
+                public LodLevel getLodLevelWithin(String author, String name, int maxPoints) {
+                    return LodLevel.within(PYRAMID, maxPoints);
                 }
 
                 @Override
@@ -171,6 +609,26 @@ class BlueprintsAPIControllerTest {
                     }
                 }
 
+                @Override
+                public BlueprintSummary ingestBlueprint(String author, String name, int[] xy)
+                        throws BlueprintPersistenceException {
+                    if (author.equals("exists")) {
+                        throw new BlueprintPersistenceException("Already exists");
+                    }
+                    lastIngested = xy;
+                    return new BlueprintSummary(author, name, xy.length / 2,
+                            BoundingBox.of(PackedPoints.of(xy)), 0);
+                }
+
+                @Override
+                public void addPoints(String author, String name, int[] xy)
+                        throws BlueprintNotFoundException {
+                    if (name.equals("nope")) {
+                        throw new BlueprintNotFoundException("Blueprint not found");
+                    }
+                    lastAppended = xy;
+                }
+
                 @Override
                 public void addPoint(String author, String name, int x, int y)
                         throws BlueprintNotFoundException {
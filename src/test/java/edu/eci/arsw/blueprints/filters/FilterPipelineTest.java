@@ -0,0 +1,135 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.PointSequence;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterPipelineTest {
+
+    private static PackedPoints randomWithDuplicates(int size) {
+        SplittableRandom rnd = new SplittableRandom(7);
+        PackedPoints pts = new PackedPoints(size);
+        int x = 0, y = 0;
+        for (int i = 0; i < size; i++) {
+            if (rnd.nextInt(3) != 0) {
+                x += rnd.nextInt(-2, 3);
+                y += rnd.nextInt(-2, 3);
+            }
+            pts.append(x, y);
+        }
+        return pts;
+    }
+
+    @Test
+    void testFusedPipelineMatchesChainedFilters() {
+        Blueprint bp = Blueprint.ofPacked("author", "big", randomWithDuplicates(10_000));
+
+        Blueprint chained = new UndersamplingFilter().apply(new RedundancyFilter().apply(bp));
+        Blueprint fused = FilterPipeline.parse("redundancy,undersampling").apply(bp);
+
+        assertEquals(chained.getPointSequence(), fused.getPointSequence());
+    }
+
+    @Test
+    void testEveryFilterKeepsVersionTimestampAndOrdinals() {
+        Blueprint bp = Blueprint.ofPacked("author", "big", randomWithDuplicates(1_000), 5);
+        bp.setVersion(9);
+        bp.setUpdatedAt(Instant.parse("2025-01-01T12:00:00Z"));
+
+        for (BlueprintsFilter f : List.of(new RedundancyFilter(), new UndersamplingFilter(), new SimplificationFilter(),
+                FilterPipeline.parse("redundancy,undersampling"))) {
+            Blueprint filtered = f.apply(bp);
+            assertTrue(filtered.pointCount() < bp.pointCount(), f.getClass().getSimpleName());
+            assertEquals(9, filtered.getVersion());
+            assertEquals(bp.getUpdatedAt(), filtered.getUpdatedAt());
+            assertEquals(5, filtered.getBaseOrdinal());
+            assertEquals(1_005, filtered.getNextOrdinal());
+        }
+    }
+
+    @Test
+    void testStagesRunInOrder() {
+        PackedPoints in = PackedPoints.of(0, 0, 0, 0, 1, 1, 2, 2, 2, 2, 3, 3);
+
+        // Primero undersampling: ve los duplicados y se queda con índices 0, 2, 4
+        assertEquals(PackedPoints.of(0, 0, 1, 1, 2, 2), FilterPipeline.parse("undersampling,redundancy").apply(in));
+        // Primero redundancy: (0,0) (1,1) (2,2) (3,3) y luego índices 0 y 2
+        assertEquals(PackedPoints.of(0, 0, 2, 2), FilterPipeline.parse("redundancy,undersampling").apply(in));
+    }
+
+    @Test
+    void testUndersamplingStep() {
+        PackedPoints in = PackedPoints.of(0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6);
+
+        assertEquals(PackedPoints.of(0, 0, 3, 3, 6, 6), FilterPipeline.parse("undersampling:3").apply(in));
+    }
+
+    @Test
+    void testWholeStageBetweenStreamingStages() {
+        FilterStage.Whole reverse = new FilterStage.Whole() {
+            @Override
+            public String spec() { return "reverse"; }
+
+            @Override
+            public PointSequence apply(PointSequence in) {
+                PackedPoints out = new PackedPoints(in.size());
+                for (int i = in.size() - 1; i >= 0; i--) out.append(in.x(i), in.y(i));
+                return out;
+            }
+        };
+        FilterPipeline pipeline = new FilterPipeline(List.of(FilterStages.REDUNDANCY, reverse, FilterStages.undersampling(2)));
+
+        assertEquals("redundancy,reverse,undersampling:2", pipeline.spec());
+        assertEquals(PackedPoints.of(3, 3, 1, 1), pipeline.apply(PackedPoints.of(0, 0, 1, 1, 1, 1, 2, 2, 3, 3)));
+    }
+
+    @Test
+    void testSpecIsCanonical() {
+        assertEquals("redundancy,undersampling:2", FilterPipeline.parse(" redundancy , undersampling ").spec());
+        assertEquals("", FilterPipeline.parse("").spec());
+        assertEquals("redundancy,douglas-peucker:2.0,visvalingam:1.0",
+                FilterPipeline.parse("redundancy,douglas-peucker:2,visvalingam").spec());
+    }
+
+    @Test
+    void testSimplificationStageAfterRedundancy() {
+        // Duplicado y punto colineal: redundancy quita el primero y douglas-peucker el segundo
+        FilterPipeline pipeline = FilterPipeline.parse("redundancy,douglas-peucker:0.5");
+
+        assertEquals(PackedPoints.of(0, 0, 10, 0, 10, 10),
+                pipeline.apply(PackedPoints.of(0, 0, 0, 0, 5, 0, 10, 0, 10, 10)));
+    }
+
+    @Test
+    void testEmptyPipelineReturnsSameBlueprint() {
+        Blueprint bp = Blueprint.ofPacked("author", "b", PackedPoints.of(1, 1, 1, 1));
+        assertSame(bp, FilterPipeline.parse(" , ").apply(bp));
+    }
+
+    @Test
+    void testInvalidSpecs() {
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("blur"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("undersampling:0"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("undersampling:two"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("redundancy:1"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("douglas-peucker:-1"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("visvalingam:NaN"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("douglas-peucker:wide"));
+        assertThrows(IllegalArgumentException.class, () -> FilterPipeline.parse("redundancy,".repeat(FilterPipeline.MAX_STAGES + 1)));
+    }
+
+    @Test
+    void testPipelineIsReusableAcrossRuns() {
+        FilterPipeline pipeline = FilterPipeline.parse("redundancy,undersampling");
+        PackedPoints in = PackedPoints.of(5, 5, 5, 5, 6, 6, 7, 7);
+
+        assertEquals(pipeline.apply(in), pipeline.apply(in));
+    }
+}
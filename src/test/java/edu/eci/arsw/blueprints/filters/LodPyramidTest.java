@@ -0,0 +1,82 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LodPyramidTest {
+
+    private static PackedPoints randomWalk(int size) {
+        SplittableRandom rnd = new SplittableRandom(11);
+        PackedPoints pts = new PackedPoints(size);
+        int x = 0, y = 0;
+        for (int i = 0; i < size; i++) {
+            x += rnd.nextInt(-5, 6);
+            y += rnd.nextInt(-5, 6);
+            pts.append(x, y);
+        }
+        return pts;
+    }
+
+    private static boolean isSubsequence(PackedPoints small, PackedPoints big) {
+        int j = 0;
+        for (int i = 0; i < big.size() && j < small.size(); i++) {
+            if (big.x(i) == small.x(j) && big.y(i) == small.y(j)) j++;
+        }
+        return j == small.size();
+    }
+
+    @Test
+    void testLevelsShrinkByFactorUntilMinPoints() {
+        PackedPoints base = randomWalk(10_000);
+        List<PackedPoints> levels = new LodPyramid(4, 100).build(base);
+
+        assertEquals(base, levels.get(0));
+        assertEquals(List.of(10_000, 2_500, 625, 157, 40), levels.stream().map(PackedPoints::size).toList());
+    }
+
+    @Test
+    void testEachLevelIsASubsetOfThePreviousAndKeepsEndpoints() {
+        PackedPoints base = randomWalk(5_000);
+        List<PackedPoints> levels = new LodPyramid(2, 10).build(base);
+
+        for (int l = 1; l < levels.size(); l++) {
+            PackedPoints level = levels.get(l);
+            assertTrue(isSubsequence(level, levels.get(l - 1)), "level " + l + " is not nested");
+            assertEquals(base.x(0), level.x(0));
+            assertEquals(base.y(base.size() - 1), level.y(level.size() - 1));
+        }
+    }
+
+    @Test
+    void testCoarseLevelsKeepTheCorners() {
+        // Cuadrado con 100 puntos por lado: las esquinas son los únicos vértices con área
+        PackedPoints square = new PackedPoints(401);
+        for (int i = 0; i < 100; i++) square.append(i, 0);
+        for (int i = 0; i < 100; i++) square.append(100, i);
+        for (int i = 0; i < 100; i++) square.append(100 - i, 100);
+        for (int i = 0; i <= 100; i++) square.append(0, 100 - i);
+
+        List<PackedPoints> levels = new LodPyramid(4, 8).build(square);
+        PackedPoints coarse = levels.get(levels.size() - 1);
+
+        assertTrue(isSubsequence(PackedPoints.of(0, 0, 100, 0, 100, 100, 0, 100, 0, 0), coarse));
+    }
+
+    @Test
+    void testSmallBlueprintHasOneLevel() {
+        PackedPoints base = PackedPoints.of(0, 0, 1, 1, 2, 0);
+
+        assertEquals(List.of(base), new LodPyramid().build(base));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new LodPyramid(1, 100));
+        assertThrows(IllegalArgumentException.class, () -> new LodPyramid(4, 1));
+    }
+}
@@ -0,0 +1,120 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolylineSimplifierTest {
+
+    private static PackedPoints randomWalk(int size, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        PackedPoints pts = new PackedPoints(size);
+        int x = 0, y = 0;
+        for (int i = 0; i < size; i++) {
+            x += rnd.nextInt(-5, 6);
+            y += rnd.nextInt(-5, 6);
+            pts.append(x, y);
+        }
+        return pts;
+    }
+
+    /** Índice de cada punto de {@code out} dentro de {@code in}; falla si no es una subsecuencia. */
+    private static int[] keptIndices(PackedPoints in, PackedPoints out) {
+        int[] idx = new int[out.size()];
+        int j = 0;
+        for (int i = 0; i < in.size() && j < out.size(); i++) {
+            if (in.x(i) == out.x(j) && in.y(i) == out.y(j)) idx[j++] = i;
+        }
+        assertEquals(out.size(), j, "output is not a subsequence of the input");
+        return idx;
+    }
+
+    @Test
+    void testCollinearPointsCollapseToEndpoints() {
+        PackedPoints line = new PackedPoints(100);
+        for (int i = 0; i < 100; i++) line.append(i, 2 * i);
+
+        assertEquals(PackedPoints.of(0, 0, 99, 198), PolylineSimplifier.douglasPeucker(line, 0));
+        assertEquals(PackedPoints.of(0, 0, 99, 198), PolylineSimplifier.visvalingamWhyatt(line, 0.5));
+    }
+
+    @Test
+    void testCornersAboveToleranceAreKept() {
+        PackedPoints square = PackedPoints.of(0, 0, 5, 0, 10, 0, 10, 5, 10, 10, 5, 10, 0, 10, 0, 0);
+        PackedPoints corners = PackedPoints.of(0, 0, 10, 0, 10, 10, 0, 10, 0, 0);
+
+        assertEquals(corners, PolylineSimplifier.douglasPeucker(square, 1));
+        assertEquals(corners, PolylineSimplifier.visvalingamWhyatt(square, 1));
+    }
+
+    @Test
+    void testDouglasPeuckerRespectsTolerance() {
+        PackedPoints in = randomWalk(5_000, 3);
+        double tolerance = 4;
+        PackedPoints out = PolylineSimplifier.douglasPeucker(in, tolerance);
+        int[] kept = keptIndices(in, out);
+        int[] xy = in.toArray();
+
+        assertTrue(out.size() < in.size());
+        assertEquals(0, kept[0]);
+        assertEquals(in.size() - 1, kept[kept.length - 1]);
+        for (int k = 0; k + 1 < kept.length; k++) {
+            for (int i = kept[k] + 1; i < kept[k + 1]; i++) {
+                assertTrue(PolylineSimplifier.segmentDistance2(xy, i, kept[k], kept[k + 1]) <= tolerance * tolerance,
+                        "point " + i + " is farther than the tolerance");
+            }
+        }
+    }
+
+    @Test
+    void testLargerToleranceKeepsFewerPoints() {
+        PackedPoints in = randomWalk(5_000, 5);
+
+        assertTrue(PolylineSimplifier.douglasPeucker(in, 8).size() <= PolylineSimplifier.douglasPeucker(in, 2).size());
+        assertTrue(PolylineSimplifier.visvalingamWhyatt(in, 50).size() <= PolylineSimplifier.visvalingamWhyatt(in, 5).size());
+        keptIndices(in, PolylineSimplifier.visvalingamWhyatt(in, 50));
+    }
+
+    @Test
+    void testZeroToleranceKeepsEveryVertex() {
+        PackedPoints zigzag = PackedPoints.of(0, 0, 1, 1, 2, 0, 3, 1, 4, 0);
+
+        assertEquals(zigzag, PolylineSimplifier.douglasPeucker(zigzag, 0));
+        assertEquals(zigzag, PolylineSimplifier.visvalingamWhyatt(zigzag, 0));
+    }
+
+    @Test
+    void testSmallInputsAreCopied() {
+        assertEquals(PackedPoints.of(), PolylineSimplifier.douglasPeucker(PackedPoints.of(), 1));
+        assertEquals(PackedPoints.of(1, 1, 2, 2), PolylineSimplifier.visvalingamWhyatt(PackedPoints.of(1, 1, 2, 2), 1));
+    }
+
+    @Test
+    void testLargeInputDoesNotOverflowTheStack() {
+        // Espiral: cada punto es un vértice relevante, el peor caso para una versión recursiva
+        int n = 1_000_000;
+        PackedPoints spiral = new PackedPoints(n);
+        for (int i = 0; i < n; i++) {
+            double r = Math.sqrt(i) * 20, a = Math.sqrt(i) * 0.5;
+            spiral.append((int) (r * Math.cos(a)), (int) (r * Math.sin(a)));
+        }
+
+        PackedPoints dp = PolylineSimplifier.douglasPeucker(spiral, 0.5);
+        PackedPoints vw = PolylineSimplifier.visvalingamWhyatt(spiral, 0.5);
+
+        assertTrue(dp.size() > 2 && dp.size() < n);
+        assertTrue(vw.size() > 2 && vw.size() < n);
+    }
+
+    @Test
+    void testInvalidTolerance() {
+        PackedPoints pts = PackedPoints.of(0, 0, 1, 1, 2, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> PolylineSimplifier.douglasPeucker(pts, -1));
+        assertThrows(IllegalArgumentException.class, () -> PolylineSimplifier.visvalingamWhyatt(pts, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> PolylineSimplifier.douglasPeucker(pts, Double.POSITIVE_INFINITY));
+    }
+}
@@ -1,9 +1,12 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
 import org.junit.jupiter.api.Test;
 
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 import java.util.Arrays;
 import java.util.List;
 
@@ -65,4 +68,57 @@ class RedundancyFilterTest {
         assertEquals(3, filtered.getPoints().size());
         assertEquals(original.getPoints(), filtered.getPoints());
     }
+
+    @Test
+    void testRedundancyFilterOnPackedBlueprint() {
+        RedundancyFilter filter = new RedundancyFilter();
+        Blueprint original = Blueprint.ofPacked("author", "packed", PackedPoints.of(0, 0, 0, 0, 1, 1, 1, 1, 0, 0));
+
+        Blueprint filtered = filter.apply(original);
+
+        assertEquals(PackedPoints.of(0, 0, 1, 1, 0, 0), filtered.getPointSequence());
+    }
+
+    /** Rachas de duplicados de largo aleatorio, algunas más largas que un tramo completo. */
+    private static PackedPoints runs(int size, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        PackedPoints pts = new PackedPoints(size);
+        int x = 0, y = 0;
+        while (pts.size() < size) {
+            x += rnd.nextInt(-3, 4);
+            y += rnd.nextInt(-3, 4);
+            int run = rnd.nextInt(10) == 0 ? rnd.nextInt(50, 300) : rnd.nextInt(1, 4);
+            for (int i = 0; i < run && pts.size() < size; i++) pts.append(x, y);
+        }
+        return pts;
+    }
+
+    @Test
+    void testParallelFilterMatchesSequential() {
+        RedundancyFilter sequential = new RedundancyFilter();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            RedundancyFilter parallel = new RedundancyFilter(new ChunkedFilterExecutor(1, 97, pool));
+            for (int size : new int[] {1, 2, 96, 97, 98, 10_007}) {
+                Blueprint bp = Blueprint.ofPacked("author", "big", runs(size, size));
+                assertEquals(sequential.apply(bp).getPointSequence(), parallel.apply(bp).getPointSequence(), "size " + size);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelFilterStitchesDuplicatesAcrossChunks() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            RedundancyFilter parallel = new RedundancyFilter(new ChunkedFilterExecutor(1, 2, pool));
+            // Tramos [0,2) [2,4) [4,6): la racha de (1,1) cruza dos fronteras
+            Blueprint bp = Blueprint.ofPacked("author", "b", PackedPoints.of(0, 0, 1, 1, 1, 1, 1, 1, 1, 1, 2, 2));
+
+            assertEquals(PackedPoints.of(0, 0, 1, 1, 2, 2), parallel.apply(bp).getPointSequence());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimplificationFilterTest {
+
+    @Test
+    void testDefaultFilterDropsNearlyCollinearPoints() {
+        SimplificationFilter filter = new SimplificationFilter();
+        Blueprint original = new Blueprint("author", "wall",
+                List.of(new Point(0, 0), new Point(5, 1), new Point(10, 0), new Point(10, 10)));
+
+        Blueprint filtered = filter.apply(original);
+
+        assertEquals("author", filtered.getAuthor());
+        assertEquals("wall", filtered.getName());
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0), new Point(10, 10)), filtered.getPoints());
+    }
+
+    @Test
+    void testVisvalingamWithConfiguredArea() {
+        Blueprint original = Blueprint.ofPacked("author", "b", PackedPoints.of(0, 0, 5, 1, 10, 0, 10, 10));
+
+        // El triángulo (0,0)-(5,1)-(10,0) tiene área 5
+        assertEquals(3, new SimplificationFilter("visvalingam", 6).apply(original).pointCount());
+        assertEquals(4, new SimplificationFilter("visvalingam", 4).apply(original).pointCount());
+    }
+
+    @Test
+    void testSmallBlueprintIsReturnedUnchanged() {
+        Blueprint original = Blueprint.ofPacked("author", "b", PackedPoints.of(0, 0, 1, 1));
+
+        assertSame(original, new SimplificationFilter().apply(original));
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new SimplificationFilter("bezier", 1));
+        assertThrows(IllegalArgumentException.class, () -> new SimplificationFilter("douglas-peucker", -0.5));
+    }
+}
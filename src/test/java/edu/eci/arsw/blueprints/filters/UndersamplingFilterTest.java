@@ -1,9 +1,11 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ForkJoinPool;
 import java.util.Arrays;
 import java.util.List;
 
@@ -74,4 +76,35 @@ class UndersamplingFilterTest {
         Blueprint filtered = filter.apply(empty);
         assertEquals(0, filtered.getPoints().size());
     }
+
+    @Test
+    void testUndersamplingFilterOnPackedBlueprint() {
+        UndersamplingFilter filter = new UndersamplingFilter();
+        Blueprint original = Blueprint.ofPacked("author", "packed", PackedPoints.of(0, 0, 1, 1, 2, 2, 3, 3, 4, 4));
+
+        Blueprint filtered = filter.apply(original);
+
+        assertEquals(PackedPoints.of(0, 0, 2, 2, 4, 4), filtered.getPointSequence());
+    }
+
+    @Test
+    void testParallelFilterKeepsGlobalEvenIndices() {
+        UndersamplingFilter sequential = new UndersamplingFilter();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            // Tramos de largo impar: la mitad empieza en un índice impar
+            UndersamplingFilter parallel = new UndersamplingFilter(new ChunkedFilterExecutor(1, 7, pool));
+            for (int size : new int[] {3, 7, 8, 15, 10_001}) {
+                PackedPoints pts = new PackedPoints(size);
+                for (int i = 0; i < size; i++) pts.append(i, -i);
+                Blueprint bp = Blueprint.ofPacked("author", "big", pts);
+
+                PackedPoints expected = (PackedPoints) sequential.apply(bp).getPointSequence();
+                assertEquals(expected, parallel.apply(bp).getPointSequence(), "size " + size);
+                assertEquals((size + 1) / 2, expected.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -93,4 +93,136 @@ class BlueprintTest {
         Blueprint emptyBlueprint = new Blueprint("author", "empty", List.of());
         assertTrue(emptyBlueprint.getPoints().isEmpty());
     }
+
+    @Test
+    void testPackedBlueprintBuildsPointViewsLazily() {
+        Blueprint packed = Blueprint.ofPacked("author", "packed", PackedPoints.of(0, 0, 1, 1));
+
+        assertEquals(2, packed.pointCount());
+        assertEquals(List.of(new Point(0, 0), new Point(1, 1)), packed.getPoints());
+        assertNotSame(packed.getPoints().get(0), packed.getPoints().get(0));
+    }
+
+    @Test
+    void testAddPointToPackedBlueprintAppendsCoordinates() {
+        Blueprint packed = Blueprint.ofPacked("author", "packed", new PackedPoints());
+        packed.addPoint(3, 4);
+        packed.addPoint(new Point(5, 6));
+
+        assertInstanceOf(PackedPoints.class, packed.getPointSequence());
+        assertEquals(PackedPoints.of(3, 4, 5, 6), packed.getPointSequence());
+    }
+
+    @Test
+    void testReplacePointsLeavesPackedMode() {
+        Blueprint packed = Blueprint.ofPacked("author", "packed", PackedPoints.of(1, 1));
+        packed.replacePoints(List.of(new Point(9, 9)));
+
+        assertEquals(1, packed.pointCount());
+        assertEquals(9, packed.getPointSequence().x(0));
+        assertFalse(packed.getPointSequence() instanceof PackedPoints);
+    }
+
+    @Test
+    void testOrdinalsFollowAppendsAndReplacements() {
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(0, 0), new Point(1, 1)));
+        assertEquals(List.of(0, 1), bp.getPoints().stream().map(Point::getOrdinal).toList());
+        assertEquals(2, bp.getNextOrdinal());
+
+        bp.replacePoints(List.of(new Point(5, 5)));
+
+        // El reemplazo deja libre el ordinal 2: quien pida desde ahí recibe fullReload
+        assertEquals(3, bp.getBaseOrdinal());
+        assertEquals(4, bp.getNextOrdinal());
+        assertEquals(3, bp.getPoints().get(0).getOrdinal());
+    }
+
+    @Test
+    void testPackedBlueprintTracksOrdinals() {
+        Blueprint bp = Blueprint.ofPacked("a", "b", PackedPoints.of(1, 1, 2, 2), 10);
+        bp.addPoint(3, 3);
+
+        assertEquals(10, bp.getBaseOrdinal());
+        assertEquals(13, bp.getNextOrdinal());
+    }
+
+    @Test
+    void testBoundingBoxFollowsAppendsAndReplacements() {
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(2, 3), new Point(-1, 8)));
+        assertEquals(new BoundingBox(-1, 3, 2, 8), bp.getBoundingBox());
+
+        bp.addPoint(new Point(5, 0));
+        assertEquals(new BoundingBox(-1, 0, 5, 8), bp.getBoundingBox());
+
+        bp.replacePoints(List.of(new Point(9, 9)));
+        assertEquals(new BoundingBox(9, 9, 9, 9), bp.getBoundingBox());
+
+        bp.replacePoints(List.of());
+        assertNull(bp.getBoundingBox());
+    }
+
+    @Test
+    void testPackedBlueprintBoundingBox() {
+        Blueprint packed = Blueprint.ofPacked("a", "b", new PackedPoints());
+        assertNull(packed.getBoundingBox());
+
+        packed.addPoint(4, 4);
+        packed.addPoint(1, 6);
+        assertEquals(new BoundingBox(1, 4, 4, 6), packed.getBoundingBox());
+        assertEquals(new BoundingBox(0, 0, 3, 3), Blueprint.ofPacked("a", "c", PackedPoints.of(0, 3, 3, 0)).getBoundingBox());
+    }
+
+    @Test
+    void testStoredStatsFollowAppendsAndReplacements() {
+        Blueprint bp = new Blueprint("a", "b", List.of(new Point(1, 1), new Point(2, 2)));
+        bp.addPoint(new Point(3, 3));
+
+        assertEquals(3, bp.storedPointCount());
+        assertEquals(PointStats.ofCoordinates(new int[] {1, 1, 2, 2, 3, 3}).hash(), bp.getContentHash());
+        // Mismos puntos, misma huella, sin importar la representación
+        assertEquals(bp.getContentHash(), Blueprint.ofPacked("x", "y", PackedPoints.of(1, 1, 2, 2, 3, 3)).getContentHash());
+
+        bp.replacePoints(List.of(new Point(9, 9)));
+        assertEquals(1, bp.storedPointCount());
+        assertEquals(PointStats.ofCoordinates(new int[] {9, 9}).hash(), bp.getContentHash());
+
+        bp.replacePoints(List.of());
+        assertEquals(0, bp.storedPointCount());
+        assertEquals(PointStats.EMPTY_HASH, bp.getContentHash());
+    }
+
+    @Test
+    void testWithAppendedMatchesAFreshPackedBlueprint() {
+        Blueprint bp = Blueprint.ofPacked("a", "b", PackedPoints.of(1, 1, 2, 2), 3);
+
+        Blueprint next = bp.withAppended(new int[] {-4, 9, 5, 0});
+        Blueprint fresh = Blueprint.ofPacked("a", "b", PackedPoints.of(1, 1, 2, 2, -4, 9, 5, 0), 3);
+
+        assertEquals(fresh.getPointSequence(), next.getPointSequence());
+        assertEquals(fresh.pointCount(), next.pointCount());
+        assertEquals(fresh.getContentHash(), next.getContentHash());
+        assertEquals(fresh.getBoundingBox(), next.getBoundingBox());
+        assertEquals(3, next.getBaseOrdinal());
+        assertEquals(7, next.getNextOrdinal());
+        assertEquals(2, bp.pointCount());
+        assertEquals(PackedPoints.of(1, 1, 2, 2), bp.getPointSequence());
+        assertThrows(IllegalStateException.class, () -> new Blueprint("a", "b", List.of()).withAppended(new int[] {1, 1}));
+    }
+
+    @Test
+    void testAddPointDoesNotOverwriteASnapshotSharingTheArray() {
+        // Con capacidad de sobra, withAppended comparte el arreglo entre las dos instantáneas
+        PackedPoints pts = new PackedPoints(8);
+        pts.appendAll(new int[] {1, 1, 2, 2});
+        Blueprint bp = Blueprint.ofPacked("a", "b", pts);
+        Blueprint next = bp.withAppended(new int[] {3, 3});
+
+        bp.addPoint(9, 9);
+        next.addPoint(4, 4);
+        next.addPoint(5, 5);
+
+        assertEquals(PackedPoints.of(1, 1, 2, 2, 9, 9), bp.getPointSequence());
+        assertEquals(PackedPoints.of(1, 1, 2, 2, 3, 3, 4, 4, 5, 5), next.getPointSequence());
+        assertEquals(5, next.getNextOrdinal());
+    }
 }
@@ -0,0 +1,41 @@
+package edu.eci.arsw.blueprints.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingBoxTest {
+
+    @Test
+    void testOfPoints() {
+        BoundingBox expected = new BoundingBox(-3, 1, 7, 9);
+
+        assertEquals(expected, BoundingBox.of(PackedPoints.of(2, 9, -3, 4, 7, 1)));
+        assertNull(BoundingBox.of(PackedPoints.of()));
+    }
+
+    @Test
+    void testOfNullableNeedsAllFourColumns() {
+        assertEquals(new BoundingBox(0, 0, 1, 1), BoundingBox.ofNullable(0, 0, 1, 1));
+        assertNull(BoundingBox.ofNullable(null, 0, 1, 1));
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(new BoundingBox(-10, 0, 20, 5), BoundingBox.parse("-10, 0,20,5"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("a,b,c,d"));
+        assertThrows(IllegalArgumentException.class, () -> BoundingBox.parse("5,0,1,1"));
+    }
+
+    @Test
+    void testIntersectsIncludesEdges() {
+        BoundingBox box = new BoundingBox(0, 0, 10, 10);
+
+        assertTrue(box.intersects(new BoundingBox(10, 10, 20, 20)));
+        assertTrue(box.intersects(new BoundingBox(2, 2, 3, 3)));
+        assertTrue(new BoundingBox(2, 2, 3, 3).intersects(box));
+        assertFalse(box.intersects(new BoundingBox(11, 0, 20, 10)));
+        assertFalse(box.intersects(new BoundingBox(0, -5, 10, -1)));
+    }
+}
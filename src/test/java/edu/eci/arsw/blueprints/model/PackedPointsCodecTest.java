@@ -0,0 +1,50 @@
+package edu.eci.arsw.blueprints.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedPointsCodecTest {
+
+    @Test
+    void testRoundTripPreservesPoints() {
+        PackedPoints points = PackedPoints.of(0, 0, 10, 0, 10, 10, -3, 7);
+
+        assertEquals(points, PackedPointsCodec.decode(PackedPointsCodec.encode(points)));
+    }
+
+    @Test
+    void testRoundTripHandlesExtremeCoordinates() {
+        PackedPoints points = PackedPoints.of(Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1);
+
+        assertEquals(points, PackedPointsCodec.decode(PackedPointsCodec.encode(points)));
+    }
+
+    @Test
+    void testSmallStepsUseTwoBytesPerPoint() {
+        PackedPoints points = new PackedPoints(1000);
+        for (int i = 0; i < 1000; i++) points.append(i, i % 7);
+
+        byte[] encoded = PackedPointsCodec.encode(points);
+
+        assertTrue(encoded.length <= 2 + 2 * 1000, "encoded size " + encoded.length);
+        assertEquals(points, PackedPointsCodec.decode(encoded));
+    }
+
+    @Test
+    void testEmptySequence() {
+        byte[] encoded = PackedPointsCodec.encode(new PackedPoints());
+
+        assertEquals(1, encoded.length);
+        assertTrue(PackedPointsCodec.decode(encoded).isEmpty());
+        assertTrue(PackedPointsCodec.decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void testTruncatedDataIsRejected() {
+        byte[] encoded = PackedPointsCodec.encode(PackedPoints.of(1000, 1000, 5000, 5000));
+        byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThrows(IllegalArgumentException.class, () -> PackedPointsCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,95 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedPointsTest {
+
+    @Test
+    void testAppendGrowsBeyondInitialCapacity() {
+        PackedPoints points = new PackedPoints(1);
+        for (int i = 0; i < 100; i++) points.append(i, -i);
+
+        assertEquals(100, points.size());
+        assertEquals(99, points.x(99));
+        assertEquals(-99, points.y(99));
+    }
+
+    @Test
+    void testExtendedWithKeepsEarlierSnapshotsIntact() {
+        PackedPoints first = PackedPoints.of(1, 1);
+        PackedPoints second = first.extendedWith(new int[] {2, 2});
+        PackedPoints current = second;
+        for (int i = 3; i < 100; i++) current = current.extendedWith(new int[] {i, i});
+
+        assertEquals(PackedPoints.of(1, 1), first);
+        assertEquals(PackedPoints.of(1, 1, 2, 2), second);
+        assertEquals(99, current.size());
+        assertEquals(99, current.y(98));
+        assertThrows(IllegalArgumentException.class, () -> second.extendedWith(new int[] {1}));
+    }
+
+    @Test
+    void testOfCopiesInterleavedCoordinates() {
+        int[] xy = {1, 2, 3, 4};
+        PackedPoints points = PackedPoints.of(xy);
+        xy[0] = 100;
+
+        assertEquals(2, points.size());
+        assertEquals(1, points.x(0));
+        assertEquals(4, points.y(1));
+        assertArrayEquals(new int[]{1, 2, 3, 4}, points.toArray());
+    }
+
+    @Test
+    void testOfRejectsOddLength() {
+        assertThrows(IllegalArgumentException.class, () -> PackedPoints.of(1, 2, 3));
+    }
+
+    @Test
+    void testIndexOutOfBounds() {
+        PackedPoints points = PackedPoints.of(1, 2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> points.x(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> points.y(-1));
+    }
+
+    @Test
+    void testCopyOfListView() {
+        PackedPoints points = PackedPoints.copyOf(PointSequence.of(List.of(new Point(5, 6), new Point(7, 8))));
+
+        assertEquals(PackedPoints.of(5, 6, 7, 8), points);
+        assertEquals(PackedPoints.of(5, 6, 7, 8).hashCode(), points.hashCode());
+        assertEquals(List.of(new Point(5, 6), new Point(7, 8)), points.toPoints());
+    }
+
+    @Test
+    void testAppendAllFromPacked() {
+        PackedPoints points = PackedPoints.of(1, 1);
+        points.appendAll(PackedPoints.of(2, 2, 3, 3));
+
+        assertEquals(PackedPoints.of(1, 1, 2, 2, 3, 3), points);
+    }
+
+    @Test
+    void testSerializesLikePointList() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(
+                Blueprint.ofPacked("author", "packed", PackedPoints.of(1, 2, 3, 4)));
+
+        assertTrue(json.contains("\"points\":[{\"x\":1,\"y\":2},{\"x\":3,\"y\":4}]"), json);
+        assertFalse(json.contains("pointSequence"), json);
+    }
+
+    @Test
+    void testAppendAllInterleavedCoordinates() {
+        PackedPoints points = PackedPoints.of(1, 2);
+        points.appendAll(new int[] {3, 4, 5, 6});
+
+        assertEquals(PackedPoints.of(1, 2, 3, 4, 5, 6), points);
+        assertThrows(IllegalArgumentException.class, () -> points.appendAll(new int[] {7}));
+    }
+}
@@ -0,0 +1,50 @@
+package edu.eci.arsw.blueprints.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PointStatsTest {
+
+    @Test
+    void testCountAndBoundingBox() {
+        PointStats stats = PointStats.ofCoordinates(new int[] {2, 9, -3, 4, 7, 1});
+
+        assertEquals(3, stats.count());
+        assertEquals(new BoundingBox(-3, 1, 7, 9), stats.bbox());
+        assertEquals(stats.hash(), PointStats.of(PackedPoints.of(2, 9, -3, 4, 7, 1)).hash());
+    }
+
+    @Test
+    void testEmptyStats() {
+        PointStats empty = PointStats.of(PackedPoints.of());
+
+        assertEquals(0, empty.count());
+        assertNull(empty.bbox());
+        assertEquals(PointStats.EMPTY_HASH, empty.hash());
+    }
+
+    @Test
+    void testHashDependsOnOrderAndContent() {
+        long h = PointStats.ofCoordinates(new int[] {1, 2, 3, 4}).hash();
+
+        assertNotEquals(h, PointStats.ofCoordinates(new int[] {3, 4, 1, 2}).hash());
+        assertNotEquals(h, PointStats.ofCoordinates(new int[] {2, 1, 3, 4}).hash());
+        assertNotEquals(h, PointStats.ofCoordinates(new int[] {1, 2, 3, 4, 3, 4}).hash());
+        assertEquals(h, PointStats.ofCoordinates(new int[] {1, 2, 3, 4}).hash());
+    }
+
+    @Test
+    void testConcatHashMatchesAppendingPointByPoint() {
+        int[] head = {0, 0, 5, -1, 7, 7};
+        int[] tail = new int[2 * 1000];
+        for (int i = 0; i < tail.length; i++) tail[i] = i * 31 - 500;
+        PointStats whole = PointStats.ofCoordinates(head);
+        for (int i = 0; i < tail.length; i += 2) whole.add(tail[i], tail[i + 1]);
+
+        long concat = PointStats.concatHash(PointStats.ofCoordinates(head).hash(), PointStats.ofCoordinates(tail).hash(), 1000);
+
+        assertEquals(whole.hash(), concat);
+        assertEquals(whole.hash(), PointStats.concatHash(whole.hash(), PointStats.EMPTY_HASH, 0));
+    }
+}
@@ -0,0 +1,35 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintCursorTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        BlueprintCursor cursor = new BlueprintCursor("a:b", "c:d/é");
+
+        assertEquals(cursor, BlueprintCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void testEncodedCursorIsUrlSafe() {
+        String token = new BlueprintCursor("john?&=", "house #1").encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void testDecodeRejectsMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> BlueprintCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> BlueprintCursor.decode("bm9wZQ"));
+        assertThrows(IllegalArgumentException.class, () -> BlueprintCursor.decode("OTk6eA"));
+    }
+
+    @Test
+    void testOrderingIsAuthorThenName() {
+        assertTrue(new BlueprintCursor("a", "z").compareTo(new BlueprintCursor("b", "a")) < 0);
+        assertTrue(new BlueprintCursor("a", "b").compareTo(new BlueprintCursor("a", "a")) > 0);
+    }
+}
@@ -0,0 +1,39 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintKeyTest {
+
+    @Test
+    void testKeysWithColonsDoNotCollide() {
+        BlueprintKey k1 = new BlueprintKey("a:b", "c");
+        BlueprintKey k2 = new BlueprintKey("a", "b:c");
+
+        assertNotEquals(k1, k2);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        BlueprintKey k1 = new BlueprintKey("john", "house");
+        BlueprintKey k2 = new BlueprintKey("john", "house");
+
+        assertEquals(k1, k2);
+        assertEquals(k1.hashCode(), k2.hashCode());
+        assertNotEquals(k1, new BlueprintKey("john", "garage"));
+        assertNotEquals(k1, "john/house");
+    }
+
+    @Test
+    void testOrderingIsAuthorThenName() {
+        assertTrue(new BlueprintKey("a", "z").compareTo(new BlueprintKey("b", "a")) < 0);
+        assertTrue(new BlueprintKey("a", "b").compareTo(new BlueprintKey("a", "a")) > 0);
+        assertEquals(0, new BlueprintKey("a", "a").compareTo(new BlueprintKey("a", "a")));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("john/house", new BlueprintKey("john", "house").toString());
+    }
+}
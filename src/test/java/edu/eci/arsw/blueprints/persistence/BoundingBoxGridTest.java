@@ -0,0 +1,104 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingBoxGridTest {
+
+    private static final int CELL = 1 << BoundingBoxGrid.CELL_SHIFT;
+
+    private static BlueprintKey key(int i) {
+        return new BlueprintKey("a", "bp-" + i);
+    }
+
+    @Test
+    void testFindsBoxesAcrossCellsAndNegativeCoordinates() {
+        BoundingBoxGrid grid = new BoundingBoxGrid();
+        grid.put(key(1), new BoundingBox(-5, -5, 5, 5));
+        grid.put(key(2), new BoundingBox(CELL - 1, 0, CELL + 1, 1));
+        grid.put(key(3), new BoundingBox(10 * CELL, 10 * CELL, 10 * CELL + 1, 10 * CELL + 1));
+
+        assertEquals(Set.of(key(1)), new HashSet<>(grid.intersecting(new BoundingBox(-1, -1, 0, 0))));
+        assertEquals(Set.of(key(1), key(2)), new HashSet<>(grid.intersecting(new BoundingBox(0, 0, CELL, 0))));
+        assertEquals(List.of(key(2)), grid.intersecting(new BoundingBox(CELL + 1, 1, CELL + 1, 1)));
+        assertTrue(grid.intersecting(new BoundingBox(CELL + 2, 2, 2 * CELL, 2 * CELL)).isEmpty());
+    }
+
+    @Test
+    void testReplaceAndRemove() {
+        BoundingBoxGrid grid = new BoundingBoxGrid();
+        grid.put(key(1), new BoundingBox(0, 0, 1, 1));
+        grid.put(key(1), new BoundingBox(5 * CELL, 5 * CELL, 5 * CELL, 5 * CELL));
+
+        assertTrue(grid.intersecting(new BoundingBox(0, 0, 1, 1)).isEmpty());
+        assertEquals(List.of(key(1)), grid.intersecting(new BoundingBox(5 * CELL, 5 * CELL, 5 * CELL, 5 * CELL)));
+
+        grid.put(key(1), null);
+        assertEquals(0, grid.size());
+        grid.remove(key(2));
+        assertTrue(grid.intersecting(new BoundingBox(5 * CELL, 5 * CELL, 5 * CELL, 5 * CELL)).isEmpty());
+    }
+
+    @Test
+    void testOversizedBoxesAndHugeQueries() {
+        BoundingBoxGrid grid = new BoundingBoxGrid();
+        grid.put(key(1), new BoundingBox(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+        grid.put(key(2), new BoundingBox(3, 3, 4, 4));
+
+        assertEquals(Set.of(key(1), key(2)), new HashSet<>(grid.intersecting(new BoundingBox(0, 0, 10, 10))));
+        assertEquals(Set.of(key(1), key(2)),
+                new HashSet<>(grid.intersecting(new BoundingBox(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE))));
+        grid.remove(key(1));
+        assertEquals(List.of(key(2)), grid.intersecting(new BoundingBox(-1_000_000, -1_000_000, 1_000_000, 1_000_000)));
+    }
+
+    @Test
+    void testLargeBoxesAreIndexedAtALevelNearTheirSize() {
+        BoundingBoxGrid grid = new BoundingBoxGrid();
+        // Extensión típica de un plano CAD: unas 50k unidades por lado
+        BoundingBox site = new BoundingBox(0, 0, 50_000, 40_000);
+        grid.put(key(1), site);
+        grid.put(key(2), new BoundingBox(3, 3, 4, 4));
+
+        int level = grid.levelOf(key(1));
+        assertTrue(level > 0 && level < 8, "level " + level);
+        assertEquals(0, grid.levelOf(key(2)));
+        assertEquals(Set.of(key(1), key(2)), new HashSet<>(grid.intersecting(new BoundingBox(0, 0, 10, 10))));
+        assertEquals(List.of(key(1)), grid.intersecting(new BoundingBox(49_000, 39_000, 49_001, 39_001)));
+        assertTrue(grid.intersecting(new BoundingBox(50_001, 0, 60_000, 10)).isEmpty());
+    }
+
+    @Test
+    void testMatchesALinearScan() {
+        SplittableRandom rnd = new SplittableRandom(21);
+        BoundingBoxGrid grid = new BoundingBoxGrid();
+        Map<BlueprintKey, BoundingBox> boxes = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            int x = rnd.nextInt(-20 * CELL, 20 * CELL), y = rnd.nextInt(-20 * CELL, 20 * CELL);
+            int w = rnd.nextInt(i % 50 == 0 ? 20 * CELL : i % 7 == 0 ? 200 * CELL : 2 * CELL), h = rnd.nextInt(2 * CELL);
+            BoundingBox box = new BoundingBox(x, y, x + w, y + h);
+            grid.put(key(i), box);
+            boxes.put(key(i), box);
+        }
+        for (int q = 0; q < 200; q++) {
+            int x = rnd.nextInt(-25 * CELL, 25 * CELL), y = rnd.nextInt(-25 * CELL, 25 * CELL);
+            BoundingBox query = new BoundingBox(x, y, x + rnd.nextInt(5 * CELL), y + rnd.nextInt(5 * CELL));
+            List<BlueprintKey> expected = new ArrayList<>();
+            boxes.forEach((k, b) -> { if (b.intersects(query)) expected.add(k); });
+
+            List<BlueprintKey> found = grid.intersecting(query);
+            assertEquals(new HashSet<>(expected), new HashSet<>(found));
+            assertEquals(expected.size(), found.size(), "duplicates in result");
+        }
+    }
+}
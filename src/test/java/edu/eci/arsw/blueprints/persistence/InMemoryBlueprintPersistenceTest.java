@@ -1,13 +1,25 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,6 +58,25 @@ class InMemoryBlueprintPersistenceTest {
         });
     }
 
+    @Test
+    void testSaveAllAndFindExistingKeys() throws Exception {
+        persistence.saveAll(List.of(new Blueprint("bulk", "a", List.of(new Point(1, 1))),
+                                    new Blueprint("bulk", "b", List.of())));
+
+        assertEquals(List.of(new Point(1, 1)), persistence.getBlueprint("bulk", "a").getPoints());
+        assertEquals(Set.of(new BlueprintKey("bulk", "b"), new BlueprintKey("john", "house")),
+                persistence.findExistingKeys(List.of(new BlueprintKey("bulk", "b"),
+                        new BlueprintKey("john", "house"), new BlueprintKey("bulk", "c"))));
+    }
+
+    @Test
+    void testSaveAllRejectsWholeBatchOnDuplicate() {
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.saveAll(List.of(
+                new Blueprint("bulk", "a", List.of()), new Blueprint("john", "house", List.of()))));
+
+        assertTrue(persistence.findExistingKeys(List.of(new BlueprintKey("bulk", "a"))).isEmpty());
+    }
+
     @Test
     void testGetNonExistentBlueprint() {
         assertThrows(BlueprintNotFoundException.class, () -> {
@@ -104,10 +135,328 @@ class InMemoryBlueprintPersistenceTest {
         assertTrue(updated.getPoints().contains(new Point(5, 5)));
     }
 
+    @Test
+    void testAddPointsAppendsInOrderWithoutMutatingPreviousReads() throws Exception {
+        Blueprint before = persistence.getBlueprint("john", "garage");
+
+        persistence.addPoints("john", "garage", new int[] {1, 2, 3, 4});
+
+        assertEquals(3, before.pointCount());
+        assertEquals(List.of(new Point(5, 5), new Point(15, 5), new Point(15, 15), new Point(1, 2), new Point(3, 4)),
+                persistence.getBlueprint("john", "garage").getPoints());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoints("nobody", "x", new int[] {1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> persistence.addPoints("john", "garage", new int[] {1}));
+    }
+
+    @Test
+    void testAddingNoPointsKeepsTheVersion() throws Exception {
+        BlueprintVersion before = persistence.getVersion("john", "garage");
+
+        persistence.addPoints("john", "garage", new int[0]);
+
+        assertEquals(before, persistence.getVersion("john", "garage"));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoints("nobody", "x", new int[0]));
+    }
+
+    @Test
+    void testVersionIncrementsOnWrites() throws Exception {
+        assertEquals(0, persistence.getVersion("john", "house").version());
+
+        persistence.addPoint("john", "house", 1, 1);
+        persistence.updateBlueprint("john", "house", new Blueprint("john", "house", List.of()));
+
+        BlueprintVersion version = persistence.getVersion("john", "house");
+        assertEquals(2, version.version());
+        assertNotNull(version.updatedAt());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getVersion("nobody", "x"));
+    }
+
+    @Test
+    void testGetPointsSinceReturnsOnlyAppendedPoints() throws Exception {
+        persistence.addPoints("john", "garage", new int[] {1, 2, 3, 4});
+
+        PointDelta delta = persistence.getPointsSince("john", "garage", 3);
+
+        assertFalse(delta.fullReload());
+        assertEquals(5, delta.nextOrdinal());
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4)), delta.points().toPoints());
+        assertTrue(persistence.getPointsSince("john", "garage", 5).points().isEmpty());
+    }
+
+    @Test
+    void testGetPointsSinceAfterReplacementRequiresFullReload() throws Exception {
+        persistence.updateBlueprint("john", "garage", new Blueprint("john", "garage", List.of(new Point(9, 9))));
+
+        PointDelta delta = persistence.getPointsSince("john", "garage", 3);
+
+        assertTrue(delta.fullReload());
+        assertEquals(4, delta.baseOrdinal());
+        assertEquals(5, delta.nextOrdinal());
+        assertEquals(List.of(new Point(9, 9)), delta.points().toPoints());
+        assertFalse(persistence.getPointsSince("john", "garage", 4).fullReload());
+    }
+
+    @Test
+    void testReplacePoints() throws Exception {
+        long version = persistence.getVersion("john", "garage").version();
+
+        persistence.replacePoints("john", "garage", new int[] {9, 9, 1, 2});
+
+        PointDelta delta = persistence.getPointsSince("john", "garage", 0);
+        assertTrue(delta.fullReload());
+        assertEquals(List.of(new Point(9, 9), new Point(1, 2)), delta.points().toPoints());
+        assertEquals(version + 1, persistence.getVersion("john", "garage").version());
+        assertEquals(new BoundingBox(1, 2, 9, 9), persistence.getBlueprint("john", "garage").getBoundingBox());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.replacePoints("nobody", "x", new int[0]));
+    }
+
+    @Test
+    void testIngestBlueprintDefaultsToSave() throws Exception {
+        persistence.ingestBlueprint("ana", "mapa", new int[] {1, 2, 3, 4});
+
+        Blueprint bp = persistence.getBlueprint("ana", "mapa");
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4)), bp.getPoints());
+        assertEquals(new BoundingBox(1, 2, 3, 4), bp.getBoundingBox());
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.ingestBlueprint("ana", "mapa", new int[0]));
+    }
+
     @Test
     void testAddPointToNonExistentBlueprint() {
         assertThrows(BlueprintNotFoundException.class, () -> {
             persistence.addPoint("unknown", "unknown", 5, 5);
         });
     }
+
+    @Test
+    void testGetBlueprintsPageWalksAllInOrder() throws BlueprintPersistenceException {
+        persistence.saveBlueprint(new Blueprint("alice", "b", List.of()));
+        persistence.saveBlueprint(new Blueprint("alice", "a", List.of()));
+        persistence.saveBlueprint(new Blueprint("zoe", "x", List.of()));
+
+        List<String> seen = new java.util.ArrayList<>();
+        BlueprintCursor cursor = null;
+        do {
+            BlueprintPage page = persistence.getBlueprintsPage(cursor, 2);
+            assertTrue(page.blueprints().size() <= 2);
+            page.blueprints().forEach(bp -> seen.add(bp.getAuthor() + "/" + bp.getName()));
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertEquals(List.of("alice/a", "alice/b", "jane/garden", "john/garage", "john/house", "zoe/x"), seen);
+    }
+
+    @Test
+    void testGetBlueprintsPageSkipsDeletedBlueprints() throws BlueprintNotFoundException {
+        BlueprintPage first = persistence.getBlueprintsPage(null, 1);
+        assertEquals("jane", first.blueprints().get(0).getAuthor());
+
+        persistence.deleteBlueprint("john", "garage");
+
+        BlueprintPage second = persistence.getBlueprintsPage(first.next(), 10);
+        assertEquals(1, second.blueprints().size());
+        assertEquals("house", second.blueprints().get(0).getName());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void testStreamAllBlueprints() throws BlueprintPersistenceException {
+        persistence.saveBlueprint(new Blueprint("author", "test", List.of(new Point(0, 0))));
+
+        try (var all = persistence.streamAllBlueprints()) {
+            assertEquals(4, all.count());
+        }
+    }
+
+    @Test
+    void testAuthorsAndNamesWithColonsDoNotCollide() throws Exception {
+        persistence.saveBlueprint(new Blueprint("a:b", "c", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("a", "b:c", List.of(new Point(2, 2))));
+
+        assertEquals(1, persistence.getBlueprint("a:b", "c").getPoints().get(0).getX());
+        assertEquals(2, persistence.getBlueprint("a", "b:c").getPoints().get(0).getX());
+    }
+
+    @Test
+    void testAuthorIndexFollowsRenamesAndDeletes() throws Exception {
+        persistence.updateBlueprint("john", "garage", new Blueprint("jane", "shed", List.of()));
+
+        assertEquals(Set.of("house"), names(persistence.getBlueprintsByAuthor("john")));
+        assertEquals(Set.of("garden", "shed"), names(persistence.getBlueprintsByAuthor("jane")));
+
+        persistence.deleteBlueprint("john", "house");
+
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("john"));
+    }
+
+    @Test
+    void testAuthorIndexNeverDivergesUnderConcurrentWrites() throws Exception {
+        final int writers = 8;
+        final int opsPerWriter = 20_000;
+        final List<String> authors = List.of("a0", "a1", "a2", "a3");
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean done = new AtomicBoolean();
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+
+        List<java.util.concurrent.Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                for (int i = 0; i < opsPerWriter; i++) {
+                    String author = authors.get(rnd.nextInt(authors.size()));
+                    String name = "n" + rnd.nextInt(16);
+                    try {
+                        switch (rnd.nextInt(3)) {
+                            case 0 -> persistence.saveBlueprint(new Blueprint(author, name, List.of()));
+                            case 1 -> persistence.updateBlueprint(author, name, new Blueprint(
+                                    authors.get(rnd.nextInt(authors.size())), "n" + rnd.nextInt(16), List.of()));
+                            default -> persistence.deleteBlueprint(author, name);
+                        }
+                    } catch (BlueprintNotFoundException | BlueprintPersistenceException expected) {
+                        // colisiones esperadas en un espacio de claves pequeño
+                    }
+                }
+                return null;
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            start.await();
+            while (!done.get()) {
+                for (String author : authors) {
+                    try {
+                        for (Blueprint bp : persistence.getBlueprintsByAuthor(author)) {
+                            if (!bp.getAuthor().equals(author)) violations.add(author + " -> " + bp.getAuthor());
+                        }
+                    } catch (BlueprintNotFoundException ignored) {
+                        // el autor puede quedar sin planos momentáneamente
+                    }
+                }
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (int w = 0; w < writers; w++) futures.get(w).get(60, TimeUnit.SECONDS);
+        done.set(true);
+        futures.get(writers).get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertTrue(violations.isEmpty(), () -> "Index returned foreign blueprints: " + violations);
+        Set<Blueprint> all = persistence.getAllBlueprints();
+        for (String author : authors) {
+            Set<Blueprint> expected = all.stream()
+                    .filter(bp -> bp.getAuthor().equals(author))
+                    .collect(Collectors.toSet());
+            Set<Blueprint> indexed;
+            try {
+                indexed = persistence.getBlueprintsByAuthor(author);
+            } catch (BlueprintNotFoundException e) {
+                indexed = Set.of();
+            }
+            assertEquals(expected, indexed, "author " + author);
+            for (Blueprint bp : indexed) {
+                assertSame(persistence.getBlueprint(bp.getAuthor(), bp.getName()), bp);
+            }
+        }
+    }
+
+    @Test
+    void testLodPyramidIsServedForItsVersionOnly() throws Exception {
+        List<PackedPoints> levels = List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0));
+        BlueprintVersion v0 = persistence.getVersion("john", "house");
+        persistence.saveLodPyramid("john", "house", v0, "identity", levels);
+
+        assertEquals(new LodLevel(1, 2, levels.get(1)), persistence.getLodLevel("john", "house", v0, "identity", 1));
+        assertEquals(1, persistence.getLodLevel("john", "house", v0, "identity", 9).level());
+        assertEquals(0, persistence.getLodLevelWithin("john", "house", v0, "identity", 3).level());
+        assertEquals(1, persistence.getLodLevelWithin("john", "house", v0, "identity", 1).level());
+        assertNull(persistence.getLodLevel("john", "house", v0, "pipeline:redundancy", 0));
+
+        persistence.addPoint("john", "house", 7, 7);
+        BlueprintVersion v1 = persistence.getVersion("john", "house");
+        assertNull(persistence.getLodLevel("john", "house", v1, "identity", 0));
+
+        // Construida sobre una versión que ya no existe: no se guarda
+        persistence.saveLodPyramid("john", "house", v0, "pipeline:redundancy", levels);
+        assertNull(persistence.getLodLevel("john", "house", v0, "pipeline:redundancy", 0));
+    }
+
+    @Test
+    void testLodPyramidIsDiscardedWithTheBlueprint() throws Exception {
+        BlueprintVersion v0 = persistence.getVersion("john", "house");
+        persistence.saveLodPyramid("john", "house", v0, "identity", List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0)));
+
+        persistence.deleteBlueprint("john", "house");
+        persistence.saveBlueprint(new Blueprint("john", "house", List.of(new Point(1, 1))));
+
+        assertNull(persistence.getLodLevel("john", "house", persistence.getVersion("john", "house"), "identity", 0));
+        persistence.saveLodPyramid("ghost", "bp", v0, "identity", List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0)));
+        assertNull(persistence.getLodLevel("ghost", "bp", v0, "identity", 0));
+    }
+
+    private static List<String> keys(List<BlueprintSummary> found) {
+        return found.stream().map(s -> s.author() + "/" + s.name()).toList();
+    }
+
+    @Test
+    void testFindIntersectingOrdersByAuthorAndName() throws Exception {
+        // Datos de ejemplo: john/house (0,0)-(10,10), john/garage (5,5)-(15,15), jane/garden (2,2)-(6,7)
+        assertEquals(List.of("jane/garden", "john/garage", "john/house"),
+                keys(persistence.findIntersecting(new BoundingBox(5, 5, 6, 6), 10)));
+        assertEquals(List.of("john/garage"), keys(persistence.findIntersecting(new BoundingBox(11, 11, 100, 100), 10)));
+        assertEquals(List.of("jane/garden"), keys(persistence.findIntersecting(new BoundingBox(0, 0, 100, 100), 1)));
+        assertTrue(persistence.findIntersecting(new BoundingBox(-10, -10, -1, -1), 10).isEmpty());
+
+        BlueprintSummary house = persistence.findIntersecting(new BoundingBox(0, 0, 1, 1), 10).get(0);
+        assertEquals(new BlueprintSummary("john", "house", 4, new BoundingBox(0, 0, 10, 10), 0), house);
+        assertThrows(IllegalArgumentException.class, () -> persistence.findIntersecting(new BoundingBox(0, 0, 1, 1), 0));
+    }
+
+    @Test
+    void testFindIntersectingFollowsWrites() throws Exception {
+        BoundingBox far = new BoundingBox(1000, 1000, 1000, 1000);
+        persistence.addPoint("john", "house", 1000, 1000);
+        assertEquals(List.of("john/house"), keys(persistence.findIntersecting(far, 10)));
+
+        persistence.updateBlueprint("john", "house", new Blueprint("jim", "house", List.of(new Point(1, 1))));
+        assertTrue(persistence.findIntersecting(far, 10).isEmpty());
+        assertEquals(List.of("jim/house"), keys(persistence.findIntersecting(new BoundingBox(1, 1, 1, 1), 10)));
+
+        persistence.deleteBlueprint("jim", "house");
+        persistence.saveBlueprint(new Blueprint("empty", "bp", List.of()));
+        assertTrue(persistence.findIntersecting(new BoundingBox(1, 1, 1, 1), 10).isEmpty());
+    }
+
+    @Test
+    void testSummariesByAuthorAreSortedByName() throws Exception {
+        persistence.addPoint("john", "house", 20, -1);
+
+        List<BlueprintSummary> summaries = persistence.getSummariesByAuthor("john");
+
+        assertEquals(List.of(new BlueprintSummary("john", "garage", 3, new BoundingBox(5, 5, 15, 15), 0),
+                        new BlueprintSummary("john", "house", 5, new BoundingBox(0, -1, 20, 10), 1)),
+                summaries);
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getSummariesByAuthor("nobody"));
+    }
+
+    @Test
+    void testStoredStatsMatchThePointsAndRecomputeWalksInBatches() throws Exception {
+        persistence.addPoints("john", "house", new int[] {20, -1, 3, 3});
+        Blueprint house = persistence.getBlueprint("john", "house");
+
+        assertEquals(6, house.pointCount());
+        assertEquals(PointStats.of(house.getPointSequence()).hash(), house.getContentHash());
+
+        StatsRecomputation first = persistence.recomputeStats(null, 2);
+        StatsRecomputation second = persistence.recomputeStats(first.next(), 2);
+
+        assertEquals(new StatsRecomputation(2, 0, new BlueprintCursor("john", "garage")), first);
+        assertEquals(new StatsRecomputation(1, 0, null), second);
+        assertSame(house, persistence.getBlueprint("john", "house"));
+    }
+
+    private static Set<String> names(Set<Blueprint> blueprints) {
+        return blueprints.stream().map(Blueprint::getName).collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,296 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedBlueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles({"test", "packed-points"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "blueprints.packed-points.migrate=true",
+        "blueprints.packed-points.migrate-batch-size=2"
+})
+@Import({PackedBlueprintPersistence.class, PackedPointsMigration.class})
+class PackedBlueprintPersistenceTest {
+
+    @Autowired
+    private PackedBlueprintPersistence persistence;
+
+    @Autowired
+    private PackedPointsMigration migration;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() throws BlueprintPersistenceException {
+        persistence.saveBlueprint(new Blueprint("john", "house", List.of(new Point(0, 0), new Point(10, 0))));
+        persistence.saveBlueprint(new Blueprint("john", "garage", List.of(new Point(5, 5))));
+        persistence.saveBlueprint(new Blueprint("jane", "garden", List.of(new Point(2, 2))));
+    }
+
+    private long pointRows() {
+        return entityManager.createQuery("SELECT COUNT(p) FROM Point p", Long.class).getSingleResult();
+    }
+
+    @Test
+    void testSaveWritesOneRowAndNoPointRows() throws Exception {
+        entityManager.flush();
+
+        assertEquals(0, pointRows());
+        Blueprint house = persistence.getBlueprint("john", "house");
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0)), house.getPoints());
+    }
+
+    @Test
+    void testSaveDuplicateThrows() {
+        assertThrows(BlueprintPersistenceException.class,
+                () -> persistence.saveBlueprint(new Blueprint("john", "house", List.of())));
+    }
+
+    @Test
+    void testGetMissingThrows() {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("nobody", "none"));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("nobody"));
+    }
+
+    @Test
+    void testAddPointAppends() throws Exception {
+        persistence.addPoint("john", "garage", 7, 8);
+        entityManager.flush();
+        entityManager.clear();
+
+        Blueprint garage = persistence.getBlueprint("john", "garage");
+        assertEquals(List.of(new Point(5, 5), new Point(7, 8)), garage.getPoints());
+    }
+
+    @Test
+    void testAddPointsAppendsToTheSameRow() throws Exception {
+        persistence.addPoints("john", "garage", new int[] {1, 2, 3, 4});
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(new Point(5, 5), new Point(1, 2), new Point(3, 4)),
+                persistence.getBlueprint("john", "garage").getPoints());
+        assertEquals(0, pointRows());
+        assertEquals(1, persistence.getVersion("john", "garage").version());
+    }
+
+    @Test
+    void testGetPointsSince() throws Exception {
+        persistence.addPoints("john", "house", new int[] {20, 0});
+        persistence.updateBlueprint("john", "garage", new Blueprint("john", "garage", List.of(new Point(1, 1))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(new Point(20, 0)), persistence.getPointsSince("john", "house", 2).points().toPoints());
+        PointDelta replaced = persistence.getPointsSince("john", "garage", 1);
+        assertTrue(replaced.fullReload());
+        assertEquals(2, replaced.baseOrdinal());
+    }
+
+    @Test
+    void testUpdateRenamesAndReplacesPoints() throws Exception {
+        persistence.updateBlueprint("john", "house", new Blueprint("john", "villa", List.of(new Point(1, 1))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("john", "house"));
+        assertEquals(List.of(new Point(1, 1)), persistence.getBlueprint("john", "villa").getPoints());
+        assertThrows(BlueprintPersistenceException.class,
+                () -> persistence.updateBlueprint("john", "villa", new Blueprint("john", "garage", List.of())));
+    }
+
+    @Test
+    void testReplacePoints() throws Exception {
+        long version = persistence.getVersion("john", "house").version();
+
+        persistence.replacePoints("john", "house", new int[] {4, 4, 6, 2});
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(new Point(4, 4), new Point(6, 2)), persistence.getBlueprint("john", "house").getPoints());
+        assertEquals(version + 1, persistence.getVersion("john", "house").version());
+        assertTrue(persistence.getPointsSince("john", "house", 0).fullReload());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.replacePoints("nobody", "x", new int[0]));
+    }
+
+    @Test
+    void testDelete() throws Exception {
+        persistence.deleteBlueprint("jane", "garden");
+
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("jane", "garden"));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.deleteBlueprint("jane", "garden"));
+    }
+
+    @Test
+    void testLodPyramidIsServedForItsVersionAndDiscardedOnReplace() throws Exception {
+        List<PackedPoints> levels = List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0));
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion v0 = persistence.getVersion("john", "house");
+        persistence.saveLodPyramid("john", "house", v0, "identity", levels);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(new LodLevel(1, 2, levels.get(1)), persistence.getLodLevel("john", "house", v0, "identity", 1));
+        assertEquals(1, persistence.getLodLevelWithin("john", "house", v0, "identity", 2).level());
+
+        persistence.updateBlueprint("john", "house", new Blueprint("john", "house", List.of(new Point(1, 1))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(persistence.getLodLevel("john", "house", v0, "identity", 1));
+        assertNull(persistence.getLodLevel("john", "house", persistence.getVersion("john", "house"), "identity", 0));
+    }
+
+    @Test
+    void testGetBlueprintsPageWalksAllInOrder() {
+        List<String> seen = new ArrayList<>();
+        BlueprintCursor cursor = null;
+        do {
+            BlueprintPage page = persistence.getBlueprintsPage(cursor, 2);
+            page.blueprints().forEach(bp -> seen.add(bp.getAuthor() + "/" + bp.getName()));
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertEquals(List.of("jane/garden", "john/garage", "john/house"), seen);
+    }
+
+    @Test
+    void testStreamAllBlueprints() {
+        try (Stream<Blueprint> all = persistence.streamAllBlueprints()) {
+            assertEquals(List.of("garden", "garage", "house"), all.map(Blueprint::getName).toList());
+        }
+    }
+
+    @Test
+    void testMigrationCopiesLegacyRowsOnce() throws Exception {
+        entityManager.persist(new Blueprint("legacy", "a", List.of(new Point(1, 2), new Point(3, 4))));
+        entityManager.persist(new Blueprint("legacy", "b", List.of(new Point(5, 6))));
+        entityManager.persist(new Blueprint("legacy", "c", List.of()));
+        // Ya migrado: no debe duplicarse ni sobrescribirse
+        entityManager.persist(new Blueprint("john", "house", List.of(new Point(9, 9))));
+        entityManager.flush();
+
+        migration.run(null);
+        migration.run(null);
+        entityManager.clear();
+
+        assertEquals(List.of(new Point(1, 2), new Point(3, 4)), persistence.getBlueprint("legacy", "a").getPoints());
+        assertEquals(3, persistence.getBlueprintsByAuthor("legacy").size());
+        assertEquals(List.of(new Point(0, 0), new Point(10, 0)), persistence.getBlueprint("john", "house").getPoints());
+        assertEquals(6, entityManager.createQuery("SELECT COUNT(p) FROM PackedBlueprint p", Long.class).getSingleResult());
+    }
+
+    @Test
+    void testFindIntersectingUsesTheStoredBoundingBox() throws Exception {
+        persistence.saveBlueprint(new Blueprint("empty", "bp", List.of()));
+        persistence.addPoints("john", "house", new int[] {20, -4, 3, 3});
+        entityManager.flush();
+        entityManager.clear();
+
+        // john/house (0,-4)-(20,3), john/garage (5,5), jane/garden (2,2); el plano vacío no tiene caja
+        List<BlueprintSummary> found = persistence.findIntersecting(new BoundingBox(0, 0, 5, 5), 10);
+        assertEquals(List.of("jane/garden", "john/garage", "john/house"),
+                found.stream().map(s -> s.author() + "/" + s.name()).toList());
+        BlueprintSummary house = found.get(2);
+        assertEquals(4, house.pointCount());
+        assertEquals(new BoundingBox(0, -4, 20, 3), house.bbox());
+        assertEquals(persistence.getVersion("john", "house").version(), house.version());
+
+        assertEquals(1, persistence.findIntersecting(new BoundingBox(0, 0, 5, 5), 1).size());
+        assertEquals(List.of("house"), persistence.findIntersecting(new BoundingBox(15, -10, 30, -1), 10)
+                .stream().map(BlueprintSummary::name).toList());
+        assertTrue(persistence.findIntersecting(new BoundingBox(100, 100, 200, 200), 10).isEmpty());
+    }
+
+    @Test
+    void testBoundingBoxIsReplacedWithThePoints() throws Exception {
+        persistence.updateBlueprint("john", "garage", new Blueprint("john", "garage", List.of(new Point(50, 50), new Point(60, 55))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(persistence.findIntersecting(new BoundingBox(5, 5, 5, 5), 10).isEmpty());
+        assertEquals(new BoundingBox(50, 50, 60, 55), persistence.findIntersecting(new BoundingBox(55, 0, 55, 100), 10).get(0).bbox());
+    }
+
+    @Test
+    void testSummariesByAuthorDoNotDecodePoints() throws Exception {
+        persistence.addPoints("john", "house", new int[] {4, 7});
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BlueprintSummary> summaries = persistence.getSummariesByAuthor("john");
+
+        assertEquals(List.of(new BlueprintSummary("john", "garage", 1, new BoundingBox(5, 5, 5, 5), 0),
+                        new BlueprintSummary("john", "house", 3, new BoundingBox(0, 0, 10, 7),
+                                persistence.getVersion("john", "house").version())),
+                summaries);
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getSummariesByAuthor("nobody"));
+    }
+
+    @Test
+    void testAddPointsKeepsStoredStatsInStepWithThePoints() throws Exception {
+        persistence.addPoints("john", "house", new int[] {20, -4, 3, 3});
+        persistence.addPoints("john", "house", new int[] {-7, 1});
+        entityManager.flush();
+        entityManager.clear();
+
+        Blueprint house = persistence.getBlueprint("john", "house");
+        PointStats expected = PointStats.of(house.getPointSequence());
+        assertEquals(5, expected.count());
+        assertEquals(expected.hash(), storedHash("john", "house"));
+        assertEquals(new BlueprintSummary("john", "house", 5, expected.bbox(), house.getVersion()),
+                persistence.getSummariesByAuthor("john").get(1));
+    }
+
+    @Test
+    void testRecomputeStatsRepairsRowsWithoutChangingTheirVersion() throws Exception {
+        entityManager.flush();
+        // Simula una base anterior a las columnas: cantidad 0, sin caja ni hash
+        entityManager.createQuery("UPDATE PackedBlueprint b SET b.pointCount = 0, b.contentHash = 0, b.minX = null, " +
+                "b.minY = null, b.maxX = null, b.maxY = null WHERE b.author = 'john'").executeUpdate();
+        entityManager.clear();
+        BlueprintVersion before = persistence.getVersion("john", "house");
+
+        StatsRecomputation first = persistence.recomputeStats(null, 2);
+        StatsRecomputation second = persistence.recomputeStats(first.next(), 2);
+        entityManager.clear();
+
+        assertEquals(new StatsRecomputation(2, 1, new BlueprintCursor("john", "garage")), first);
+        assertEquals(new StatsRecomputation(1, 1, null), second);
+        assertEquals(before, persistence.getVersion("john", "house"));
+        assertEquals(List.of(new BlueprintSummary("john", "garage", 1, new BoundingBox(5, 5, 5, 5), 0),
+                        new BlueprintSummary("john", "house", 2, new BoundingBox(0, 0, 10, 0), before.version())),
+                persistence.getSummariesByAuthor("john"));
+        assertEquals(PointStats.ofCoordinates(new int[] {0, 0, 10, 0}).hash(), storedHash("john", "house"));
+        assertEquals(0, persistence.recomputeStats(null, 10).corrected());
+    }
+
+    private long storedHash(String author, String name) {
+        return entityManager.createQuery("SELECT b.contentHash FROM PackedBlueprint b WHERE b.author = :a AND b.name = :n", Long.class)
+                .setParameter("a", author)
+                .setParameter("n", name)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,89 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class PointCopyWriterTest {
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0};
+
+    @Test
+    void testHeaderRowAndTrailerFollowTheBinaryFormat() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PointCopyWriter writer = new PointCopyWriter(bytes);
+        writer.write(51, 7, 3, -2, Integer.MAX_VALUE);
+        writer.finish();
+
+        ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+        byte[] signature = new byte[SIGNATURE.length];
+        in.get(signature);
+        assertArrayEquals(SIGNATURE, signature);
+        assertEquals(0, in.getInt());
+        assertEquals(0, in.getInt());
+
+        assertEquals(5, in.getShort());
+        assertEquals(8, in.getInt());
+        assertEquals(51, in.getLong());
+        assertEquals(8, in.getInt());
+        assertEquals(7, in.getLong());
+        assertEquals(4, in.getInt());
+        assertEquals(3, in.getInt());
+        assertEquals(4, in.getInt());
+        assertEquals(-2, in.getInt());
+        assertEquals(4, in.getInt());
+        assertEquals(Integer.MAX_VALUE, in.getInt());
+
+        assertEquals(-1, in.getShort());
+        assertFalse(in.hasRemaining());
+    }
+
+    @Test
+    void testEachRowHasFixedSize() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PointCopyWriter writer = new PointCopyWriter(bytes);
+        for (int i = 0; i < 10; i++) writer.write(i + 1, 1, i, i, i);
+        writer.finish();
+
+        // Cabecera de 19 bytes, 50 por fila (2 + 2 * (4 + 8) + 3 * (4 + 4)) y 2 de cierre
+        assertEquals(19 + 10 * 50 + 2, bytes.size());
+    }
+
+    @Test
+    void testFailedStreamCancelsTheCopy() throws Exception {
+        PGCopyOutputStream copy = mock(PGCopyOutputStream.class);
+        when(copy.isActive()).thenReturn(true);
+
+        // Menos coordenadas que IDs: falla a mitad de las filas con una excepción no comprobada
+        assertThrows(ArrayIndexOutOfBoundsException.class,
+                () -> PostgresBlueprintPersistence.streamPoints(copy, new long[] {1, 2}, 7, 0, new int[] {1, 1}));
+        verify(copy).cancelCopy();
+
+        PGCopyOutputStream broken = mock(PGCopyOutputStream.class);
+        when(broken.isActive()).thenReturn(true);
+        doThrow(new IOException("connection reset")).when(broken).write(any(byte[].class), anyInt(), anyInt());
+        doThrow(new IOException("connection reset")).when(broken).write(anyInt());
+        assertThrows(SQLException.class,
+                () -> PostgresBlueprintPersistence.streamPoints(broken, new long[] {1}, 7, 0, new int[] {1, 1}));
+        verify(broken).cancelCopy();
+    }
+
+    @Test
+    void testCompletedStreamIsNotCancelled() throws Exception {
+        PGCopyOutputStream copy = mock(PGCopyOutputStream.class);
+
+        PostgresBlueprintPersistence.streamPoints(copy, new long[] {1, 2}, 7, 0, new int[] {1, 1, 2, 2});
+
+        verify(copy).close();
+        verify(copy, never()).cancelCopy();
+    }
+}
@@ -0,0 +1,486 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.model.PointStats;
+import edu.eci.arsw.blueprints.services.BlueprintCache;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PostgresBlueprintPersistence.class)
+class PostgresBlueprintPersistenceTest {
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() throws BlueprintPersistenceException {
+        persistence.saveBlueprint(new Blueprint("john", "house", List.of(new Point(0, 0), new Point(10, 0))));
+        persistence.saveBlueprint(new Blueprint("john", "garage", List.of(new Point(5, 5))));
+        persistence.saveBlueprint(new Blueprint("jane", "garden", List.of(new Point(2, 2))));
+    }
+
+    @Test
+    void testGetBlueprintsPageWalksAllInOrder() {
+        List<String> seen = new ArrayList<>();
+        BlueprintCursor cursor = null;
+        do {
+            BlueprintPage page = persistence.getBlueprintsPage(cursor, 2);
+            page.blueprints().forEach(bp -> seen.add(bp.getAuthor() + "/" + bp.getName()));
+            cursor = page.next();
+        } while (cursor != null);
+
+        assertEquals(List.of("jane/garden", "john/garage", "john/house"), seen);
+    }
+
+    @Test
+    void testGetBlueprintsPageLastPageHasNoCursor() {
+        BlueprintPage page = persistence.getBlueprintsPage(new BlueprintCursor("john", "garage"), 10);
+
+        assertEquals(1, page.blueprints().size());
+        assertEquals(2, page.blueprints().get(0).getPoints().size());
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void testStreamAllBlueprintsClearsPersistenceContextInBatches() throws BlueprintPersistenceException {
+        for (int i = 0; i < PostgresBlueprintPersistence.EXPORT_BATCH_SIZE + 10; i++) {
+            persistence.saveBlueprint(new Blueprint("bulk", "bp-%04d".formatted(i), List.of(new Point(i, i))));
+        }
+
+        List<String> names = new ArrayList<>();
+        try (Stream<Blueprint> all = persistence.streamAllBlueprints()) {
+            all.filter(bp -> bp.getAuthor().equals("bulk"))
+               .forEach(bp -> {
+                   assertEquals(1, bp.getPoints().size());
+                   names.add(bp.getName());
+               });
+        }
+
+        assertEquals(PostgresBlueprintPersistence.EXPORT_BATCH_SIZE + 10, names.size());
+        assertEquals("bp-0000", names.get(0));
+        assertEquals("bp-0509", names.get(names.size() - 1));
+    }
+
+    @Test
+    void testSavePackedBlueprintPersistsItsPoints() throws Exception {
+        persistence.saveBlueprint(Blueprint.ofPacked("packed", "bp", PackedPoints.of(1, 2, 3, 4)));
+
+        Blueprint saved = persistence.getBlueprint("packed", "bp");
+        assertEquals(2, saved.getPoints().size());
+        assertNotNull(saved.getPoints().get(0).getId());
+    }
+
+    @Test
+    void testSaveBatchesPointInserts() throws Exception {
+        entityManager.flush();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 120; i++) points.add(new Point(i, i));
+
+        persistence.saveBlueprint(new Blueprint("batch", "bp", points));
+        entityManager.flush();
+
+        assertEquals(121, stats.getEntityInsertCount());
+        // IDs por secuencia en bloques de 50 + INSERT agrupados: unas pocas sentencias, no una por punto
+        assertTrue(stats.getPrepareStatementCount() < 20, "statements: " + stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSaveAllAndFindExistingKeys() throws Exception {
+        persistence.saveAll(List.of(new Blueprint("bulk", "a", List.of(new Point(1, 1))),
+                                    new Blueprint("bulk", "b", List.of())));
+
+        assertEquals(1, persistence.getBlueprint("bulk", "a").getPoints().size());
+        // (john, garden) no existe aunque el autor y el nombre sí aparezcan por separado
+        assertEquals(java.util.Set.of(new BlueprintKey("bulk", "b"), new BlueprintKey("john", "house")),
+                persistence.findExistingKeys(List.of(new BlueprintKey("bulk", "b"),
+                        new BlueprintKey("john", "house"), new BlueprintKey("john", "garden"))));
+    }
+
+    @Test
+    void testAddPointsInsertsOnlyNewPoints() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        int[] xy = new int[2 * (PostgresBlueprintPersistence.APPEND_FLUSH_SIZE + 5)];
+        for (int i = 0; i < xy.length; i++) xy[i] = i;
+
+        persistence.addPoints("john", "house", xy);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(PostgresBlueprintPersistence.APPEND_FLUSH_SIZE + 5, stats.getEntityInsertCount());
+        assertEquals(0, stats.getEntityUpdateCount());
+        List<Point> points = persistence.getBlueprint("john", "house").getPoints();
+        assertEquals(2 + PostgresBlueprintPersistence.APPEND_FLUSH_SIZE + 5, points.size());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoints("nobody", "x", new int[] {1, 1}));
+    }
+
+    @Test
+    void testVersionIncrementsOnEveryWriteAndIsReadWithoutPoints() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion initial = persistence.getVersion("john", "house");
+        assertNotNull(initial.updatedAt());
+
+        persistence.addPoints("john", "house", new int[] {1, 1});
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion afterAppend = persistence.getVersion("john", "house");
+        assertEquals(initial.version() + 1, afterAppend.version());
+
+        persistence.updateBlueprint("john", "house", new Blueprint("john", "house", List.of(new Point(9, 9))));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        BlueprintVersion afterUpdate = persistence.getVersion("john", "house");
+
+        assertEquals(afterAppend.version() + 1, afterUpdate.version());
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(0, stats.getCollectionFetchCount());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getVersion("nobody", "x"));
+    }
+
+    @Test
+    void testAddingNoPointsKeepsTheVersion() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion before = persistence.getVersion("john", "house");
+
+        persistence.addPoints("john", "house", new int[0]);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(before, persistence.getVersion("john", "house"));
+        assertEquals(2, persistence.getBlueprint("john", "house").getNextOrdinal());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoints("nobody", "x", new int[0]));
+    }
+
+    @Test
+    void testGetPointsSinceReadsOnlyTheTailInOrdinalOrder() throws Exception {
+        persistence.addPoints("john", "house", new int[] {7, 7, 8, 8});
+        persistence.addPoints("john", "house", new int[] {9, 9});
+        entityManager.flush();
+        entityManager.clear();
+
+        PointDelta delta = persistence.getPointsSince("john", "house", 3);
+
+        assertFalse(delta.fullReload());
+        assertEquals(5, delta.nextOrdinal());
+        assertEquals(List.of(new Point(8, 8), new Point(9, 9)), delta.points().toPoints());
+        assertEquals(List.of(0, 1, 2, 3, 4),
+                persistence.getBlueprint("john", "house").getPoints().stream().map(Point::getOrdinal).toList());
+    }
+
+    @Test
+    void testGetPointsSinceAfterReplacementRequiresFullReload() throws Exception {
+        persistence.updateBlueprint("john", "house", new Blueprint("john", "house", List.of(new Point(3, 3))));
+        entityManager.flush();
+        entityManager.clear();
+
+        PointDelta delta = persistence.getPointsSince("john", "house", 2);
+
+        assertTrue(delta.fullReload());
+        assertEquals(3, delta.baseOrdinal());
+        assertEquals(List.of(new Point(3, 3)), delta.points().toPoints());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getPointsSince("nobody", "x", 0));
+    }
+
+    @Test
+    void testReplacePointsUsesSetStatementsAndKeepsSemantics() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        long version = persistence.getVersion("john", "house").version();
+        // Más de INSERT_ROWS puntos: una sentencia completa y una parcial
+        int count = PostgresBlueprintPersistence.INSERT_ROWS + 7;
+        int[] xy = new int[2 * count];
+        for (int i = 0; i < count; i++) {
+            xy[2 * i] = i;
+            xy[2 * i + 1] = -i;
+        }
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        persistence.replacePoints("john", "house", xy);
+
+        assertEquals(0, stats.getEntityInsertCount());
+        assertEquals(0, stats.getEntityDeleteCount());
+        assertEquals(0, stats.getCollectionFetchCount());
+        assertEquals(version + 1, persistence.getVersion("john", "house").version());
+        PointDelta all = persistence.getPointsSince("john", "house", 0);
+        assertTrue(all.fullReload());
+        assertEquals(3, all.baseOrdinal());
+        assertEquals(3 + count, all.nextOrdinal());
+        assertEquals(PackedPoints.of(xy), all.points());
+        BlueprintSummary summary = persistence.getSummariesByAuthor("john").get(1);
+        assertEquals(count, summary.pointCount());
+        assertEquals(new BoundingBox(0, -(count - 1), count - 1, 0), summary.bbox());
+        assertEquals(count, entityManager.createQuery("SELECT COUNT(p) FROM Point p WHERE p.blueprint.author = 'john' " +
+                "AND p.blueprint.name = 'house'", Long.class).getSingleResult());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.replacePoints("nobody", "x", xy));
+    }
+
+    @Test
+    void testIngestBlueprintMatchesAPersistedCopy() throws Exception {
+        int count = PostgresBlueprintPersistence.INSERT_ROWS + 3;
+        int[] xy = new int[2 * count];
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            xy[2 * i] = 2 * i;
+            xy[2 * i + 1] = i % 17;
+            points.add(new Point(2 * i, i % 17));
+        }
+        entityManager.flush();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        // En H2 no hay COPY: los puntos salen por el INSERT de varias filas
+        persistence.ingestBlueprint("ana", "mapa", xy);
+
+        assertEquals(1, stats.getEntityInsertCount());
+        persistence.saveBlueprint(new Blueprint("ana", "copia", points));
+        entityManager.flush();
+        entityManager.clear();
+        Blueprint ingested = persistence.getBlueprint("ana", "mapa");
+        Blueprint copy = persistence.getBlueprint("ana", "copia");
+        assertEquals(points, ingested.getPoints());
+        assertEquals(copy.getContentHash(), ingested.getContentHash());
+        assertEquals(copy.getBoundingBox(), ingested.getBoundingBox());
+        assertEquals(copy.getVersion(), ingested.getVersion());
+        PointDelta all = persistence.getPointsSince("ana", "mapa", 0);
+        assertEquals(0, all.baseOrdinal());
+        assertEquals(count, all.nextOrdinal());
+        assertThrows(BlueprintPersistenceException.class, () -> persistence.ingestBlueprint("ana", "mapa", new int[] {1, 1}));
+    }
+
+    @Test
+    void testIngestEmptyBlueprint() throws Exception {
+        persistence.ingestBlueprint("ana", "vacio", new int[0]);
+        entityManager.clear();
+
+        Blueprint bp = persistence.getBlueprint("ana", "vacio");
+        assertTrue(bp.getPoints().isEmpty());
+        assertNull(bp.getBoundingBox());
+        assertThrows(IllegalArgumentException.class, () -> persistence.ingestBlueprint("ana", "impar", new int[] {1}));
+    }
+
+    @Test
+    void testReplacedPointsMatchAnUntouchedCopy() throws Exception {
+        persistence.replacePoints("john", "garage", new int[] {7, 8, 9, 10});
+        persistence.saveBlueprint(new Blueprint("john", "copy", List.of(new Point(7, 8), new Point(9, 10))));
+        persistence.replacePoints("jane", "garden", new int[0]);
+        entityManager.flush();
+        entityManager.clear();
+
+        Blueprint garage = persistence.getBlueprint("john", "garage");
+        assertEquals(List.of(new Point(7, 8), new Point(9, 10)), garage.getPoints());
+        assertEquals(persistence.getBlueprint("john", "copy").getContentHash(), garage.getContentHash());
+        assertTrue(persistence.getBlueprint("jane", "garden").getPoints().isEmpty());
+        assertNull(persistence.getBlueprint("jane", "garden").getBoundingBox());
+    }
+
+    @Test
+    void testDeleteIsDirectByKey() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        persistence.deleteBlueprint("john", "house");
+
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(0, stats.getCollectionFetchCount());
+        assertEquals(3, stats.getPrepareStatementCount());
+        assertEquals(2, entityManager.createQuery("SELECT COUNT(p) FROM Point p", Long.class).getSingleResult());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.deleteBlueprint("john", "house"));
+    }
+
+    private long lodRows() {
+        return entityManager.createQuery("SELECT COUNT(l) FROM BlueprintLod l", Long.class).getSingleResult();
+    }
+
+    @Test
+    void testLodLevelReadsOnlyTheRequestedRow() throws Exception {
+        List<PackedPoints> levels = List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0));
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion v0 = persistence.getVersion("john", "house");
+        persistence.saveLodPyramid("john", "house", v0, "identity", levels);
+        entityManager.flush();
+        entityManager.clear();
+
+        LodLevel level = persistence.getLodLevel("john", "house", v0, "identity", 1);
+
+        assertEquals(new LodLevel(1, 2, levels.get(1)), level);
+        assertEquals(1, persistence.getLodLevel("john", "house", v0, "identity", 9).level());
+        assertEquals(0, persistence.getLodLevelWithin("john", "house", v0, "identity", 3).level());
+        assertEquals(1, persistence.getLodLevelWithin("john", "house", v0, "identity", 1).level());
+        assertNull(persistence.getLodLevel("john", "house", v0, "pipeline:redundancy", 0));
+    }
+
+    @Test
+    void testLodPyramidIsStaleAfterChangesAndDeletedWithTheBlueprint() throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        BlueprintVersion v0 = persistence.getVersion("john", "house");
+        persistence.saveLodPyramid("john", "house", v0, "identity", List.of(PackedPoints.of(0, 0, 5, 1, 10, 0), PackedPoints.of(0, 0, 10, 0)));
+        persistence.addPoint("john", "house", 7, 7);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertNull(persistence.getLodLevel("john", "house", persistence.getVersion("john", "house"), "identity", 0));
+        // Construida sobre una versión que ya no existe: no reemplaza nada
+        persistence.saveLodPyramid("john", "house", v0, "identity", List.of(PackedPoints.of(1, 1)));
+        assertEquals(2, lodRows());
+
+        persistence.deleteBlueprint("john", "house");
+        entityManager.flush();
+        assertEquals(0, lodRows());
+    }
+
+    @Test
+    void testFindIntersectingUsesTheStoredBoundingBox() throws Exception {
+        persistence.saveBlueprint(new Blueprint("empty", "bp", List.of()));
+        persistence.addPoints("john", "house", new int[] {20, -4, 3, 3});
+        entityManager.flush();
+        entityManager.clear();
+
+        // john/house (0,-4)-(20,3), john/garage (5,5), jane/garden (2,2); el plano vacío no tiene caja
+        List<BlueprintSummary> found = persistence.findIntersecting(new BoundingBox(0, 0, 5, 5), 10);
+        assertEquals(List.of("jane/garden", "john/garage", "john/house"),
+                found.stream().map(s -> s.author() + "/" + s.name()).toList());
+        BlueprintSummary house = found.get(2);
+        assertEquals(4, house.pointCount());
+        assertEquals(new BoundingBox(0, -4, 20, 3), house.bbox());
+        assertEquals(persistence.getVersion("john", "house").version(), house.version());
+
+        assertEquals(1, persistence.findIntersecting(new BoundingBox(0, 0, 5, 5), 1).size());
+        assertEquals(List.of("house"), persistence.findIntersecting(new BoundingBox(15, -10, 30, -1), 10)
+                .stream().map(BlueprintSummary::name).toList());
+        assertTrue(persistence.findIntersecting(new BoundingBox(100, 100, 200, 200), 10).isEmpty());
+    }
+
+    @Test
+    void testBoundingBoxIsReplacedWithThePoints() throws Exception {
+        persistence.updateBlueprint("john", "garage", new Blueprint("john", "garage", List.of(new Point(50, 50), new Point(60, 55))));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertTrue(persistence.findIntersecting(new BoundingBox(5, 5, 5, 5), 10).isEmpty());
+        assertEquals(new BoundingBox(50, 50, 60, 55), persistence.findIntersecting(new BoundingBox(55, 0, 55, 100), 10).get(0).bbox());
+    }
+
+    @Test
+    void testSummariesByAuthorComeFromOneQueryWithoutPoints() throws Exception {
+        persistence.addPoints("john", "house", new int[] {4, 7});
+        persistence.updateBlueprint("john", "garage", new Blueprint("john", "garage", List.of(new Point(1, 1), new Point(3, 2))));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<BlueprintSummary> summaries = persistence.getSummariesByAuthor("john");
+
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(0, stats.getCollectionFetchCount());
+        assertEquals(List.of("garage", "house"), summaries.stream().map(BlueprintSummary::name).toList());
+        assertEquals(2, summaries.get(0).pointCount());
+        assertEquals(new BoundingBox(1, 1, 3, 2), summaries.get(0).bbox());
+        assertEquals(3, summaries.get(1).pointCount());
+        assertEquals(new BoundingBox(0, 0, 10, 7), summaries.get(1).bbox());
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getSummariesByAuthor("nobody"));
+    }
+
+    @Test
+    void testAddPointsKeepsStoredStatsInStepWithThePoints() throws Exception {
+        persistence.addPoints("john", "house", new int[] {20, -4, 3, 3});
+        persistence.addPoints("john", "house", new int[] {-7, 1});
+        entityManager.flush();
+        entityManager.clear();
+
+        Blueprint house = persistence.getBlueprint("john", "house");
+        PointStats expected = PointStats.of(house.getPointSequence());
+        assertEquals(5, expected.count());
+        assertEquals(expected.hash(), storedHash("john", "house"));
+        assertEquals(new BlueprintSummary("john", "house", 5, expected.bbox(), house.getVersion()),
+                persistence.getSummariesByAuthor("john").get(1));
+    }
+
+    @Test
+    void testRecomputeStatsRepairsRowsWithoutChangingTheirVersion() throws Exception {
+        entityManager.flush();
+        // Simula una base anterior a las columnas: cantidad 0, sin caja ni hash
+        entityManager.createQuery("UPDATE Blueprint b SET b.pointCount = 0, b.contentHash = 0, b.minX = null, " +
+                "b.minY = null, b.maxX = null, b.maxY = null WHERE b.author = 'john'").executeUpdate();
+        entityManager.clear();
+        BlueprintVersion before = persistence.getVersion("john", "house");
+
+        StatsRecomputation first = persistence.recomputeStats(null, 2);
+        StatsRecomputation second = persistence.recomputeStats(first.next(), 2);
+        entityManager.clear();
+
+        assertEquals(new StatsRecomputation(2, 1, new BlueprintCursor("john", "garage")), first);
+        assertEquals(new StatsRecomputation(1, 1, null), second);
+        assertEquals(before, persistence.getVersion("john", "house"));
+        assertEquals(List.of(new BlueprintSummary("john", "garage", 1, new BoundingBox(5, 5, 5, 5), 0),
+                        new BlueprintSummary("john", "house", 2, new BoundingBox(0, 0, 10, 0), before.version())),
+                persistence.getSummariesByAuthor("john"));
+        assertEquals(PointStats.ofCoordinates(new int[] {0, 0, 10, 0}).hash(), storedHash("john", "house"));
+        assertEquals(0, persistence.recomputeStats(null, 10).corrected());
+    }
+
+    @Test
+    void testBlueprintWithoutStoredStatsIsFilteredAndWeighedByItsPoints() throws Exception {
+        persistence.saveBlueprint(new Blueprint("john", "shed", List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2), new Point(3, 3))));
+        entityManager.flush();
+        // Fila de una base anterior a las columnas, todavía sin recalcular
+        entityManager.createQuery("UPDATE Blueprint b SET b.pointCount = 0 WHERE b.name = 'shed'").executeUpdate();
+        entityManager.clear();
+
+        Blueprint shed = persistence.getBlueprint("john", "shed");
+        assertEquals(0, shed.storedPointCount());
+        assertEquals(4, shed.pointCount());
+        assertEquals(2, new UndersamplingFilter(Integer.MAX_VALUE).apply(shed).pointCount());
+
+        BlueprintCache cache = new BlueprintCache(4);
+        cache.put(new BlueprintKey("john", "shed"), "identity", shed, cache.loadStamp());
+        assertEquals(0, cache.stats().entries());
+    }
+
+    private long storedHash(String author, String name) {
+        return entityManager.createQuery("SELECT b.contentHash FROM Blueprint b WHERE b.author = :a AND b.name = :n", Long.class)
+                .setParameter("a", author)
+                .setParameter("n", name)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,97 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import edu.eci.arsw.blueprints.dto.BulkImportResultDTO;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintBulkImporterTest {
+
+    private InMemoryBlueprintPersistence persistence;
+    private BlueprintBulkImporter importer;
+    private final List<String> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        persistence = new InMemoryBlueprintPersistence();
+        BlueprintEventBus events = new BlueprintEventBus(1, BlueprintEventBus.Overflow.CLOSE, 1) {
+            @Override
+            public BlueprintEventDTO publish(BlueprintEventDTO.Type type, String author, String name, int pointCount) {
+                published.add(type + " " + author + "/" + name);
+                return super.publish(type, author, name, pointCount);
+            }
+        };
+        importer = new BlueprintBulkImporter(persistence, TransactionOperations.withoutTransaction(), events, 2);
+    }
+
+    private static BulkImportItem item(long i, String author, String name) {
+        return BulkImportItem.valid(i, new Blueprint(author, name, List.of(new Point((int) i, 0))));
+    }
+
+    @Test
+    void testCountsCreatedDuplicateAndInvalid() throws BlueprintNotFoundException {
+        BulkImportResultDTO result = importer.importAll(List.of(
+                item(0, "bulk", "a"),
+                item(1, "john", "house"),          // ya existe
+                BulkImportItem.invalid(2, null, "x", "author: El autor es obligatorio"),
+                item(3, "bulk", "b"),
+                item(4, "bulk", "b"),              // repetido en el mismo lote
+                item(5, "bulk", "a")               // repetido de un lote anterior
+        ).iterator());
+
+        assertEquals(6, result.received());
+        assertEquals(2, result.created());
+        assertEquals(3, result.duplicates());
+        assertEquals(1, result.invalid());
+        assertNull(result.error());
+        assertEquals(List.of(1L, 2L, 4L, 5L), result.rejected().stream().map(BulkImportResultDTO.Item::index).sorted().toList());
+        assertEquals(List.of(new Point(3, 0)), persistence.getBlueprint("bulk", "b").getPoints());
+    }
+
+    @Test
+    void testRejectedListIsCapped() {
+        Iterator<BulkImportItem> items = IntStream.range(0, BlueprintBulkImporter.MAX_REJECTED_LISTED + 5)
+                .mapToObj(i -> BulkImportItem.invalid(i, null, null, "invalid"))
+                .iterator();
+
+        BulkImportResultDTO result = importer.importAll(items);
+
+        assertEquals(BlueprintBulkImporter.MAX_REJECTED_LISTED + 5, result.invalid());
+        assertEquals(BlueprintBulkImporter.MAX_REJECTED_LISTED, result.rejected().size());
+        assertTrue(result.rejectedTruncated());
+    }
+
+    @Test
+    void testMalformedInputKeepsCommittedBatchesAndDropsPendingOne() {
+        Iterator<BulkImportItem> items = Stream.<java.util.function.Supplier<BulkImportItem>>of(
+                () -> item(0, "bulk", "a"),
+                () -> item(1, "bulk", "b"),
+                () -> item(2, "bulk", "c"),
+                () -> { throw new UncheckedIOException(new IOException("Unexpected end-of-input")); }
+        ).map(java.util.function.Supplier::get).iterator();
+
+        BulkImportResultDTO result = importer.importAll(items);
+
+        assertEquals(2, result.created());
+        assertNotNull(result.error());
+        assertTrue(result.error().contains("Unexpected end-of-input"));
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprint("bulk", "c"));
+        // Solo se anuncian los planos de lotes confirmados
+        assertEquals(List.of("CREATED bulk/a", "CREATED bulk/b"), published);
+    }
+}
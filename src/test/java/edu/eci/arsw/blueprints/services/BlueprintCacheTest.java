@@ -0,0 +1,132 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.CacheStatsDTO;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.persistence.BlueprintKey;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintCacheTest {
+
+    private static final BlueprintKey HOUSE = new BlueprintKey("john", "house");
+    private static final BlueprintKey GARAGE = new BlueprintKey("john", "garage");
+
+    private static Blueprint withPoints(BlueprintKey key, int n) {
+        PackedPoints pts = new PackedPoints(n);
+        for (int i = 0; i < n; i++) pts.append(i, i);
+        return Blueprint.ofPacked(key.author(), key.name(), pts);
+    }
+
+    @Test
+    void testHitAndMissCounters() {
+        BlueprintCache cache = new BlueprintCache(100);
+        assertNull(cache.get(HOUSE, "identity"));
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 3), cache.loadStamp());
+
+        assertNotNull(cache.get(HOUSE, "identity"));
+        assertNull(cache.get(HOUSE, "redundancy"));
+        CacheStatsDTO stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(4, stats.weight());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedByWeight() {
+        BlueprintCache cache = new BlueprintCache(25);
+        cache.put(HOUSE, "f", withPoints(HOUSE, 9), cache.loadStamp());
+        cache.put(GARAGE, "f", withPoints(GARAGE, 9), cache.loadStamp());
+        cache.get(HOUSE, "f"); // house pasa a ser el más reciente
+
+        BlueprintKey garden = new BlueprintKey("jane", "garden");
+        cache.put(garden, "f", withPoints(garden, 9), cache.loadStamp());
+
+        assertNull(cache.get(GARAGE, "f"));
+        assertNotNull(cache.get(HOUSE, "f"));
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(20, cache.stats().weight());
+    }
+
+    @Test
+    void testEntryHeavierThanTheCacheIsNotStored() {
+        BlueprintCache cache = new BlueprintCache(5);
+        cache.put(HOUSE, "f", withPoints(HOUSE, 10), cache.loadStamp());
+
+        assertEquals(0, cache.stats().entries());
+    }
+
+    @Test
+    void testInvalidateRemovesEveryFilterVariantOfOneBlueprint() {
+        BlueprintCache cache = new BlueprintCache(100);
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), cache.loadStamp());
+        cache.put(HOUSE, "redundancy", withPoints(HOUSE, 1), cache.loadStamp());
+        cache.put(GARAGE, "identity", withPoints(GARAGE, 2), cache.loadStamp());
+
+        cache.invalidate(HOUSE);
+
+        assertNull(cache.get(HOUSE, "identity"));
+        assertNull(cache.get(HOUSE, "redundancy"));
+        assertNotNull(cache.get(GARAGE, "identity"));
+        assertEquals(2, cache.stats().invalidations());
+        assertEquals(3, cache.stats().weight());
+    }
+
+    @Test
+    void testLoadStartedBeforeAnInvalidationIsNotStored() {
+        BlueprintCache cache = new BlueprintCache(100);
+        long stamp = cache.loadStamp();
+        cache.invalidate(HOUSE);
+
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), stamp);
+
+        assertNull(cache.get(HOUSE, "identity"));
+    }
+
+    @Test
+    void testInvalidatingAnotherBlueprintDoesNotDropALoad() {
+        BlueprintCache cache = new BlueprintCache(100);
+        long stamp = cache.loadStamp();
+        cache.invalidate(GARAGE);
+
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), stamp);
+
+        assertNotNull(cache.get(HOUSE, "identity"));
+    }
+
+    @Test
+    void testLoadStartedAfterAnInvalidationIsStored() {
+        BlueprintCache cache = new BlueprintCache(100);
+        cache.invalidate(HOUSE);
+        long stamp = cache.loadStamp();
+
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), stamp);
+
+        assertNotNull(cache.get(HOUSE, "identity"));
+    }
+
+    @Test
+    void testClearAndCompactionDropLoadsInFlight() {
+        BlueprintCache cache = new BlueprintCache(100);
+        long beforeClear = cache.loadStamp();
+        cache.clear();
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), beforeClear);
+        assertNull(cache.get(HOUSE, "identity"));
+
+        long beforeCompaction = cache.loadStamp();
+        for (int i = 0; i <= BlueprintCache.MAX_TRACKED_INVALIDATIONS; i++) cache.invalidate(new BlueprintKey("x", "n" + i));
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), beforeCompaction);
+        assertNull(cache.get(HOUSE, "identity"));
+        cache.put(HOUSE, "identity", withPoints(HOUSE, 2), cache.loadStamp());
+        assertNotNull(cache.get(HOUSE, "identity"));
+    }
+
+    @Test
+    void testZeroCapacityDisablesCaching() {
+        BlueprintCache cache = new BlueprintCache(0);
+        cache.put(HOUSE, "f", withPoints(HOUSE, 0), cache.loadStamp());
+
+        assertNull(cache.get(HOUSE, "f"));
+    }
+}
@@ -0,0 +1,165 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO;
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO.Type;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlueprintEventBusTest {
+
+    private BlueprintEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        if (bus != null) bus.shutdown();
+    }
+
+    /** Listener que registra los eventos y puede quedarse bloqueado en el primero, como un cliente lento. */
+    private static class Recorder implements BlueprintEventBus.Listener {
+        final BlockingQueue<BlueprintEventDTO> received = new LinkedBlockingQueue<>();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release;
+        final CountDownLatch closed = new CountDownLatch(1);
+
+        Recorder(boolean slow) {
+            this.release = new CountDownLatch(slow ? 1 : 0);
+        }
+
+        @Override
+        public void onEvent(BlueprintEventDTO event) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+
+        @Override
+        public void onClose() {
+            closed.countDown();
+        }
+
+        BlueprintEventDTO next() throws InterruptedException {
+            return received.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testDeliversInOrderToMatchingSubscribers() throws Exception {
+        bus = new BlueprintEventBus(16, BlueprintEventBus.Overflow.CLOSE, 2);
+        Recorder all = new Recorder(false);
+        Recorder john = new Recorder(false);
+        bus.subscribe(null, all);
+        bus.subscribe("john", john);
+
+        bus.publish(Type.CREATED, "john", "house", 4);
+        bus.publish(Type.POINTS_APPENDED, "jane", "garden", 2);
+        bus.publish(Type.DELETED, "john", "house", 0);
+
+        assertEquals(List.of(Type.CREATED, Type.POINTS_APPENDED, Type.DELETED),
+                List.of(all.next().type(), all.next().type(), all.next().type()));
+        BlueprintEventDTO first = john.next();
+        assertEquals(Type.CREATED, first.type());
+        assertEquals(4, first.pointCount());
+        assertEquals(Type.DELETED, john.next().type());
+        assertNull(john.received.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testSlowSubscriberIsClosedWhenBufferFills() throws Exception {
+        bus = new BlueprintEventBus(2, BlueprintEventBus.Overflow.CLOSE, 2);
+        Recorder slow = new Recorder(true);
+        Recorder fast = new Recorder(false);
+        BlueprintEventBus.Subscription s = bus.subscribe(null, slow);
+        bus.subscribe(null, fast);
+
+        bus.publish(Type.CREATED, "a", "1", 0);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        assertEquals("1", fast.next().name());
+        // El suscriptor rápido consume cada evento mientras el lento sigue bloqueado en el primero
+        for (int i = 2; i <= 4; i++) {
+            bus.publish(Type.CREATED, "a", Integer.toString(i), 0);
+            assertEquals(Integer.toString(i), fast.next().name());
+        }
+
+        assertTrue(slow.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(s.isClosed());
+        assertEquals(1, bus.subscriberCount());
+        slow.release.countDown();
+    }
+
+    @Test
+    void testDropPolicyKeepsSubscriberAndCountsDropped() throws Exception {
+        bus = new BlueprintEventBus(2, BlueprintEventBus.Overflow.DROP, 1);
+        Recorder slow = new Recorder(true);
+        BlueprintEventBus.Subscription s = bus.subscribe(null, slow);
+
+        bus.publish(Type.CREATED, "a", "1", 0);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 2; i <= 5; i++) bus.publish(Type.CREATED, "a", Integer.toString(i), 0);
+        slow.release.countDown();
+
+        assertEquals("1", slow.next().name());
+        assertEquals("2", slow.next().name());
+        assertEquals("3", slow.next().name());
+        assertNull(slow.received.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(2, s.dropped());
+        assertFalse(s.isClosed());
+    }
+
+    @Test
+    void testFailingListenerIsUnsubscribed() throws Exception {
+        bus = new BlueprintEventBus(4, BlueprintEventBus.Overflow.CLOSE, 1);
+        CountDownLatch closed = new CountDownLatch(1);
+        bus.subscribe(null, new BlueprintEventBus.Listener() {
+            @Override
+            public void onEvent(BlueprintEventDTO event) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void onClose() {
+                closed.countDown();
+            }
+        });
+
+        bus.publish(Type.UPDATED, "john", "house", 1);
+
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, bus.subscriberCount());
+    }
+
+    @Test
+    void testVirtualThreadDelivery() throws Exception {
+        bus = new BlueprintEventBus(4, BlueprintEventBus.Overflow.CLOSE, 1, true);
+        BlockingQueue<Boolean> virtual = new LinkedBlockingQueue<>();
+        bus.subscribe(null, new BlueprintEventBus.Listener() {
+            @Override
+            public void onEvent(BlueprintEventDTO event) {
+                virtual.add(Thread.currentThread().isVirtual());
+            }
+
+            @Override
+            public void onClose() { }
+        });
+
+        bus.publish(Type.CREATED, "a", "b", 0);
+
+        assertEquals(Boolean.TRUE, virtual.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEventIdsAreIncreasing() {
+        bus = new BlueprintEventBus(1, BlueprintEventBus.Overflow.CLOSE, 1);
+        long first = bus.publish(Type.CREATED, "a", "b", 0).id();
+        assertEquals(first + 1, bus.publish(Type.DELETED, "a", "b", 0).id());
+    }
+}
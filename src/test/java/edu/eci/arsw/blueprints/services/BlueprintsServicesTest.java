@@ -1,17 +1,28 @@
 package edu.eci.arsw.blueprints.services;
 
+import edu.eci.arsw.blueprints.dto.BlueprintEventDTO.Type;
+import edu.eci.arsw.blueprints.dto.StatsRecomputeDTO;
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.filters.LodPyramid;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintCursor;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.BlueprintSummary;
+import edu.eci.arsw.blueprints.persistence.BlueprintVersion;
+import edu.eci.arsw.blueprints.persistence.LodLevel;
+import edu.eci.arsw.blueprints.persistence.StatsRecomputation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.HashSet;
@@ -32,6 +43,15 @@ class BlueprintsServicesTest {
     @Mock
     private BlueprintsFilter filter;
 
+    @Spy
+    private BlueprintCache cache = new BlueprintCache(10_000);
+
+    @Spy
+    private BlueprintEventBus events = new BlueprintEventBus(16, BlueprintEventBus.Overflow.CLOSE, 1);
+
+    @Spy
+    private LodPyramid lod = new LodPyramid(2, 2);
+
     @InjectMocks
     private BlueprintsServices services;
 
@@ -81,6 +101,15 @@ class BlueprintsServicesTest {
         verify(persistence, times(1)).getBlueprintsByAuthor("author");
     }
 
+    @Test
+    void testGetBlueprintSummariesByAuthor() throws BlueprintNotFoundException {
+        List<BlueprintSummary> summaries = List.of(new BlueprintSummary("author", "test", 3, new BoundingBox(0, 0, 2, 2), 1));
+        when(persistence.getSummariesByAuthor("author")).thenReturn(summaries);
+
+        assertEquals(summaries, services.getBlueprintSummariesByAuthor("author"));
+        verify(persistence, never()).getBlueprintsByAuthor(anyString());
+    }
+
     @Test
     void testGetBlueprintsByAuthorThrowsException() throws BlueprintNotFoundException {
         when(persistence.getBlueprintsByAuthor("unknown")).thenThrow(new BlueprintNotFoundException("Not found"));
@@ -127,4 +156,188 @@ class BlueprintsServicesTest {
             services.addPoint("author", "unknown", 5, 5);
         });
     }
+
+    @Test
+    void testAddPoints() throws BlueprintNotFoundException {
+        int[] xy = {1, 2, 3, 4};
+        services.addPoints("author", "test", xy);
+
+        verify(persistence, times(1)).addPoints("author", "test", xy);
+        verify(events).publish(Type.POINTS_APPENDED, "author", "test", 2);
+    }
+
+    @Test
+    void testAddNoPointsDoesNotWriteInvalidateOrPublish() throws BlueprintNotFoundException {
+        services.addPoints("author", "test", new int[0]);
+
+        verify(persistence).getVersion("author", "test");
+        verify(persistence, never()).addPoints(any(), any(), any());
+        verify(cache, never()).invalidate(any());
+        verify(events, never()).publish(any(), any(), any(), anyInt());
+
+        when(persistence.getVersion("author", "unknown")).thenThrow(new BlueprintNotFoundException("Not found"));
+        assertThrows(BlueprintNotFoundException.class, () -> services.addPoints("author", "unknown", new int[0]));
+    }
+
+    @Test
+    void testReplacePointsDelegatesCoordinatesAndReturnsTheStoredBlueprint() throws Exception {
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+
+        Blueprint replaced = services.replacePoints("author", "test", List.of(new Point(5, 6), new Point(7, 8)));
+
+        verify(persistence).replacePoints("author", "test", new int[] {5, 6, 7, 8});
+        assertSame(testBlueprint, replaced);
+        verify(events).publish(Type.UPDATED, "author", "test", testBlueprint.pointCount());
+    }
+
+    @Test
+    void testIngestBlueprintReturnsSummaryWithoutReadingPoints() throws Exception {
+        BlueprintSummary summary = services.ingestBlueprint("author", "big", new int[] {5, 6, 1, 9, 3, 2});
+
+        verify(persistence).ingestBlueprint("author", "big", new int[] {5, 6, 1, 9, 3, 2});
+        verify(persistence, never()).getBlueprint("author", "big");
+        assertEquals(new BlueprintSummary("author", "big", 3, new BoundingBox(1, 2, 5, 9), 0), summary);
+        verify(events).publish(Type.CREATED, "author", "big", 3);
+    }
+
+    @Test
+    void testRequestPipelineIsCachedUnderItsOwnSpec() throws Exception {
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+        BlueprintsFilter pipeline = services.resolveFilter("undersampling");
+
+        Blueprint sampled = services.getBlueprint("author", "test", pipeline);
+        services.getBlueprint("author", "test", services.resolveFilter("undersampling:2"));
+        services.getBlueprint("author", "test");
+
+        assertEquals(List.of(new Point(0, 0), new Point(2, 2)), sampled.getPoints());
+        assertEquals("pipeline:undersampling:2", services.filterSpec(pipeline));
+        assertSame(filter, services.resolveFilter(" "));
+        // Misma forma canónica: la segunda lectura del pipeline es un acierto; el filtro por defecto es otra entrada
+        verify(persistence, times(2)).getBlueprint("author", "test");
+        assertEquals(2, services.getCacheStats().entries());
+    }
+
+    @Test
+    void testLodPyramidIsBuiltFromTheFilteredBlueprintAndStored() throws Exception {
+        BlueprintVersion version = new BlueprintVersion(0, null);
+        String spec = services.getFilterSpec();
+        when(persistence.getVersion("author", "test")).thenReturn(version);
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+
+        LodLevel level = services.getLodLevel("author", "test", 1);
+
+        assertEquals(new LodLevel(1, 2, PackedPoints.of(0, 0, 2, 2)), level);
+        verify(persistence).saveLodPyramid("author", "test", version, spec,
+                List.of(PackedPoints.of(0, 0, 1, 1, 2, 2), PackedPoints.of(0, 0, 2, 2)));
+    }
+
+    @Test
+    void testStoredLodLevelDoesNotLoadTheBlueprint() throws Exception {
+        BlueprintVersion version = new BlueprintVersion(3, null);
+        LodLevel stored = new LodLevel(2, 4, PackedPoints.of(0, 0, 9, 9));
+        when(persistence.getVersion("author", "test")).thenReturn(version);
+        when(persistence.getLodLevelWithin("author", "test", version, services.getFilterSpec(), 10)).thenReturn(stored);
+
+        assertSame(stored, services.getLodLevelWithin("author", "test", 10));
+        verify(persistence, never()).getBlueprint(any(), any());
+        assertThrows(IllegalArgumentException.class, () -> services.getLodLevel("author", "test", -1));
+        assertThrows(IllegalArgumentException.class, () -> services.getLodLevelWithin("author", "test", 0));
+    }
+
+    @Test
+    void testLodPyramidIsServedEvenIfStoringFails() throws Exception {
+        when(persistence.getVersion("author", "test")).thenReturn(new BlueprintVersion(0, null));
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+        doThrow(new IllegalStateException("duplicate key")).when(persistence)
+                .saveLodPyramid(any(), any(), any(), any(), any());
+
+        assertEquals(3, services.getLodLevelWithin("author", "test", 5).points().size());
+    }
+
+    @Test
+    void testGetBlueprintIsServedFromCacheUntilAWrite() throws Exception {
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+
+        services.getBlueprint("author", "test");
+        services.getBlueprint("author", "test");
+        verify(persistence, times(1)).getBlueprint("author", "test");
+        verify(filter, times(1)).apply(testBlueprint);
+
+        services.addPoint("author", "test", 1, 1);
+        services.getBlueprint("author", "test");
+        verify(persistence, times(2)).getBlueprint("author", "test");
+        assertEquals(1, services.getCacheStats().hits());
+        assertEquals(1, services.getCacheStats().invalidations());
+    }
+
+    @Test
+    void testUpdateInvalidatesOldAndNewNames() throws Exception {
+        Blueprint renamed = new Blueprint("author", "renamed", List.of());
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(persistence.getBlueprint("author", "renamed")).thenReturn(renamed);
+        when(filter.apply(any())).thenAnswer(inv -> inv.getArgument(0));
+        services.getBlueprint("author", "test");
+        services.getBlueprint("author", "renamed");
+
+        services.updateBlueprint("author", "test", renamed);
+
+        assertEquals(0, services.getCacheStats().entries());
+        verify(events).publish(Type.DELETED, "author", "test", 0);
+        verify(events).publish(Type.CREATED, "author", "renamed", 0);
+    }
+
+    @Test
+    void testDeleteInvalidatesEvenWhenPersistenceFails() throws Exception {
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+        services.getBlueprint("author", "test");
+        doThrow(new BlueprintNotFoundException("gone")).when(persistence).deleteBlueprint("author", "test");
+
+        assertThrows(BlueprintNotFoundException.class, () -> services.deleteBlueprint("author", "test"));
+        assertEquals(0, services.getCacheStats().entries());
+        // Si la escritura falla no se anuncia nada
+        verify(events, never()).publish(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testGetBlueprintVersionDoesNotLoadBlueprint() throws Exception {
+        BlueprintVersion version = new BlueprintVersion(3, java.time.Instant.now());
+        when(persistence.getVersion("author", "test")).thenReturn(version);
+
+        assertEquals(version, services.getBlueprintVersion("author", "test"));
+        verify(persistence, never()).getBlueprint(any(), any());
+    }
+
+    @Test
+    void testExportBlueprintsClosesStream() {
+        java.util.concurrent.atomic.AtomicBoolean closed = new java.util.concurrent.atomic.AtomicBoolean();
+        when(persistence.streamAllBlueprints())
+                .thenReturn(java.util.stream.Stream.of(testBlueprint).onClose(() -> closed.set(true)));
+
+        List<Blueprint> exported = new java.util.ArrayList<>();
+        services.exportBlueprints(exported::add);
+
+        assertEquals(List.of(testBlueprint), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testRecomputeStatsWalksAllBatchesAndClearsCacheOnCorrections() throws Exception {
+        BlueprintCursor first = new BlueprintCursor("a", "z");
+        when(persistence.recomputeStats(null, BlueprintsServices.STATS_BATCH_SIZE))
+                .thenReturn(new StatsRecomputation(BlueprintsServices.STATS_BATCH_SIZE, 0, first));
+        when(persistence.recomputeStats(first, BlueprintsServices.STATS_BATCH_SIZE))
+                .thenReturn(new StatsRecomputation(5, 2, null));
+        when(persistence.getBlueprint("author", "test")).thenReturn(testBlueprint);
+        when(filter.apply(testBlueprint)).thenReturn(testBlueprint);
+        services.getBlueprint("author", "test");
+
+        assertEquals(new StatsRecomputeDTO(BlueprintsServices.STATS_BATCH_SIZE + 5, 2), services.recomputeStats());
+        assertEquals(0, services.getCacheStats().entries());
+    }
 }